@@ -0,0 +1,36 @@
+package com.example.jobportal.config;
+
+import java.time.Duration;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.client.RestTemplate;
+
+import com.example.jobportal.service.MLCircuitBreaker;
+import com.example.jobportal.service.MLClientMetrics;
+
+@Configuration
+public class MLClientConfig {
+
+    @Bean
+    public MLClientHttpRequestFactory mlClientHttpRequestFactory(
+            @Value("${ml-service.client.connect-timeout-ms:2000}") long connectTimeoutMillis,
+            @Value("${ml-service.client.read-timeout-ms:30000}") long readTimeoutMillis,
+            @Value("${ml-service.client.max-connections-per-route:20}") int maxConnectionsPerRoute,
+            @Value("${ml-service.client.acquire-timeout-ms:2000}") long acquireTimeoutMillis,
+            MLClientMetrics mlClientMetrics,
+            MLCircuitBreaker mlCircuitBreaker) {
+        return new MLClientHttpRequestFactory(Duration.ofMillis(connectTimeoutMillis), Duration.ofMillis(readTimeoutMillis),
+                maxConnectionsPerRoute, Duration.ofMillis(acquireTimeoutMillis), mlClientMetrics, mlCircuitBreaker);
+    }
+
+    /**
+     * The one client for calls to the ML service: pooled keep-alive connections, bounded waits,
+     * a circuit breaker and per-endpoint metrics
+     */
+    @Bean(name = "mlRestTemplate")
+    public RestTemplate mlRestTemplate(MLClientHttpRequestFactory mlClientHttpRequestFactory) {
+        return new RestTemplate(mlClientHttpRequestFactory);
+    }
+}
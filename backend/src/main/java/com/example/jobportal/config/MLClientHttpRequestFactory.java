@@ -0,0 +1,340 @@
+package com.example.jobportal.config;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InterruptedIOException;
+import java.io.OutputStream;
+import java.io.PipedInputStream;
+import java.io.PipedOutputStream;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.net.http.HttpTimeoutException;
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.http.MediaType;
+import org.springframework.http.StreamingHttpOutputMessage;
+import org.springframework.http.client.AbstractClientHttpRequest;
+import org.springframework.http.client.ClientHttpRequest;
+import org.springframework.http.client.ClientHttpRequestFactory;
+import org.springframework.http.client.ClientHttpResponse;
+
+import com.example.jobportal.service.MLCircuitBreaker;
+import com.example.jobportal.service.MLClientMetrics;
+
+/**
+ * RestTemplate request factory for the ML service on the JDK HttpClient, which keeps connections
+ * alive in a pool instead of opening one per call. Each route (scheme, host and port) is capped at a
+ * number of concurrent requests, and callers wait at most the acquire timeout for a free one, so a
+ * hung ML service cannot take every request thread with it. The read timeout bounds the whole
+ * exchange, response body included. Calls are refused outright while the {@link MLCircuitBreaker}
+ * is open.
+ * <p>
+ * Multipart bodies, such as CV uploads, are streamed to the service with chunked transfer through a
+ * small fixed-size pipe, so an upload never sits in memory as a whole. Other bodies are small and
+ * are sent buffered, with a content length.
+ */
+public class MLClientHttpRequestFactory implements ClientHttpRequestFactory {
+
+    // Managed by the HttpClient itself, which rejects them when set explicitly
+    private static final Set<String> RESTRICTED_HEADERS = Set.of("connection", "content-length", "expect", "host", "upgrade");
+
+    private static final int PIPE_SIZE = 64 * 1024;
+
+    // Writers of streamed bodies; platform threads, since the pipe blocks in synchronized code.
+    // At most one per in-flight request, which the route limit already bounds.
+    private static final ExecutorService BODY_WRITERS = Executors.newCachedThreadPool(runnable -> {
+        Thread thread = new Thread(runnable, "ml-body-writer");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    private final HttpClient httpClient;
+    private final Duration readTimeout;
+    private final int maxConnectionsPerRoute;
+    private final Duration acquireTimeout;
+    private final MLClientMetrics metrics;
+    private final MLCircuitBreaker circuitBreaker;
+    private final Map<String, Semaphore> routes = new ConcurrentHashMap<>();
+
+    public MLClientHttpRequestFactory(Duration connectTimeout, Duration readTimeout, int maxConnectionsPerRoute,
+                                      Duration acquireTimeout, MLClientMetrics metrics, MLCircuitBreaker circuitBreaker) {
+        this.httpClient = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(connectTimeout)
+                .followRedirects(HttpClient.Redirect.NEVER)
+                .build();
+        this.readTimeout = readTimeout;
+        this.maxConnectionsPerRoute = maxConnectionsPerRoute;
+        this.acquireTimeout = acquireTimeout;
+        this.metrics = metrics;
+        this.circuitBreaker = circuitBreaker;
+    }
+
+    @Override
+    public ClientHttpRequest createRequest(URI uri, HttpMethod httpMethod) {
+        return new Request(uri, httpMethod);
+    }
+
+    /**
+     * Connections in use and callers waiting, per route
+     */
+    public Map<String, Object> routeStats() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        routes.forEach((route, permits) -> stats.put(route, Map.of(
+                "inUse", maxConnectionsPerRoute - permits.availablePermits(),
+                "waiting", permits.getQueueLength(),
+                "max", maxConnectionsPerRoute)));
+        return stats;
+    }
+
+    // Record the outcome of a call and feed it to the circuit breaker
+    private void finish(String endpoint, MLClientMetrics.Outcome outcome, long start) {
+        metrics.requestFinished(endpoint, outcome, System.nanoTime() - start);
+        switch (outcome) {
+            // A 4xx answer still means the service is up
+            case SUCCESS, CLIENT_ERROR -> circuitBreaker.onSuccess();
+            case SERVER_ERROR, TIMEOUT, FAILED -> circuitBreaker.onFailure();
+            // Never reached the service
+            case REJECTED -> circuitBreaker.releasePermission();
+            case CIRCUIT_OPEN -> { }
+        }
+    }
+
+    private static String route(URI uri) {
+        int port = uri.getPort() != -1 ? uri.getPort() : "https".equalsIgnoreCase(uri.getScheme()) ? 443 : 80;
+        return uri.getScheme() + "://" + uri.getHost() + ":" + port;
+    }
+
+    private class Request extends AbstractClientHttpRequest implements StreamingHttpOutputMessage {
+
+        private final URI uri;
+        private final HttpMethod method;
+        private ByteArrayOutputStream bufferedBody;
+        private Body streamingBody;
+
+        Request(URI uri, HttpMethod method) {
+            this.uri = uri;
+            this.method = method;
+        }
+
+        @Override
+        public HttpMethod getMethod() {
+            return method;
+        }
+
+        @Override
+        public URI getURI() {
+            return uri;
+        }
+
+        @Override
+        protected OutputStream getBodyInternal(HttpHeaders headers) {
+            if (bufferedBody == null) {
+                bufferedBody = new ByteArrayOutputStream(1024);
+            }
+            return bufferedBody;
+        }
+
+        @Override
+        public void setBody(Body body) {
+            this.streamingBody = body;
+        }
+
+        private HttpRequest.BodyPublisher bodyPublisher(HttpHeaders headers, PipedBody[] pipe) throws IOException {
+            if (streamingBody != null) {
+                MediaType contentType = headers.getContentType();
+                if (contentType != null && "multipart".equalsIgnoreCase(contentType.getType())) {
+                    PipedBody body = new PipedBody(streamingBody);
+                    pipe[0] = body;
+                    return HttpRequest.BodyPublishers.ofInputStream(() -> body);
+                }
+                streamingBody.writeTo(getBodyInternal(headers));
+            }
+            return bufferedBody == null || bufferedBody.size() == 0
+                    ? HttpRequest.BodyPublishers.noBody()
+                    : HttpRequest.BodyPublishers.ofByteArray(bufferedBody.toByteArray());
+        }
+
+        @Override
+        protected ClientHttpResponse executeInternal(HttpHeaders headers) throws IOException {
+            String endpoint = uri.getPath();
+            metrics.requestStarted();
+            long start = System.nanoTime();
+
+            if (!circuitBreaker.tryAcquirePermission()) {
+                finish(endpoint, MLClientMetrics.Outcome.CIRCUIT_OPEN, start);
+                throw new MLCircuitBreaker.CallNotPermittedException("ML service circuit breaker is open");
+            }
+
+            // The route limit is the bulkhead: callers beyond it fail fast instead of queueing on a slow service
+            Semaphore permits = routes.computeIfAbsent(route(uri), key -> new Semaphore(maxConnectionsPerRoute, true));
+            try {
+                if (!permits.tryAcquire(acquireTimeout.toMillis(), TimeUnit.MILLISECONDS)) {
+                    finish(endpoint, MLClientMetrics.Outcome.REJECTED, start);
+                    throw new IOException("No free connection to " + route(uri) + " within " + acquireTimeout.toMillis() + " ms");
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                finish(endpoint, MLClientMetrics.Outcome.REJECTED, start);
+                throw new InterruptedIOException("Interrupted waiting for a connection to " + route(uri));
+            }
+
+            PipedBody[] pipe = new PipedBody[1];
+            CompletableFuture<HttpResponse<byte[]>> call = null;
+            try {
+                HttpRequest.Builder request = HttpRequest.newBuilder(uri)
+                        .timeout(readTimeout)
+                        .method(method.name(), bodyPublisher(headers, pipe));
+                headers.forEach((name, values) -> {
+                    if (!RESTRICTED_HEADERS.contains(name.toLowerCase(Locale.ROOT))) {
+                        values.forEach(value -> request.header(name, value));
+                    }
+                });
+
+                // The request timeout alone only bounds the wait for the headers, so a stalled body
+                // could hold the caller and its permit indefinitely. Bound the whole exchange instead;
+                // ML responses are small JSON documents, so they are read in full.
+                call = httpClient.sendAsync(request.build(), HttpResponse.BodyHandlers.ofByteArray());
+                HttpResponse<byte[]> response = call.get(readTimeout.toMillis(), TimeUnit.MILLISECONDS);
+                finish(endpoint, MLClientMetrics.outcomeOf(response.statusCode()), start);
+                return new Response(response);
+            } catch (TimeoutException e) {
+                call.cancel(true);
+                finish(endpoint, MLClientMetrics.Outcome.TIMEOUT, start);
+                throw new HttpTimeoutException("No complete response from " + uri + " within " + readTimeout.toMillis() + " ms");
+            } catch (ExecutionException e) {
+                Throwable cause = e.getCause();
+                finish(endpoint, cause instanceof HttpTimeoutException ? MLClientMetrics.Outcome.TIMEOUT
+                        : MLClientMetrics.Outcome.FAILED, start);
+                throw cause instanceof IOException io ? io : new IOException("Error calling " + uri, cause);
+            } catch (InterruptedException e) {
+                call.cancel(true);
+                Thread.currentThread().interrupt();
+                finish(endpoint, MLClientMetrics.Outcome.FAILED, start);
+                throw new InterruptedIOException("Interrupted calling " + uri);
+            } catch (IOException | RuntimeException e) {
+                finish(endpoint, MLClientMetrics.Outcome.FAILED, start);
+                throw e;
+            } finally {
+                // The body has been read in full or abandoned, so the connection is free again
+                permits.release();
+                // Stops a writer the client no longer reads from, e.g. after an early error response
+                if (pipe[0] != null) {
+                    pipe[0].close();
+                }
+            }
+        }
+    }
+
+    // A streamed body written on its own thread into a bounded pipe that the HttpClient reads from
+    private static class PipedBody extends InputStream {
+
+        private final PipedInputStream in = new PipedInputStream(PIPE_SIZE);
+        private volatile IOException failure;
+
+        PipedBody(StreamingHttpOutputMessage.Body body) throws IOException {
+            PipedOutputStream out = new PipedOutputStream(in);
+            BODY_WRITERS.execute(() -> {
+                try {
+                    body.writeTo(out);
+                } catch (IOException | RuntimeException e) {
+                    failure = e instanceof IOException io ? io : new IOException(e);
+                } finally {
+                    try {
+                        out.close();
+                    } catch (IOException e) {
+                        // Reader already gone
+                    }
+                }
+            });
+        }
+
+        @Override
+        public int read() throws IOException {
+            byte[] single = new byte[1];
+            return read(single, 0, 1) < 0 ? -1 : single[0] & 0xff;
+        }
+
+        // A failed writer must not look like the end of the body, or a truncated upload would be sent
+        @Override
+        public int read(byte[] buffer, int offset, int length) throws IOException {
+            int read = in.read(buffer, offset, length);
+            if (read < 0 && failure != null) {
+                throw failure;
+            }
+            return read;
+        }
+
+        @Override
+        public void close() throws IOException {
+            in.close();
+        }
+    }
+
+    // A fully read response; nothing is left to release on close
+    private static class Response implements ClientHttpResponse {
+
+        private final HttpResponse<byte[]> response;
+        private HttpHeaders headers;
+
+        Response(HttpResponse<byte[]> response) {
+            this.response = response;
+        }
+
+        @Override
+        public HttpStatusCode getStatusCode() {
+            return HttpStatusCode.valueOf(response.statusCode());
+        }
+
+        @Override
+        @Deprecated
+        public int getRawStatusCode() {
+            return response.statusCode();
+        }
+
+        @Override
+        public String getStatusText() {
+            HttpStatus status = HttpStatus.resolve(response.statusCode());
+            return status != null ? status.getReasonPhrase() : "";
+        }
+
+        @Override
+        public HttpHeaders getHeaders() {
+            if (headers == null) {
+                HttpHeaders copy = new HttpHeaders();
+                response.headers().map().forEach(copy::addAll);
+                headers = HttpHeaders.readOnlyHttpHeaders(copy);
+            }
+            return headers;
+        }
+
+        @Override
+        public InputStream getBody() {
+            return new ByteArrayInputStream(response.body());
+        }
+
+        @Override
+        public void close() {
+        }
+    }
+}
@@ -0,0 +1,46 @@
+package com.example.jobportal.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+@Configuration
+public class ResumeParserConfig {
+
+    /**
+     * Executor that runs Tika off the request threads.
+     * The queue is bounded and overflow is rejected, so a burst of uploads cannot pile up parses.
+     */
+    @Bean(name = "resumeParseExecutor")
+    public ThreadPoolTaskExecutor resumeParseExecutor(
+            @Value("${resume.parser.threads:2}") int parserThreads,
+            @Value("${resume.parser.queue-capacity:20}") int queueCapacity) {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(parserThreads);
+        executor.setMaxPoolSize(parserThreads);
+        executor.setQueueCapacity(queueCapacity);
+        executor.setThreadNamePrefix("resume-parse-");
+        executor.setWaitForTasksToCompleteOnShutdown(false);
+        executor.initialize();
+        return executor;
+    }
+
+    /**
+     * Executor that takes uploaded resumes through parsing and ML analysis.
+     * Work rejected by a full queue stays PENDING and is picked up by the recovery scheduler.
+     */
+    @Bean(name = "resumeProcessingExecutor")
+    public ThreadPoolTaskExecutor resumeProcessingExecutor(
+            @Value("${resume.processing.threads:2}") int processingThreads,
+            @Value("${resume.processing.queue-capacity:100}") int queueCapacity) {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(processingThreads);
+        executor.setMaxPoolSize(processingThreads);
+        executor.setQueueCapacity(queueCapacity);
+        executor.setThreadNamePrefix("resume-processing-");
+        executor.setWaitForTasksToCompleteOnShutdown(false);
+        executor.initialize();
+        return executor;
+    }
+}
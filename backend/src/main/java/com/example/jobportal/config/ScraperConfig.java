@@ -0,0 +1,65 @@
+package com.example.jobportal.config;
+
+import java.util.concurrent.ThreadPoolExecutor;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+@Configuration
+public class ScraperConfig {
+
+    /**
+     * Executor that prefetches the next listing page while the current one is extracted
+     */
+    @Bean(name = "scraperFetchExecutor")
+    public ThreadPoolTaskExecutor scraperFetchExecutor(
+            @Value("${scraper.fetch-threads:2}") int fetchThreads) {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(fetchThreads);
+        executor.setMaxPoolSize(fetchThreads);
+        executor.setQueueCapacity(fetchThreads * 4);
+        executor.setThreadNamePrefix("scraper-fetch-");
+        executor.setWaitForTasksToCompleteOnShutdown(false);
+        executor.initialize();
+        return executor;
+    }
+
+    /**
+     * Executor that runs claimed scrape retry tasks.
+     * Overflow runs on the claiming thread rather than being rejected.
+     */
+    @Bean(name = "scrapeTaskExecutor")
+    public ThreadPoolTaskExecutor scrapeTaskExecutor(
+            @Value("${scraper.tasks.worker-threads:2}") int workerThreads) {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(workerThreads);
+        executor.setMaxPoolSize(workerThreads);
+        executor.setQueueCapacity(workerThreads * 4);
+        executor.setThreadNamePrefix("scrape-task-");
+        executor.setRejectedExecutionHandler(new ThreadPoolExecutor.CallerRunsPolicy());
+        executor.setWaitForTasksToCompleteOnShutdown(false);
+        executor.initialize();
+        return executor;
+    }
+
+    /**
+     * Executor that compresses and writes page snapshots off the scrape path.
+     * The queue is bounded so buffered page bodies cannot grow without limit.
+     */
+    @Bean(name = "snapshotWriterExecutor")
+    public ThreadPoolTaskExecutor snapshotWriterExecutor(
+            @Value("${scraper.snapshot.writer-threads:1}") int writerThreads,
+            @Value("${scraper.snapshot.queue-capacity:200}") int queueCapacity) {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(writerThreads);
+        executor.setMaxPoolSize(writerThreads);
+        executor.setQueueCapacity(queueCapacity);
+        executor.setThreadNamePrefix("snapshot-writer-");
+        executor.setWaitForTasksToCompleteOnShutdown(true);
+        executor.setAwaitTerminationSeconds(30);
+        executor.initialize();
+        return executor;
+    }
+}
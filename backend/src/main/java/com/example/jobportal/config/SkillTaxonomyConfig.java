@@ -0,0 +1,32 @@
+package com.example.jobportal.config;
+
+import java.io.IOException;
+import java.io.InputStream;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.io.Resource;
+
+import com.example.jobportal.service.SkillTaxonomy;
+
+import lombok.extern.slf4j.Slf4j;
+
+@Configuration
+@Slf4j
+public class SkillTaxonomyConfig {
+
+    /**
+     * Skill taxonomy shared by resume parsing and skill set indexing; point the location at
+     * another file to extend it without a rebuild
+     */
+    @Bean
+    public SkillTaxonomy skillTaxonomy(
+            @Value("${skills.taxonomy.location:classpath:skills/taxonomy.json}") Resource location) throws IOException {
+        try (InputStream inputStream = location.getInputStream()) {
+            SkillTaxonomy taxonomy = SkillTaxonomy.load(inputStream);
+            log.info("Loaded skill taxonomy version {} with {} skills from {}", taxonomy.version(), taxonomy.size(), location);
+            return taxonomy;
+        }
+    }
+}
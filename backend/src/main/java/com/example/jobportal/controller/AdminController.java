@@ -19,6 +19,7 @@ import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
 
+import com.example.jobportal.config.MLClientHttpRequestFactory;
 import com.example.jobportal.dto.MessageResponse;
 import com.example.jobportal.model.ApprovalStatus;
 import com.example.jobportal.model.Job;
@@ -27,6 +28,11 @@ import com.example.jobportal.model.UserRole;
 import com.example.jobportal.repository.JobRepository;
 import com.example.jobportal.repository.UserRepository;
 import com.example.jobportal.security.UserPrincipal;
+import com.example.jobportal.service.MLClientMetrics;
+import com.example.jobportal.service.ResumeParseCache;
+import com.example.jobportal.service.ResumeParseMetrics;
+import com.example.jobportal.service.ResumeReparseService;
+import com.example.jobportal.service.SkillSetService;
 
 @RestController
 @RequestMapping("/api/admin")
@@ -42,6 +48,24 @@ public class AdminController {
     @Autowired
     private PasswordEncoder passwordEncoder;
     
+    @Autowired
+    private ResumeParseMetrics resumeParseMetrics;
+    
+    @Autowired
+    private ResumeParseCache resumeParseCache;
+    
+    @Autowired
+    private SkillSetService skillSetService;
+    
+    @Autowired
+    private ResumeReparseService resumeReparseService;
+    
+    @Autowired
+    private MLClientMetrics mlClientMetrics;
+    
+    @Autowired
+    private MLClientHttpRequestFactory mlClientHttpRequestFactory;
+    
     // ========== JOB APPROVAL ENDPOINTS ==========
     
     // Get all pending jobs for approval
@@ -108,6 +132,54 @@ public class AdminController {
         return ResponseEntity.ok(stats);
     }
     
+    // Get resume parse counts and timings by MIME type, and parse cache hit rates
+    @GetMapping("/resume-parser/stats")
+    public ResponseEntity<?> getResumeParserStats() {
+        Map<String, Object> stats = new HashMap<>(resumeParseMetrics.snapshot());
+        stats.put("cache", resumeParseCache.stats());
+        return ResponseEntity.ok(stats);
+    }
+    
+    // Get ML service call counts and timings by endpoint, and connection usage by route
+    @GetMapping("/ml-client/stats")
+    public ResponseEntity<?> getMLClientStats() {
+        Map<String, Object> stats = new HashMap<>(mlClientMetrics.snapshot());
+        stats.put("routes", mlClientHttpRequestFactory.routeStats());
+        return ResponseEntity.ok(stats);
+    }
+    
+    // Rebuild skill sets of jobs, users and resumes indexed with an older skill taxonomy
+    @PostMapping("/skills/reindex")
+    public ResponseEntity<?> reindexSkillSets() {
+        return ResponseEntity.ok(skillSetService.reindexStale());
+    }
+    
+    // Start re-parsing stored resumes extracted by an older parser version
+    @PostMapping("/resumes/reparse")
+    public ResponseEntity<?> startResumeReparse() {
+        return ResponseEntity.ok(resumeReparseService.start());
+    }
+    
+    // Get progress of the running or most recent resume re-parse
+    @GetMapping("/resumes/reparse")
+    public ResponseEntity<?> getResumeReparseStatus() {
+        Map<String, Object> status = resumeReparseService.status();
+        if (status == null) {
+            return ResponseEntity.ok(new MessageResponse("No resume re-parse has been run"));
+        }
+        return ResponseEntity.ok(status);
+    }
+    
+    // Cancel the running resume re-parse
+    @DeleteMapping("/resumes/reparse")
+    public ResponseEntity<?> cancelResumeReparse() {
+        Map<String, Object> status = resumeReparseService.cancel();
+        if (status == null) {
+            return ResponseEntity.badRequest().body(new MessageResponse("No resume re-parse has been run"));
+        }
+        return ResponseEntity.ok(status);
+    }
+    
     // ========== USER MANAGEMENT ENDPOINTS ==========
     
     // Get all users
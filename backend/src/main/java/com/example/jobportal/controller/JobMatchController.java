@@ -2,6 +2,8 @@ package com.example.jobportal.controller;
 
 import java.util.Map;
 
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.core.io.ByteArrayResource;
 import org.springframework.http.HttpEntity;
@@ -18,9 +20,13 @@ import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.client.HttpServerErrorException;
+import org.springframework.web.client.ResourceAccessException;
 import org.springframework.web.client.RestTemplate;
 import org.springframework.web.multipart.MultipartFile;
 
+import com.example.jobportal.service.MLFallbackService;
+
 @RestController
 @RequestMapping("/api/jobs")
 @CrossOrigin(origins = "http://localhost:3000")
@@ -29,11 +35,12 @@ public class JobMatchController {
     @Value("${ml-service.url:http://localhost:8000}")
     private String mlServiceUrl;
     
-    private final RestTemplate restTemplate;
-
-    public JobMatchController() {
-        this.restTemplate = new RestTemplate();
-    }
+    @Autowired
+    @Qualifier("mlRestTemplate")
+    private RestTemplate restTemplate;
+    
+    @Autowired
+    private MLFallbackService mlFallbackService;
     
     @PostMapping("/match")
     public ResponseEntity<?> matchJobs(@RequestBody Map<String, Object> request) {
@@ -53,6 +60,13 @@ public class JobMatchController {
             
             return ResponseEntity.ok(response.getBody());
             
+        } catch (ResourceAccessException | HttpServerErrorException e) {
+            Map<String, Object> lastKnown = mlFallbackService.lastKnownMatches(request);
+            if (lastKnown != null) {
+                return ResponseEntity.ok(lastKnown);
+            }
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .body(Map.of("error", "Job matching is temporarily unavailable", "details", e.getMessage()));
         } catch (Exception e) {
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
                 .body(Map.of("error", e.getMessage()));
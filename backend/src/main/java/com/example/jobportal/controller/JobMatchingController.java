@@ -1,12 +1,16 @@
 package com.example.jobportal.controller;
 
+import java.io.InputStream;
+import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 
 import jakarta.servlet.http.HttpSession;
 
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.beans.factory.annotation.Value;
-import org.springframework.core.io.ByteArrayResource;
 import org.springframework.http.HttpEntity;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpMethod;
@@ -25,9 +29,17 @@ import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 import org.springframework.web.client.HttpClientErrorException;
+import org.springframework.web.client.HttpServerErrorException;
+import org.springframework.web.client.ResourceAccessException;
 import org.springframework.web.client.RestTemplate;
 import org.springframework.web.multipart.MultipartFile;
 
+import com.example.jobportal.service.MLCircuitBreaker;
+import com.example.jobportal.service.MLFallbackService;
+import com.example.jobportal.service.MatchResultCache;
+import com.example.jobportal.service.NativeJobMatcher;
+import com.example.jobportal.service.ResumeParseCache;
+import com.example.jobportal.service.ResumeParserService;
 import com.fasterxml.jackson.databind.ObjectMapper;
 
 @RestController
@@ -38,7 +50,30 @@ public class JobMatchingController {
     @Value("${ml-service.url:http://localhost:8000}")
     private String mlServiceUrl;
     
-    private final RestTemplate restTemplate = new RestTemplate();
+    @Autowired
+    private ResumeParseCache resumeParseCache;
+    
+    @Autowired
+    private ResumeParserService resumeParserService;
+    
+    @Autowired
+    private MLFallbackService mlFallbackService;
+    
+    @Autowired
+    private MatchResultCache matchResultCache;
+    
+    @Autowired
+    private MLCircuitBreaker mlCircuitBreaker;
+    
+    @Autowired
+    private NativeJobMatcher nativeJobMatcher;
+    
+    @Autowired
+    @Qualifier("mlRestTemplate")
+    private RestTemplate restTemplate;
+    
+    private static final int MAX_PROFILE_TEXT = 20_000;
+    
     private final ObjectMapper objectMapper = new ObjectMapper();
     
     @PostMapping("/upload-cv")
@@ -64,14 +99,29 @@ public class JobMatchingController {
         try {
             String sessionId = session.getId();
             
-            // Prepare multipart request for ML service
+            // The ML service already holds this exact CV for this session
+            String contentHash;
+            try (InputStream content = file.getInputStream()) {
+                contentHash = ResumeParseCache.sha256(content);
+            }
+            Map<String, Object> cachedResponse = resumeParseCache.getMlResponse(contentHash, sessionId);
+            if (cachedResponse != null) {
+                session.setAttribute("currentMemberId", cachedResponse.get("member_id"));
+                session.setAttribute("mlSessionId", sessionId);
+                session.setAttribute("cvProfile", cvProfile(cachedResponse.get("skills"), cachedResponse.get("experience_years"),
+                    cachedResponse.get("seniority_level"), cachedResponse.get("extracted_text")));
+                
+                Map<String, Object> result = new HashMap<>();
+                result.put("success", true);
+                result.put("data", cachedResponse);
+                result.put("cached", true);
+                result.put("message", "CV uploaded and analyzed successfully");
+                return ResponseEntity.ok(result);
+            }
+            
+            // Prepare multipart request for ML service; the file is streamed from the upload's temp file
             MultiValueMap<String, Object> body = new LinkedMultiValueMap<>();
-            body.add("file", new ByteArrayResource(file.getBytes()) {
-                @Override
-                public String getFilename() {
-                    return file.getOriginalFilename();
-                }
-            });
+            body.add("file", file.getResource());
             body.add("session_id", sessionId);
             
             HttpHeaders headers = new HttpHeaders();
@@ -95,6 +145,10 @@ public class JobMatchingController {
                 String memberId = (String) mlResponse.get("member_id");
                 session.setAttribute("currentMemberId", memberId);
                 session.setAttribute("mlSessionId", sessionId);
+                // Kept for the in-process matcher
+                session.setAttribute("cvProfile", cvProfile(mlResponse.get("skills"), mlResponse.get("experience_years"),
+                    mlResponse.get("seniority_level"), mlResponse.get("extracted_text")));
+                resumeParseCache.putMlResponse(contentHash, sessionId, mlResponse);
                 
                 // Return success response with parsed CV data
                 Map<String, Object> result = new HashMap<>();
@@ -114,6 +168,9 @@ public class JobMatchingController {
                     "error", "ML service error",
                     "details", e.getResponseBodyAsString()
                 ));
+        } catch (ResourceAccessException e) {
+            // ML service down or circuit open: parse locally so the in-process matcher can still be used
+            return uploadCVDegraded(file, session, e);
         } catch (Exception e) {
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
                 .body(Map.of(
@@ -124,6 +181,37 @@ public class JobMatchingController {
         }
     }
     
+    private ResponseEntity<?> uploadCVDegraded(MultipartFile file, HttpSession session, ResourceAccessException cause) {
+        try (InputStream content = file.getInputStream()) {
+            Map<String, Object> parsed = resumeParserService.parseResume(content, file.getOriginalFilename());
+            if (!Boolean.TRUE.equals(parsed.get("success"))) {
+                throw new RuntimeException(String.valueOf(parsed.get("error")));
+            }
+            session.removeAttribute("currentMemberId");
+            session.removeAttribute("mlSessionId");
+            session.setAttribute("cvProfile", cvProfile(parsed.get("skills"), parsed.get("experienceYears"), null, parsed.get("rawText")));
+            
+            Map<String, Object> data = new HashMap<>();
+            data.put("skills", parsed.get("skills"));
+            data.put("experience_years", parsed.get("experienceYears"));
+            data.put("education", parsed.get("educationLevel"));
+            
+            Map<String, Object> result = new HashMap<>();
+            result.put("success", true);
+            result.put("data", data);
+            result.put("degraded", true);
+            result.put("message", "CV uploaded; matching service unavailable, using built-in matching");
+            return ResponseEntity.ok(result);
+        } catch (Exception e) {
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .body(Map.of(
+                    "success", false,
+                    "error", "ML service unavailable",
+                    "details", cause.getMessage()
+                ));
+        }
+    }
+    
     @GetMapping("/jobs")
     public ResponseEntity<?> getJobMatches(
             @RequestParam(defaultValue = "graduate_friendly") String mode,
@@ -133,12 +221,32 @@ public class JobMatchingController {
         
         String memberId = (String) session.getAttribute("currentMemberId");
         String mlSessionId = (String) session.getAttribute("mlSessionId");
+        Map<String, Object> cvProfile = (Map<String, Object>) session.getAttribute("cvProfile");
+        
+        // Matched in-process, without the ML round trip
+        if (NativeJobMatcher.isNativeMode(mode)) {
+            if (cvProfile == null) {
+                return ResponseEntity.badRequest()
+                    .body(Map.of("error", "Please upload your CV first"));
+            }
+            return ResponseEntity.ok(nativeJobMatcher.match(nativeJobMatcher.candidate(cvProfile), mode, limit));
+        }
         
         if (memberId == null || mlSessionId == null) {
+            if (cvProfile != null) {
+                // The CV was parsed locally while the ML service was down
+                return ResponseEntity.ok(mlFallbackService.nativeMatches(cvProfile, mode, limit));
+            }
             return ResponseEntity.badRequest()
                 .body(Map.of("error", "Please upload your CV first"));
         }
         
+        String catalogVersion = matchResultCache.catalogVersion();
+        Map<String, Object> cached = matchResultCache.get(memberId, mode, limit, catalogVersion);
+        if (cached != null) {
+            return ResponseEntity.ok(cached);
+        }
+        
         try {
             // Prepare request body for ML service
             Map<String, Object> requestBody = new HashMap<>();
@@ -162,6 +270,8 @@ public class JobMatchingController {
             );
             
             if (response.getStatusCode().is2xxSuccessful() && response.getBody() != null) {
+                matchResultCache.put(memberId, mode, limit, catalogVersion, response.getBody());
+                mlFallbackService.rememberMatches(memberId, mode, limit, response.getBody());
                 return ResponseEntity.ok(response.getBody());
             } else {
                 throw new RuntimeException("Invalid response from ML service");
@@ -181,6 +291,8 @@ public class JobMatchingController {
             errorResponse.put("details", errorBody);
             return ResponseEntity.status(e.getStatusCode()).body(errorResponse);
             
+        } catch (ResourceAccessException | HttpServerErrorException e) {
+            return fallbackMatches(memberId, mode, limit, cvProfile, e);
         } catch (Exception e) {
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
                 .body(Map.of(
@@ -190,10 +302,38 @@ public class JobMatchingController {
         }
     }
     
+    // Last known matches, then in-process matches, while the ML service cannot answer
+    private ResponseEntity<?> fallbackMatches(String memberId, String mode, int limit, Map<String, Object> cvProfile, Exception cause) {
+        Map<String, Object> lastKnown = mlFallbackService.lastKnownMatches(memberId, mode, limit);
+        if (lastKnown != null) {
+            return ResponseEntity.ok(lastKnown);
+        }
+        if (cvProfile != null) {
+            return ResponseEntity.ok(mlFallbackService.nativeMatches(cvProfile, mode, limit));
+        }
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+            .body(Map.of(
+                "error", "Job matching is temporarily unavailable",
+                "details", cause.getMessage()
+            ));
+    }
+    
+    // What the in-process matcher needs from a parsed CV; kept small since it lives in the session
+    private static Map<String, Object> cvProfile(Object skills, Object experienceYears, Object seniorityLevel, Object text) {
+        Map<String, Object> profile = new HashMap<>();
+        profile.put("skills", skills instanceof List<?> list ? new ArrayList<>(list) : new ArrayList<>());
+        profile.put("experienceYears", experienceYears instanceof Number number ? number.intValue() : 0);
+        profile.put("seniorityLevel", seniorityLevel instanceof String value ? value : null);
+        String cvText = text instanceof String value ? value : "";
+        profile.put("text", cvText.length() > MAX_PROFILE_TEXT ? cvText.substring(0, MAX_PROFILE_TEXT) : cvText);
+        return profile;
+    }
+    
     @DeleteMapping("/clear-cv")
     public ResponseEntity<?> clearCV(HttpSession session) {
         session.removeAttribute("currentMemberId");
         session.removeAttribute("mlSessionId");
+        session.removeAttribute("cvProfile");
         
         return ResponseEntity.ok()
             .body(Map.of("message", "CV data cleared successfully"));
@@ -231,12 +371,16 @@ public class JobMatchingController {
             );
             return ResponseEntity.ok(Map.of(
                 "ml_service_status", "connected",
-                "health_response", response.getBody()
+                "health_response", response.getBody(),
+                "circuit_breaker", mlCircuitBreaker.snapshot(),
+                "match_cache", matchResultCache.stats()
             ));
         } catch (Exception e) {
             return ResponseEntity.ok(Map.of(
                 "ml_service_status", "disconnected",
-                "error", e.getMessage()
+                "error", e.getMessage(),
+                "circuit_breaker", mlCircuitBreaker.snapshot(),
+                "match_cache", matchResultCache.stats()
             ));
         }
     }
@@ -3,8 +3,8 @@ package com.example.jobportal.controller;
 import java.util.Map;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.beans.factory.annotation.Value;
-import org.springframework.core.io.ByteArrayResource;
 import org.springframework.http.HttpEntity;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpMethod;
@@ -19,9 +19,13 @@ import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.client.HttpServerErrorException;
+import org.springframework.web.client.ResourceAccessException;
 import org.springframework.web.client.RestTemplate;
 import org.springframework.web.multipart.MultipartFile;
 
+import com.example.jobportal.service.MLFallbackService;
+
 @RestController
 @RequestMapping("/api/ml")
 @CrossOrigin(origins = "http://localhost:3000")  // You can remove this if CORS is globally handled
@@ -31,10 +35,12 @@ public class MLProxyController {
     private String mlServiceUrl;
 
     private final RestTemplate restTemplate;
+    private final MLFallbackService mlFallbackService;
 
     @Autowired
-    public MLProxyController(RestTemplate restTemplate) {
+    public MLProxyController(@Qualifier("mlRestTemplate") RestTemplate restTemplate, MLFallbackService mlFallbackService) {
         this.restTemplate = restTemplate;
+        this.mlFallbackService = mlFallbackService;
     }
 
     @PostMapping("/upload-cv")
@@ -47,12 +53,7 @@ public class MLProxyController {
             headers.setContentType(MediaType.MULTIPART_FORM_DATA);
 
             MultiValueMap<String, Object> body = new LinkedMultiValueMap<>();
-            body.add("file", new ByteArrayResource(file.getBytes()) {
-                @Override
-                public String getFilename() {
-                    return file.getOriginalFilename();
-                }
-            });
+            body.add("file", file.getResource());
             body.add("session_id", sessionId);
 
             HttpEntity<MultiValueMap<String, Object>> requestEntity = new HttpEntity<>(body, headers);
@@ -66,6 +67,9 @@ public class MLProxyController {
 
             return ResponseEntity.ok(response.getBody());
 
+        } catch (ResourceAccessException e) {
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                    .body(Map.of("error", "ML service unavailable", "details", e.getMessage()));
         } catch (Exception e) {
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
                     .body(Map.of("error", e.getMessage()));
@@ -89,6 +93,13 @@ public class MLProxyController {
 
             return ResponseEntity.ok(response.getBody());
 
+        } catch (ResourceAccessException | HttpServerErrorException e) {
+            Map<String, Object> lastKnown = mlFallbackService.lastKnownMatches(request);
+            if (lastKnown != null) {
+                return ResponseEntity.ok(lastKnown);
+            }
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                    .body(Map.of("error", "Job matching is temporarily unavailable", "details", e.getMessage()));
         } catch (Exception e) {
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
                     .body(Map.of("error", e.getMessage()));
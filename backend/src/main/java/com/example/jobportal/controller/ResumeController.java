@@ -0,0 +1,136 @@
+package com.example.jobportal.controller;
+
+import java.net.URI;
+import java.util.BitSet;
+import java.util.Map;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.Authentication;
+import org.springframework.web.bind.annotation.CrossOrigin;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.multipart.MultipartFile;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import com.example.jobportal.dto.MessageResponse;
+import com.example.jobportal.model.Resume;
+import com.example.jobportal.model.User;
+import com.example.jobportal.repository.ResumeRepository;
+import com.example.jobportal.repository.UserRepository;
+import com.example.jobportal.security.UserPrincipal;
+import com.example.jobportal.service.FileStorageService;
+import com.example.jobportal.service.ResumeProcessingService;
+import com.example.jobportal.service.SkillSetService;
+import com.example.jobportal.service.SkillTaxonomy;
+
+import jakarta.servlet.http.HttpSession;
+
+@RestController
+@RequestMapping("/api/resumes")
+@CrossOrigin(origins = "http://localhost:3000")
+public class ResumeController {
+    
+    @Autowired
+    private ResumeProcessingService resumeProcessingService;
+    
+    @Autowired
+    private FileStorageService fileStorageService;
+    
+    @Autowired
+    private ResumeRepository resumeRepository;
+    
+    @Autowired
+    private UserRepository userRepository;
+    
+    @Autowired
+    private SkillSetService skillSetService;
+    
+    @Autowired
+    private SkillTaxonomy skillTaxonomy;
+    
+    /**
+     * Accept a resume for background processing; poll the returned status URL or subscribe to its events
+     */
+    @PostMapping
+    public ResponseEntity<?> uploadResume(@RequestParam("file") MultipartFile file,
+                                          @RequestParam(value = "storageType", defaultValue = "temporary") String storageType,
+                                          HttpSession session,
+                                          Authentication authentication) {
+        if (file.isEmpty()) {
+            return ResponseEntity.badRequest().body(new MessageResponse("Please select a file to upload"));
+        }
+        if (!fileStorageService.isValidFileType(file)) {
+            return ResponseEntity.badRequest()
+                .body(new MessageResponse("Invalid file type. Please upload PDF, DOC, DOCX, RTF or TXT files only"));
+        }
+        
+        try {
+            Resume resume = resumeProcessingService.submit(file, currentUser(authentication), session.getId(),
+                    !"permanent".equalsIgnoreCase(storageType));
+            
+            String statusUrl = "/api/resumes/" + resume.getId();
+            return ResponseEntity.accepted()
+                .location(URI.create(statusUrl))
+                .body(Map.of(
+                    "resumeId", resume.getId(),
+                    "status", resume.getProcessingStatus(),
+                    "statusUrl", statusUrl,
+                    "eventsUrl", statusUrl + "/events"
+                ));
+        } catch (Exception e) {
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                .body(new MessageResponse("Error uploading resume: " + e.getMessage()));
+        }
+    }
+    
+    /**
+     * Get the processing status of one of the current user's resumes
+     */
+    @GetMapping("/{id}")
+    public ResponseEntity<?> getResumeStatus(@PathVariable Long id, Authentication authentication) {
+        return resumeRepository.findByIdAndUser(id, currentUser(authentication))
+            .<ResponseEntity<?>>map(resume -> ResponseEntity.ok(resumeProcessingService.statusView(resume)))
+            .orElse(ResponseEntity.notFound().build());
+    }
+    
+    /**
+     * Stream status changes of a resume as server-sent events until processing finishes
+     */
+    @GetMapping("/{id}/events")
+    public ResponseEntity<SseEmitter> subscribeToResume(@PathVariable Long id, Authentication authentication) {
+        return resumeRepository.findByIdAndUser(id, currentUser(authentication))
+            .map(resume -> ResponseEntity.ok(resumeProcessingService.subscribe(resume)))
+            .orElse(ResponseEntity.notFound().build());
+    }
+    
+    /**
+     * Approved jobs ranked by how many of their required skills the resume has
+     */
+    @GetMapping("/{id}/skill-overlap")
+    public ResponseEntity<?> getSkillOverlap(@PathVariable Long id,
+                                             @RequestParam(defaultValue = "20") int limit,
+                                             Authentication authentication) {
+        return resumeRepository.findByIdAndUser(id, currentUser(authentication))
+            .<ResponseEntity<?>>map(resume -> {
+                BitSet skills = skillSetService.skillSet(resume);
+                return ResponseEntity.ok(Map.of(
+                    "resumeId", resume.getId(),
+                    "skills", skillTaxonomy.names(skills),
+                    "jobs", skillSetService.topJobsBySkillOverlap(skills, Math.max(1, Math.min(limit, 100)))
+                ));
+            })
+            .orElse(ResponseEntity.notFound().build());
+    }
+    
+    private User currentUser(Authentication authentication) {
+        UserPrincipal userPrincipal = (UserPrincipal) authentication.getPrincipal();
+        return userRepository.findById(userPrincipal.getId())
+            .orElseThrow(() -> new RuntimeException("User not found"));
+    }
+}
@@ -1,11 +1,13 @@
 package com.example.jobportal.controller;
 
 import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.security.core.Authentication;
@@ -21,12 +23,20 @@ import org.springframework.web.bind.annotation.RestController;
 
 import com.example.jobportal.dto.MessageResponse;
 import com.example.jobportal.model.CompanySource;
+import com.example.jobportal.model.ScrapeTask;
+import com.example.jobportal.model.ScrapeTaskStatus;
 import com.example.jobportal.model.ScrapedJob;
+import com.example.jobportal.model.ScrapedJobChange;
 import com.example.jobportal.model.User;
 import com.example.jobportal.repository.CompanySourceRepository;
+import com.example.jobportal.repository.ScrapeTaskRepository;
+import com.example.jobportal.repository.ScrapedJobChangeRepository;
 import com.example.jobportal.repository.ScrapedJobRepository;
 import com.example.jobportal.repository.UserRepository;
 import com.example.jobportal.security.UserPrincipal;
+import com.example.jobportal.service.ScrapeLeaseService;
+import com.example.jobportal.service.ScrapeTaskQueue;
+import com.example.jobportal.service.SelectorReextractionService;
 import com.example.jobportal.service.WebScraperService;
 
 @RestController
@@ -40,12 +50,27 @@ public class ScraperController {
     @Autowired
     private ScrapedJobRepository scrapedJobRepository;
     
+    @Autowired
+    private ScrapedJobChangeRepository scrapedJobChangeRepository;
+    
     @Autowired
     private UserRepository userRepository;
     
     @Autowired
     private WebScraperService webScraperService;
     
+    @Autowired
+    private SelectorReextractionService selectorReextractionService;
+    
+    @Autowired
+    private ScrapeTaskQueue scrapeTaskQueue;
+    
+    @Autowired
+    private ScrapeLeaseService scrapeLeaseService;
+    
+    @Autowired
+    private ScrapeTaskRepository scrapeTaskRepository;
+    
     // ========== Company Source Management ==========
     
     /**
@@ -110,10 +135,20 @@ public class ScraperController {
             source.setJobSalarySelector(sourceDetails.getJobSalarySelector());
             source.setJobRequirementsSelector(sourceDetails.getJobRequirementsSelector());
             source.setJobUrlSelector(sourceDetails.getJobUrlSelector());
+            source.setNextPageSelector(sourceDetails.getNextPageSelector());
+            source.setMaxPages(sourceDetails.getMaxPages());
             source.setFrequency(sourceDetails.getFrequency());
+            source.setMinScrapeIntervalMinutes(sourceDetails.getMinScrapeIntervalMinutes());
+            source.setMaxScrapeIntervalMinutes(sourceDetails.getMaxScrapeIntervalMinutes());
+            source.setAutoImport(sourceDetails.getAutoImport());
+            source.setAutoImportMinQuality(sourceDetails.getAutoImportMinQuality());
             source.setActive(sourceDetails.isActive());
             
+            // Selectors may have changed, so the next scrape must re-parse the page
+            source.clearFetchValidators();
+            
             CompanySource updatedSource = companySourceRepository.save(source);
+            webScraperService.evictCompiledExtractor(id);
             
             return ResponseEntity.ok(updatedSource);
             
@@ -130,6 +165,7 @@ public class ScraperController {
     public ResponseEntity<?> deleteSource(@PathVariable Long id) {
         try {
             companySourceRepository.deleteById(id);
+            webScraperService.evictCompiledExtractor(id);
             return ResponseEntity.ok(new MessageResponse("Source deleted successfully"));
         } catch (Exception e) {
             return ResponseEntity.internalServerError()
@@ -141,14 +177,29 @@ public class ScraperController {
      * Manually trigger scraping for a source
      */
     @PostMapping("/sources/{id}/scrape")
-    public ResponseEntity<?> scrapeSource(@PathVariable Long id) {
+    public ResponseEntity<?> scrapeSource(@PathVariable Long id,
+                                          @RequestParam(defaultValue = "false") boolean force) {
         try {
             CompanySource source = companySourceRepository.findById(id)
                 .orElseThrow(() -> new RuntimeException("Source not found"));
             
-            Map<String, Object> result = webScraperService.scrapeCompanyJobs(source);
+            // The scheduler or a queued retry may be scraping this source right now
+            if (!scrapeLeaseService.tryClaim(source)) {
+                return ResponseEntity.status(HttpStatus.CONFLICT)
+                    .body(new MessageResponse("Source is already being scraped"));
+            }
             
-            return ResponseEntity.ok(result);
+            try {
+                if (force) {
+                    source.clearFetchValidators();
+                }
+                
+                Map<String, Object> result = webScraperService.scrapeCompanyJobs(source);
+                
+                return ResponseEntity.ok(result);
+            } finally {
+                scrapeLeaseService.release(source);
+            }
             
         } catch (Exception e) {
             return ResponseEntity.internalServerError()
@@ -156,6 +207,46 @@ public class ScraperController {
         }
     }
     
+    /**
+     * Preview re-extraction of archived pages, optionally with candidate selectors
+     */
+    @PostMapping("/sources/{id}/reextract/preview")
+    public ResponseEntity<?> previewReextraction(@PathVariable Long id,
+                                                 @RequestBody(required = false) CompanySource selectorOverrides) {
+        try {
+            CompanySource source = companySourceRepository.findById(id)
+                .orElseThrow(() -> new RuntimeException("Source not found"));
+            
+            Map<String, Object> result = selectorReextractionService.reextract(
+                source, source.withSelectorOverrides(selectorOverrides), true);
+            
+            return ResponseEntity.ok(result);
+            
+        } catch (Exception e) {
+            return ResponseEntity.internalServerError()
+                .body(new MessageResponse("Failed to preview re-extraction: " + e.getMessage()));
+        }
+    }
+    
+    /**
+     * Re-extract archived pages with the source's current selectors and apply the changes
+     */
+    @PostMapping("/sources/{id}/reextract")
+    public ResponseEntity<?> reextractSource(@PathVariable Long id) {
+        try {
+            CompanySource source = companySourceRepository.findById(id)
+                .orElseThrow(() -> new RuntimeException("Source not found"));
+            
+            Map<String, Object> result = selectorReextractionService.reextract(source, source, false);
+            
+            return ResponseEntity.ok(result);
+            
+        } catch (Exception e) {
+            return ResponseEntity.internalServerError()
+                .body(new MessageResponse("Failed to re-extract source: " + e.getMessage()));
+        }
+    }
+    
     // ========== Scraped Job Management ==========
     
     /**
@@ -183,6 +274,34 @@ public class ScraperController {
         }
     }
     
+    /**
+     * Get the change history of a scraped job
+     */
+    @GetMapping("/jobs/{id}/changes")
+    public ResponseEntity<?> getJobChanges(@PathVariable Long id) {
+        try {
+            ScrapedJob job = scrapedJobRepository.findById(id)
+                .orElseThrow(() -> new RuntimeException("Scraped job not found"));
+            
+            List<Map<String, Object>> changes = new ArrayList<>();
+            for (ScrapedJobChange change : scrapedJobChangeRepository.findByScrapedJobOrderByDetectedAtDesc(job)) {
+                Map<String, Object> entry = new HashMap<>();
+                entry.put("id", change.getId());
+                entry.put("changedFields", change.getChangedFields());
+                entry.put("previousValues", change.getPreviousValues());
+                entry.put("importedJobUpdated", change.isImportedJobUpdated());
+                entry.put("detectedAt", change.getDetectedAt());
+                changes.add(entry);
+            }
+            
+            return ResponseEntity.ok(changes);
+            
+        } catch (Exception e) {
+            return ResponseEntity.internalServerError()
+                .body(new MessageResponse("Failed to fetch job changes: " + e.getMessage()));
+        }
+    }
+    
     /**
      * Get all unimported scraped jobs
      */
@@ -229,9 +348,34 @@ public class ScraperController {
         // Sources with errors
         stats.put("sourcesWithErrors", companySourceRepository.findByLastErrorNotNull().size());
         
+        // Retry queue
+        stats.put("pendingScrapeTasks", scrapeTaskRepository.countByStatus(ScrapeTaskStatus.PENDING));
+        stats.put("deadScrapeTasks", scrapeTaskRepository.countByStatus(ScrapeTaskStatus.DEAD));
+        
         return ResponseEntity.ok(stats);
     }
     
+    /**
+     * Get queued scrape tasks, dead-lettered ones by default
+     */
+    @GetMapping("/tasks")
+    public List<ScrapeTask> getScrapeTasks(@RequestParam(defaultValue = "DEAD") ScrapeTaskStatus status) {
+        return scrapeTaskRepository.findByStatusOrderByCreatedAtDesc(status);
+    }
+    
+    /**
+     * Put a dead scrape task back on the queue
+     */
+    @PostMapping("/tasks/{id}/retry")
+    public ResponseEntity<?> retryScrapeTask(@PathVariable Long id) {
+        try {
+            return ResponseEntity.ok(scrapeTaskQueue.retry(id));
+        } catch (RuntimeException e) {
+            return ResponseEntity.badRequest()
+                .body(new MessageResponse("Error: " + e.getMessage()));
+        }
+    }
+    
     /**
      * Get sources due for scraping
      */
@@ -7,7 +7,7 @@ import java.util.HashMap;
 import java.util.Map;
 
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.core.io.ByteArrayResource;
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.http.HttpEntity;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpMethod;
@@ -31,6 +31,7 @@ import jakarta.servlet.http.HttpSession;
 public class TestCVController {
 
     @Autowired
+    @Qualifier("mlRestTemplate")
     private RestTemplate restTemplate;
 
     // Test endpoint that doesn't require authentication
@@ -47,12 +48,7 @@ public class TestCVController {
             headers.setContentType(MediaType.MULTIPART_FORM_DATA);
             
             MultiValueMap<String, Object> body = new LinkedMultiValueMap<>();
-            body.add("file", new ByteArrayResource(file.getBytes()) {
-                @Override
-                public String getFilename() {
-                    return file.getOriginalFilename();
-                }
-            });
+            body.add("file", file.getResource());
             body.add("session_id", session.getId());
             
             HttpEntity<MultiValueMap<String, Object>> requestEntity = 
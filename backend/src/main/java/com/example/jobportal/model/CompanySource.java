@@ -1,5 +1,6 @@
 package com.example.jobportal.model;
 
+import java.time.Duration;
 import java.time.LocalDateTime;
 import java.util.List;
 
@@ -29,6 +30,10 @@ import lombok.NoArgsConstructor;
 @AllArgsConstructor
 public class CompanySource {
 
+    private static final long FAILURE_BACKOFF_BASE_MINUTES = 30;
+    private static final double CHANGE_RATE_SMOOTHING = 0.3;
+    private static final double TARGET_CHANGES_PER_SCRAPE = 1.0;
+
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     private Long id;
@@ -56,6 +61,13 @@ public class CompanySource {
     private String jobRequirementsSelector;
     private String nextPageSelector;
 
+    // Per-source limit on listing pages crawled per scrape (null uses scraper.max-pages)
+    private Integer maxPages;
+
+    // Import new, non-duplicate jobs after each scrape when they populate enough fields
+    private Boolean autoImport = false;
+    private Integer autoImportMinQuality;
+
     // Scraping tracking
     private LocalDateTime lastScrapedAt;
     private LocalDateTime nextScheduledScrape;
@@ -66,9 +78,29 @@ public class CompanySource {
     private int failedScrapes = 0;
     private int lastScrapeJobCount = 0;
 
+    // Adaptive scheduling state
+    private Integer minScrapeIntervalMinutes = 60;
+    private Integer maxScrapeIntervalMinutes = 7 * 24 * 60;
+    private Double observedChangesPerDay;
+    private Integer consecutiveFailures = 0;
+
     @Column(length = 1000)
     private String lastError;
 
+    // HTTP validators from the last successful fetch, used for conditional requests to the same URL
+    @Column(length = 2000)
+    private String lastValidatorUrl;
+    private String lastEtag;
+    private String lastModifiedHeader;
+    private String lastContentDigest;
+
+    // Scrape lease, written only through CompanySourceRepository so entity saves never clobber it
+    @Column(insertable = false, updatable = false)
+    private String leaseOwner;
+
+    @Column(insertable = false, updatable = false)
+    private LocalDateTime leaseExpiresAt;
+
     @OneToMany(mappedBy = "source", cascade = CascadeType.ALL)
     private List<ScrapedJob> scrapedJobs;
 
@@ -90,6 +122,101 @@ public class CompanySource {
         updatedAt = LocalDateTime.now();
     }
 
+    // Unsaved copy of this source with any non-null selectors from overrides applied
+    public CompanySource withSelectorOverrides(CompanySource overrides) {
+        CompanySource copy = new CompanySource();
+        copy.setCompanyName(companyName);
+        copy.setCareerPageUrl(careerPageUrl);
+        copy.setJobListSelector(jobListSelector);
+        copy.setJobTitleSelector(jobTitleSelector);
+        copy.setJobLocationSelector(jobLocationSelector);
+        copy.setJobDescriptionSelector(jobDescriptionSelector);
+        copy.setJobTypeSelector(jobTypeSelector);
+        copy.setJobSalarySelector(jobSalarySelector);
+        copy.setJobUrlSelector(jobUrlSelector);
+        copy.setJobRequirementsSelector(jobRequirementsSelector);
+        copy.setNextPageSelector(nextPageSelector);
+
+        if (overrides != null) {
+            if (overrides.getJobListSelector() != null) copy.setJobListSelector(overrides.getJobListSelector());
+            if (overrides.getJobTitleSelector() != null) copy.setJobTitleSelector(overrides.getJobTitleSelector());
+            if (overrides.getJobLocationSelector() != null) copy.setJobLocationSelector(overrides.getJobLocationSelector());
+            if (overrides.getJobDescriptionSelector() != null) copy.setJobDescriptionSelector(overrides.getJobDescriptionSelector());
+            if (overrides.getJobTypeSelector() != null) copy.setJobTypeSelector(overrides.getJobTypeSelector());
+            if (overrides.getJobSalarySelector() != null) copy.setJobSalarySelector(overrides.getJobSalarySelector());
+            if (overrides.getJobUrlSelector() != null) copy.setJobUrlSelector(overrides.getJobUrlSelector());
+            if (overrides.getJobRequirementsSelector() != null) copy.setJobRequirementsSelector(overrides.getJobRequirementsSelector());
+        }
+        return copy;
+    }
+
+    // Forget the cached validators so the next scrape re-fetches and re-parses the page
+    public void clearFetchValidators() {
+        lastValidatorUrl = null;
+        lastEtag = null;
+        lastModifiedHeader = null;
+        lastContentDigest = null;
+    }
+
+    // Record a completed scrape that found the given number of new or changed postings
+    public void recordScrapeSuccess(int changedPostings) {
+        LocalDateTime now = LocalDateTime.now();
+        if (lastScrapedAt != null) {
+            updateChangeRate(changedPostings, now);
+        }
+
+        lastScrapedAt = now;
+        successfulScrapes++;
+        consecutiveFailures = 0;
+        lastError = null;
+        lastErrorAt = null;
+        updateNextScheduledScrape();
+    }
+
+    // Record a failed scrape and back off exponentially while failures keep repeating
+    public void recordScrapeFailure(String error) {
+        LocalDateTime now = LocalDateTime.now();
+        failedScrapes++;
+        consecutiveFailures = (consecutiveFailures == null ? 0 : consecutiveFailures) + 1;
+        lastError = error;
+        lastErrorAt = now;
+
+        int exponent = Math.min(consecutiveFailures - 1, 16);
+        long backoffMinutes = Math.min(FAILURE_BACKOFF_BASE_MINUTES << exponent, maxIntervalMinutes());
+        nextScheduledScrape = now.plusMinutes(backoffMinutes);
+    }
+
+    // Exponential moving average of new or changed postings per day
+    private void updateChangeRate(int changedPostings, LocalDateTime now) {
+        double hours = Math.max(Duration.between(lastScrapedAt, now).toMinutes(), 1) / 60.0;
+        double sample = changedPostings * 24.0 / hours;
+        observedChangesPerDay = observedChangesPerDay == null
+                ? sample
+                : CHANGE_RATE_SMOOTHING * sample + (1 - CHANGE_RATE_SMOOTHING) * observedChangesPerDay;
+    }
+
+    // Interval that expects about one change per scrape, kept within the source's bounds
+    private long adaptiveIntervalMinutes() {
+        long interval;
+        if (observedChangesPerDay == null) {
+            interval = 24 * 60;
+        } else if (observedChangesPerDay <= 0) {
+            interval = maxIntervalMinutes();
+        } else {
+            interval = Math.round(TARGET_CHANGES_PER_SCRAPE * 24 * 60 / observedChangesPerDay);
+        }
+        return Math.max(minIntervalMinutes(), Math.min(interval, maxIntervalMinutes()));
+    }
+
+    private long minIntervalMinutes() {
+        return minScrapeIntervalMinutes != null ? minScrapeIntervalMinutes : 60;
+    }
+
+    private long maxIntervalMinutes() {
+        return Math.max(minIntervalMinutes(),
+                maxScrapeIntervalMinutes != null ? maxScrapeIntervalMinutes : 7 * 24 * 60);
+    }
+
     // Schedule scraper logic
     public void updateNextScheduledScrape() {
         if (lastScrapedAt == null) {
@@ -109,6 +236,9 @@ public class CompanySource {
             case MONTHLY:
                 nextScheduledScrape = lastScrapedAt.plusMonths(1);
                 break;
+            case ADAPTIVE:
+                nextScheduledScrape = lastScrapedAt.plusMinutes(adaptiveIntervalMinutes());
+                break;
             default:
                 nextScheduledScrape = lastScrapedAt.plusDays(1);
         }
@@ -2,10 +2,13 @@ package com.example.jobportal.model;
 
 import java.time.LocalDateTime;
 
+import com.example.jobportal.service.JobCatalogVersion;
+import com.example.jobportal.service.SkillSetListener;
 import com.fasterxml.jackson.annotation.JsonIgnore;
 
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
+import jakarta.persistence.EntityListeners;
 import jakarta.persistence.EnumType;
 import jakarta.persistence.Enumerated;
 import jakarta.persistence.FetchType;
@@ -21,6 +24,7 @@ import lombok.NoArgsConstructor;
 
 @Entity
 @Table(name = "jobs")
+@EntityListeners({SkillSetListener.class, JobCatalogVersion.class})
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
@@ -54,6 +58,16 @@ public class Job {
     @Column(columnDefinition = "TEXT")
     private String preferredSkills;
 
+    // Skill taxonomy ids of the two skill lists, kept in step by SkillSetListener
+    @JsonIgnore
+    private byte[] requiredSkillSet;
+
+    @JsonIgnore
+    private byte[] preferredSkillSet;
+
+    @JsonIgnore
+    private Integer skillTaxonomyVersion;
+
     private Integer experienceRequired = 0;
 
     private String seniorityLevel = "entry"; // entry, junior, mid, senior
@@ -0,0 +1,69 @@
+package com.example.jobportal.model;
+
+import java.time.LocalDateTime;
+
+import org.hibernate.annotations.OnDelete;
+import org.hibernate.annotations.OnDeleteAction;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.FetchType;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.JoinColumn;
+import jakarta.persistence.ManyToOne;
+import jakarta.persistence.PrePersist;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Entity
+@Table(name = "page_snapshots", indexes = {
+    @Index(name = "idx_page_snapshots_digest", columnList = "digest"),
+    @Index(name = "idx_page_snapshots_source_fetched", columnList = "source_id, fetched_at")
+})
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class PageSnapshot {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "run_id")
+    @OnDelete(action = OnDeleteAction.CASCADE)
+    private ScrapeRun run;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "source_id")
+    @OnDelete(action = OnDeleteAction.CASCADE)
+    private CompanySource source;
+
+    @Column(length = 2000)
+    private String url;
+
+    @Enumerated(EnumType.STRING)
+    private SnapshotPageType pageType;
+
+    // Hex SHA-256 of the uncompressed body; also the blob's file name
+    @Column(length = 64, nullable = false)
+    private String digest;
+
+    private long originalSize;
+    private long storedSize;
+
+    @Column(name = "fetched_at")
+    private LocalDateTime fetchedAt;
+
+    @PrePersist
+    public void prePersist() {
+        if (fetchedAt == null) fetchedAt = LocalDateTime.now();
+    }
+}
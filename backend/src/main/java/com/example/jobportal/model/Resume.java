@@ -4,10 +4,13 @@ import java.time.LocalDateTime;
 import java.util.HashMap;
 import java.util.Map;
 
+import com.example.jobportal.service.SkillSetListener;
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.fasterxml.jackson.databind.ObjectMapper;
 
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
+import jakarta.persistence.EntityListeners;
 import jakarta.persistence.EnumType;
 import jakarta.persistence.Enumerated;
 import jakarta.persistence.FetchType;
@@ -27,6 +30,7 @@ import lombok.NoArgsConstructor;
 @NoArgsConstructor
 @AllArgsConstructor
 @Table(name = "resumes")
+@EntityListeners(SkillSetListener.class)
 public class Resume {
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
@@ -60,9 +64,23 @@ public class Resume {
     private String extractedSkills;
     
     private String skills;
+    
+    // Skill taxonomy ids of the extracted skills, kept in step by SkillSetListener
+    @JsonIgnore
+    private byte[] skillSet;
+    
+    @JsonIgnore
+    private Integer skillTaxonomyVersion;
+    
     private Double experienceYears;
     private String educationLevel;
     
+    // ResumeParserService.PARSER_VERSION that produced the extracted fields
+    private Integer parserVersion;
+    
+    // SkillTaxonomy version the extracted skills were matched against
+    private Integer parserTaxonomyVersion;
+    
     private String extractedEducation;
     private String extractedExperience;
     private String extractedEmail;
@@ -79,12 +97,16 @@ public class Resume {
     private String sessionId;
     
     private LocalDateTime uploadedAt = LocalDateTime.now();
+    private LocalDateTime processingStartedAt;
     private LocalDateTime processedAt;
     private LocalDateTime expiresAt;
     
     @Column(length = 1000)
     private String processingError;
     
+    // Member id assigned by the ML service when the CV was analysed there
+    private String mlMemberId;
+    
     // Helper method to get parsed data as Map
     @Transient
     public Map<String, Object> getParsedDataAsMap() {
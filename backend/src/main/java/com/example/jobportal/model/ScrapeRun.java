@@ -0,0 +1,68 @@
+package com.example.jobportal.model;
+
+import java.time.LocalDateTime;
+
+import org.hibernate.annotations.OnDelete;
+import org.hibernate.annotations.OnDeleteAction;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.FetchType;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.JoinColumn;
+import jakarta.persistence.ManyToOne;
+import jakarta.persistence.PrePersist;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Entity
+@Table(name = "scrape_runs")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ScrapeRun {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "source_id")
+    @OnDelete(action = OnDeleteAction.CASCADE)
+    private CompanySource source;
+
+    private LocalDateTime startedAt;
+    private LocalDateTime finishedAt;
+
+    private boolean success = false;
+    private boolean notModified = false;
+
+    private int pagesFetched = 0;
+    private long bytesFetched = 0;
+    private int newJobs = 0;
+    // Added after the table existed, so existing rows need the database default
+    @Column(columnDefinition = "integer default 0")
+    private int updatedJobs = 0;
+
+    @Column(length = 1000)
+    private String error;
+
+    public ScrapeRun(CompanySource source) {
+        this.source = source;
+    }
+
+    // Count a fetched page towards the run totals
+    public void recordPage(long bytes) {
+        pagesFetched++;
+        bytesFetched += bytes;
+    }
+
+    @PrePersist
+    public void prePersist() {
+        if (startedAt == null) startedAt = LocalDateTime.now();
+    }
+}
@@ -0,0 +1,92 @@
+package com.example.jobportal.model;
+
+import java.time.LocalDateTime;
+
+import org.hibernate.annotations.OnDelete;
+import org.hibernate.annotations.OnDeleteAction;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.FetchType;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.JoinColumn;
+import jakarta.persistence.ManyToOne;
+import jakarta.persistence.PrePersist;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Entity
+@Table(name = "scrape_tasks", indexes = {
+        @Index(name = "idx_scrape_tasks_due", columnList = "status, next_attempt_at"),
+        @Index(name = "idx_scrape_tasks_source", columnList = "source_id, type, status")
+})
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ScrapeTask {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    private ScrapeTaskType type;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    private ScrapeTaskStatus status = ScrapeTaskStatus.PENDING;
+
+    @JsonIgnore
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "source_id")
+    @OnDelete(action = OnDeleteAction.CASCADE)
+    private CompanySource source;
+
+    // Detail page to fetch; null for source fetches
+    @Column(length = 2000)
+    private String url;
+
+    // Attempts are counted when a worker claims the task
+    private int attempts = 0;
+    private int maxAttempts;
+
+    @Column(name = "next_attempt_at")
+    private LocalDateTime nextAttemptAt;
+
+    @Column(length = 1000)
+    private String lastError;
+
+    // Worker lease; running tasks whose lease expired are claimed again
+    private String lockedBy;
+    private LocalDateTime lockedUntil;
+
+    private LocalDateTime createdAt;
+    private LocalDateTime finishedAt;
+
+    public ScrapeTask(ScrapeTaskType type, CompanySource source, String url, int maxAttempts) {
+        this.type = type;
+        this.source = source;
+        this.url = url;
+        this.maxAttempts = maxAttempts;
+    }
+
+    public Long getSourceId() {
+        return source != null ? source.getId() : null;
+    }
+
+    @PrePersist
+    public void prePersist() {
+        if (createdAt == null) createdAt = LocalDateTime.now();
+        if (nextAttemptAt == null) nextAttemptAt = createdAt;
+    }
+}
@@ -0,0 +1,5 @@
+package com.example.jobportal.model;
+
+public enum ScrapeTaskStatus {
+    PENDING, RUNNING, DONE, DEAD
+}
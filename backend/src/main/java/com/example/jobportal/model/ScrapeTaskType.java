@@ -0,0 +1,5 @@
+package com.example.jobportal.model;
+
+public enum ScrapeTaskType {
+    SOURCE_FETCH, DETAIL_FETCH
+}
@@ -12,6 +12,7 @@ import jakarta.persistence.JoinColumn;
 import jakarta.persistence.ManyToOne;
 import jakarta.persistence.PrePersist;
 import jakarta.persistence.Table;
+import jakarta.persistence.Transient;
 import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
@@ -65,6 +66,10 @@ public class ScrapedJob {
 
     private String contentHash;
 
+    // Encoded per-field fingerprints, see ScrapedJobField
+    @Column(length = 500)
+    private String fieldFingerprints;
+
     @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "duplicate_of_id")
     private ScrapedJob duplicateOf;
@@ -73,6 +78,11 @@ public class ScrapedJob {
     @JoinColumn(name = "imported_job_id")
     private Job importedJob;
 
+    // Set on jobs extracted from JSON-LD or an ATS feed, whose externalId is the posting's own id
+    // rather than one guessed from its URL
+    @Transient
+    private boolean structured = false;
+
     @PrePersist
     public void prePersist() {
         if (scrapedAt == null) scrapedAt = LocalDateTime.now();
@@ -0,0 +1,63 @@
+package com.example.jobportal.model;
+
+import java.time.LocalDateTime;
+
+import org.hibernate.annotations.OnDelete;
+import org.hibernate.annotations.OnDeleteAction;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.FetchType;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.JoinColumn;
+import jakarta.persistence.ManyToOne;
+import jakarta.persistence.PrePersist;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Entity
+@Table(name = "scraped_job_changes", indexes = {
+        @Index(name = "idx_scraped_job_changes_job", columnList = "scraped_job_id"),
+        @Index(name = "idx_scraped_job_changes_detected", columnList = "detected_at")
+})
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ScrapedJobChange {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "scraped_job_id")
+    @OnDelete(action = OnDeleteAction.CASCADE)
+    private ScrapedJob scrapedJob;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "source_id")
+    @OnDelete(action = OnDeleteAction.CASCADE)
+    private CompanySource source;
+
+    // Comma separated ScrapedJobField names
+    private String changedFields;
+
+    // JSON object of the values the changed fields had before
+    @Column(columnDefinition = "TEXT")
+    private String previousValues;
+
+    private boolean importedJobUpdated = false;
+
+    @Column(name = "detected_at")
+    private LocalDateTime detectedAt;
+
+    @PrePersist
+    public void prePersist() {
+        if (detectedAt == null) detectedAt = LocalDateTime.now();
+    }
+}
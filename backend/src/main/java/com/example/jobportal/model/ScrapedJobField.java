@@ -0,0 +1,34 @@
+package com.example.jobportal.model;
+
+import java.util.function.BiConsumer;
+import java.util.function.Function;
+
+/**
+ * Scraped job fields that are fingerprinted for change detection
+ */
+public enum ScrapedJobField {
+    TITLE(ScrapedJob::getTitle, ScrapedJob::setTitle),
+    LOCATION(ScrapedJob::getLocation, ScrapedJob::setLocation),
+    JOB_TYPE(ScrapedJob::getJobType, ScrapedJob::setJobType),
+    SALARY(ScrapedJob::getSalary, ScrapedJob::setSalary),
+    DESCRIPTION(ScrapedJob::getDescription, ScrapedJob::setDescription),
+    REQUIREMENTS(ScrapedJob::getRequirements, ScrapedJob::setRequirements),
+    EXTERNAL_URL(ScrapedJob::getExternalUrl, ScrapedJob::setExternalUrl);
+
+    private final Function<ScrapedJob, String> getter;
+    private final BiConsumer<ScrapedJob, String> setter;
+
+    ScrapedJobField(Function<ScrapedJob, String> getter, BiConsumer<ScrapedJob, String> setter) {
+        this.getter = getter;
+        this.setter = setter;
+    }
+
+    public String get(ScrapedJob job) {
+        return getter.apply(job);
+    }
+
+    // Copy this field's value from one job to another
+    public void copy(ScrapedJob from, ScrapedJob to) {
+        setter.accept(to, getter.apply(from));
+    }
+}
@@ -1,5 +1,5 @@
 package com.example.jobportal.model;
 
 public enum ScrapingFrequency {
-    HOURLY, DAILY, WEEKLY, MONTHLY
+    HOURLY, DAILY, WEEKLY, MONTHLY, ADAPTIVE
 }
\ No newline at end of file
@@ -0,0 +1,7 @@
+package com.example.jobportal.model;
+
+public enum SnapshotPageType {
+    LISTING, DETAIL,
+    // JSON job feed of an ATS board, fetched in place of the listing page
+    FEED
+}
@@ -4,11 +4,13 @@ import java.time.LocalDateTime;
 import java.util.HashSet;
 import java.util.Set;
 
+import com.example.jobportal.service.SkillSetListener;
 import com.fasterxml.jackson.annotation.JsonIgnore;
 
 import jakarta.persistence.CascadeType;
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
+import jakarta.persistence.EntityListeners;
 import jakarta.persistence.EnumType;
 import jakarta.persistence.Enumerated;
 import jakarta.persistence.FetchType;
@@ -29,6 +31,7 @@ import lombok.NoArgsConstructor;
 
 @Entity
 @Table(name = "users")
+@EntityListeners(SkillSetListener.class)
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
@@ -68,6 +71,13 @@ public class User {
     private String experience;
     private String education;
 
+    // Skill taxonomy ids of the skills, kept in step by SkillSetListener
+    @JsonIgnore
+    private byte[] skillSet;
+
+    @JsonIgnore
+    private Integer skillTaxonomyVersion;
+
     // Employer specific fields
     private String companyName;
     private String companyDescription;
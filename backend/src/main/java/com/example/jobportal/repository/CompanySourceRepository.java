@@ -5,9 +5,11 @@ import java.util.List;
 import java.util.Optional;
 
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
 import com.example.jobportal.model.CompanySource;
 import com.example.jobportal.model.ScrapingFrequency;
@@ -31,6 +33,35 @@ public interface CompanySourceRepository extends JpaRepository<CompanySource, Lo
     @Query("SELECT cs FROM CompanySource cs WHERE cs.active = true AND cs.nextScheduledScrape <= :now")
     List<CompanySource> findSourcesDueForScraping(@Param("now") LocalDateTime now);
     
+    // Lock due sources that are not leased (or whose lease expired), skipping rows locked by other nodes
+    @Query(value = "SELECT cs.id FROM company_sources cs " +
+                   "WHERE cs.active = true AND cs.next_scheduled_scrape <= :now " +
+                   "AND (cs.lease_expires_at IS NULL OR cs.lease_expires_at < :now) " +
+                   "ORDER BY cs.next_scheduled_scrape " +
+                   "LIMIT :limit FOR UPDATE SKIP LOCKED", nativeQuery = true)
+    List<Long> lockDueSourceIds(@Param("now") LocalDateTime now, @Param("limit") int limit);
+    
+    // Assign a scrape lease to the locked sources
+    @Modifying(clearAutomatically = true)
+    @Query("UPDATE CompanySource cs SET cs.leaseOwner = :owner, cs.leaseExpiresAt = :expiresAt WHERE cs.id IN :ids")
+    int assignLease(@Param("ids") List<Long> ids, @Param("owner") String owner,
+                    @Param("expiresAt") LocalDateTime expiresAt);
+    
+    // Lease a single source unless another node holds a live lease on it
+    @Modifying
+    @Transactional
+    @Query("UPDATE CompanySource cs SET cs.leaseOwner = :owner, cs.leaseExpiresAt = :expiresAt " +
+           "WHERE cs.id = :id AND (cs.leaseExpiresAt IS NULL OR cs.leaseExpiresAt < :now)")
+    int tryLease(@Param("id") Long id, @Param("owner") String owner,
+                 @Param("now") LocalDateTime now, @Param("expiresAt") LocalDateTime expiresAt);
+    
+    // Release a lease held by the given owner
+    @Modifying
+    @Transactional
+    @Query("UPDATE CompanySource cs SET cs.leaseOwner = NULL, cs.leaseExpiresAt = NULL " +
+           "WHERE cs.id = :id AND cs.leaseOwner = :owner")
+    int releaseLease(@Param("id") Long id, @Param("owner") String owner);
+    
     // Find sources with errors
     List<CompanySource> findByLastErrorNotNull();
     
@@ -2,6 +2,7 @@ package com.example.jobportal.repository;
 
 import java.util.List;
 
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
@@ -52,6 +53,42 @@ public interface JobRepository extends JpaRepository<Job, Long> {
     // Count by approval status
     long countByApprovalStatus(ApprovalStatus status);
     
+    // Skill sets of the approved, active jobs, for overlap scoring
+    @Query("SELECT j.id AS id, j.requiredSkillSet AS requiredSkillSet, j.preferredSkillSet AS preferredSkillSet " +
+           "FROM Job j WHERE j.approvalStatus = 'APPROVED' AND j.active = true")
+    List<JobSkillSet> findActiveJobSkillSets();
+    
+    // Fields of the approved, active jobs the in-process matcher scores on
+    @Query("SELECT j.id AS id, j.title AS title, j.company AS company, j.location AS location, " +
+           "j.description AS description, j.requirements AS requirements, " +
+           "j.requiredSkillSet AS requiredSkillSet, j.preferredSkillSet AS preferredSkillSet, " +
+           "j.experienceRequired AS experienceRequired, j.seniorityLevel AS seniorityLevel " +
+           "FROM Job j WHERE j.approvalStatus = 'APPROVED' AND j.active = true")
+    List<JobMatchRow> findActiveJobMatchRows();
+    
+    // Find jobs whose skill sets were built with another taxonomy version, or never built
+    @Query("SELECT j FROM Job j WHERE j.skillTaxonomyVersion IS NULL OR j.skillTaxonomyVersion <> :version")
+    List<Job> findWithStaleSkillSets(@Param("version") int version, Pageable pageable);
+    
+    interface JobSkillSet {
+        Long getId();
+        byte[] getRequiredSkillSet();
+        byte[] getPreferredSkillSet();
+    }
+    
+    interface JobMatchRow {
+        Long getId();
+        String getTitle();
+        String getCompany();
+        String getLocation();
+        String getDescription();
+        String getRequirements();
+        byte[] getRequiredSkillSet();
+        byte[] getPreferredSkillSet();
+        Integer getExperienceRequired();
+        String getSeniorityLevel();
+    }
+    
     // Old methods for backward compatibility
     List<Job> findByLocationContaining(String location);
     List<Job> findByJobTypeContaining(String jobType);
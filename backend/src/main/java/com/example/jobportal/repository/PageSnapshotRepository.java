@@ -0,0 +1,48 @@
+package com.example.jobportal.repository;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.example.jobportal.model.CompanySource;
+import com.example.jobportal.model.PageSnapshot;
+import com.example.jobportal.model.ScrapeRun;
+import com.example.jobportal.model.SnapshotPageType;
+
+@Repository
+public interface PageSnapshotRepository extends JpaRepository<PageSnapshot, Long> {
+    
+    // Find snapshots captured during a run
+    List<PageSnapshot> findByRun(ScrapeRun run);
+    
+    // Find snapshots of some page types captured during a run
+    List<PageSnapshot> findByRunAndPageTypeIn(ScrapeRun run, Collection<SnapshotPageType> pageTypes);
+    
+    // Find the most recent snapshot of any of some page types for a source
+    Optional<PageSnapshot> findFirstBySourceAndPageTypeInOrderByFetchedAtDesc(CompanySource source,
+                                                                              Collection<SnapshotPageType> pageTypes);
+    
+    // Find all snapshots of a page type for a source, newest first
+    List<PageSnapshot> findBySourceAndPageTypeOrderByFetchedAtDesc(CompanySource source, SnapshotPageType pageType);
+    
+    // Check whether any snapshot still references a blob
+    boolean existsByDigest(String digest);
+    
+    // Digests of snapshots older than the retention cutoff
+    @Query("SELECT DISTINCT ps.digest FROM PageSnapshot ps WHERE ps.fetchedAt < :cutoff")
+    List<String> findDigestsFetchedBefore(@Param("cutoff") LocalDateTime cutoff);
+    
+    // Delete snapshots older than the retention cutoff
+    @Modifying
+    @Transactional
+    @Query("DELETE FROM PageSnapshot ps WHERE ps.fetchedAt < :cutoff")
+    int deleteFetchedBefore(@Param("cutoff") LocalDateTime cutoff);
+}
@@ -4,10 +4,13 @@ import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
 
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
 import com.example.jobportal.model.ProcessingStatus;
 import com.example.jobportal.model.Resume;
@@ -41,6 +44,48 @@ public interface ResumeRepository extends JpaRepository<Resume, Long> {
     // Find resumes by status
     List<Resume> findByStatus(ProcessingStatus status);
     
+    // Find ids of resumes waiting in a processing status since before the cutoff, oldest first
+    @Query("SELECT r.id FROM Resume r WHERE r.processingStatus = :status AND r.uploadedAt < :before ORDER BY r.uploadedAt")
+    List<Long> findIdsByProcessingStatusUploadedBefore(@Param("status") ProcessingStatus status,
+                                                       @Param("before") LocalDateTime before,
+                                                       Pageable pageable);
+    
+    // Claim a pending resume for processing; returns 0 if another worker got it first
+    @Modifying
+    @Transactional
+    @Query("UPDATE Resume r SET r.processingStatus = :processing, r.status = :processing, r.processingStartedAt = :now " +
+           "WHERE r.id = :id AND r.processingStatus = :pending")
+    int claimForProcessing(@Param("id") Long id, @Param("pending") ProcessingStatus pending,
+                           @Param("processing") ProcessingStatus processing, @Param("now") LocalDateTime now);
+    
+    // Return resumes stuck in processing (e.g. the node died) to the pending queue
+    @Modifying
+    @Transactional
+    @Query("UPDATE Resume r SET r.processingStatus = :pending, r.status = :pending " +
+           "WHERE r.processingStatus = :processing AND r.processingStartedAt < :cutoff")
+    int resetStalledProcessing(@Param("processing") ProcessingStatus processing,
+                               @Param("pending") ProcessingStatus pending, @Param("cutoff") LocalDateTime cutoff);
+    
+    // Find resumes whose skill sets were built with another taxonomy version, or never built
+    @Query("SELECT r FROM Resume r WHERE r.skillTaxonomyVersion IS NULL OR r.skillTaxonomyVersion <> :version")
+    List<Resume> findWithStaleSkillSets(@Param("version") int version, Pageable pageable);
+    
+    // Find ids of permanent resumes in a status whose fields came from another parser or taxonomy version, in id order after afterId
+    @Query("SELECT r.id FROM Resume r WHERE r.temporaryOnly = false AND r.processingStatus = :status " +
+           "AND (r.parserVersion IS NULL OR r.parserVersion <> :version " +
+           "OR r.parserTaxonomyVersion IS NULL OR r.parserTaxonomyVersion <> :taxonomyVersion) " +
+           "AND r.id > :afterId ORDER BY r.id")
+    List<Long> findIdsWithStaleParse(@Param("status") ProcessingStatus status, @Param("version") int version,
+                                     @Param("taxonomyVersion") int taxonomyVersion,
+                                     @Param("afterId") long afterId, Pageable pageable);
+    
+    // Count permanent resumes in a status whose fields came from another parser or taxonomy version
+    @Query("SELECT COUNT(r) FROM Resume r WHERE r.temporaryOnly = false AND r.processingStatus = :status " +
+           "AND (r.parserVersion IS NULL OR r.parserVersion <> :version " +
+           "OR r.parserTaxonomyVersion IS NULL OR r.parserTaxonomyVersion <> :taxonomyVersion)")
+    long countWithStaleParse(@Param("status") ProcessingStatus status, @Param("version") int version,
+                             @Param("taxonomyVersion") int taxonomyVersion);
+    
     // Delete expired resumes
     void deleteByExpiresAtBefore(LocalDateTime dateTime);
 }
\ No newline at end of file
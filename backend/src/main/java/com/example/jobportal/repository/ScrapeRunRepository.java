@@ -0,0 +1,28 @@
+package com.example.jobportal.repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.example.jobportal.model.CompanySource;
+import com.example.jobportal.model.ScrapeRun;
+
+@Repository
+public interface ScrapeRunRepository extends JpaRepository<ScrapeRun, Long> {
+    
+    // Find runs of a source, newest first
+    List<ScrapeRun> findBySourceOrderByStartedAtDesc(CompanySource source);
+    
+    // Delete runs older than the retention cutoff that no longer have snapshots
+    @Modifying
+    @Transactional
+    @Query("DELETE FROM ScrapeRun sr WHERE sr.startedAt < :cutoff " +
+           "AND NOT EXISTS (SELECT ps.id FROM PageSnapshot ps WHERE ps.run = sr)")
+    int deleteStartedBefore(@Param("cutoff") LocalDateTime cutoff);
+}
@@ -0,0 +1,69 @@
+package com.example.jobportal.repository;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.example.jobportal.model.CompanySource;
+import com.example.jobportal.model.ScrapeTask;
+import com.example.jobportal.model.ScrapeTaskStatus;
+import com.example.jobportal.model.ScrapeTaskType;
+
+@Repository
+public interface ScrapeTaskRepository extends JpaRepository<ScrapeTask, Long> {
+    
+    // Lock due pending tasks and running tasks whose worker lease expired, skipping rows locked by other nodes
+    @Query(value = "SELECT t.id FROM scrape_tasks t " +
+                   "WHERE (t.status = 'PENDING' AND t.next_attempt_at <= :now) " +
+                   "OR (t.status = 'RUNNING' AND t.locked_until < :now) " +
+                   "ORDER BY t.next_attempt_at " +
+                   "LIMIT :limit FOR UPDATE SKIP LOCKED", nativeQuery = true)
+    List<Long> lockDueTaskIds(@Param("now") LocalDateTime now, @Param("limit") int limit);
+    
+    // Hand locked tasks to a worker and count the attempt
+    @Modifying(clearAutomatically = true)
+    @Query("UPDATE ScrapeTask t SET t.status = :running, t.lockedBy = :owner, t.lockedUntil = :lockedUntil, " +
+           "t.attempts = t.attempts + 1 WHERE t.id IN :ids")
+    int assignWorker(@Param("ids") List<Long> ids, @Param("running") ScrapeTaskStatus running,
+                     @Param("owner") String owner, @Param("lockedUntil") LocalDateTime lockedUntil);
+    
+    // Find tasks by ID together with their source
+    @Query("SELECT t FROM ScrapeTask t JOIN FETCH t.source WHERE t.id IN :ids")
+    List<ScrapeTask> findWithSourceByIdIn(@Param("ids") Collection<Long> ids);
+    
+    // Check for an open source task
+    boolean existsBySourceAndTypeAndStatusIn(CompanySource source, ScrapeTaskType type,
+                                             Collection<ScrapeTaskStatus> statuses);
+    
+    // Check for an open task for a URL
+    boolean existsBySourceAndTypeAndUrlAndStatusIn(CompanySource source, ScrapeTaskType type, String url,
+                                                   Collection<ScrapeTaskStatus> statuses);
+    
+    // Find tasks by status, newest first
+    List<ScrapeTask> findByStatusOrderByCreatedAtDesc(ScrapeTaskStatus status);
+    
+    // Count tasks by status
+    long countByStatus(ScrapeTaskStatus status);
+    
+    // Close pending tasks of a type for a source in one statement
+    @Modifying
+    @Transactional
+    @Query("UPDATE ScrapeTask t SET t.status = :done, t.finishedAt = :now " +
+           "WHERE t.source = :source AND t.type = :type AND t.status = :pending")
+    int closePending(@Param("source") CompanySource source, @Param("type") ScrapeTaskType type,
+                     @Param("pending") ScrapeTaskStatus pending, @Param("done") ScrapeTaskStatus done,
+                     @Param("now") LocalDateTime now);
+    
+    // Delete tasks that finished before the cutoff
+    @Modifying
+    @Transactional
+    @Query("DELETE FROM ScrapeTask t WHERE t.status = :done AND t.finishedAt < :cutoff")
+    int deleteFinishedBefore(@Param("done") ScrapeTaskStatus done, @Param("cutoff") LocalDateTime cutoff);
+}
@@ -0,0 +1,20 @@
+package com.example.jobportal.repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import com.example.jobportal.model.ScrapedJob;
+import com.example.jobportal.model.ScrapedJobChange;
+
+@Repository
+public interface ScrapedJobChangeRepository extends JpaRepository<ScrapedJobChange, Long> {
+    
+    // Find the change history of a scraped job, newest first
+    List<ScrapedJobChange> findByScrapedJobOrderByDetectedAtDesc(ScrapedJob scrapedJob);
+    
+    // Find changes detected since a point in time, newest first
+    List<ScrapedJobChange> findByDetectedAtAfterOrderByDetectedAtDesc(LocalDateTime since);
+}
@@ -1,13 +1,16 @@
 package com.example.jobportal.repository;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
 import com.example.jobportal.model.CompanySource;
 import com.example.jobportal.model.ScrapedJob;
@@ -18,6 +21,25 @@ public interface ScrapedJobRepository extends JpaRepository<ScrapedJob, Long> {
     // Find by source and content hash
     Optional<ScrapedJob> findBySourceAndContentHash(CompanySource source, String contentHash);
     
+    // Find the jobs of a source matching any of the given content hashes
+    List<ScrapedJob> findBySourceAndContentHashIn(CompanySource source, Collection<String> contentHashes);
+    
+    // Find the jobs of a source matching any of the given external IDs, with their imported job
+    @Query("SELECT sj FROM ScrapedJob sj LEFT JOIN FETCH sj.importedJob " +
+           "WHERE sj.source = :source AND sj.externalId IN :externalIds")
+    List<ScrapedJob> findWithImportedJobBySourceAndExternalIdIn(@Param("source") CompanySource source,
+                                                                @Param("externalIds") Collection<String> externalIds);
+    
+    // Find the jobs of a source matching any of the given URLs, with their imported job
+    @Query("SELECT sj FROM ScrapedJob sj LEFT JOIN FETCH sj.importedJob " +
+           "WHERE sj.source = :source AND sj.externalUrl IN :externalUrls")
+    List<ScrapedJob> findWithImportedJobBySourceAndExternalUrlIn(@Param("source") CompanySource source,
+                                                                 @Param("externalUrls") Collection<String> externalUrls);
+    
+    // Find jobs by ID together with their source
+    @Query("SELECT sj FROM ScrapedJob sj JOIN FETCH sj.source WHERE sj.id IN :ids")
+    List<ScrapedJob> findWithSourceByIdIn(@Param("ids") Collection<Long> ids);
+    
     // Find by source and external ID
     Optional<ScrapedJob> findBySourceAndExternalId(CompanySource source, String externalId);
     
@@ -49,6 +71,18 @@ public interface ScrapedJobRepository extends JpaRepository<ScrapedJob, Long> {
     // Find jobs with changes
     List<ScrapedJob> findByHasChangesTrue();
     
+    // Refresh last seen time for all active jobs of a source in one statement
+    @Modifying
+    @Transactional
+    @Query("UPDATE ScrapedJob sj SET sj.lastSeenAt = :seenAt WHERE sj.source = :source AND sj.active = true")
+    int touchActiveJobs(@Param("source") CompanySource source, @Param("seenAt") LocalDateTime seenAt);
+    
+    // Refresh last seen time for specific jobs in one statement
+    @Modifying
+    @Transactional
+    @Query("UPDATE ScrapedJob sj SET sj.lastSeenAt = :seenAt WHERE sj.id IN :ids")
+    int touchJobs(@Param("ids") Collection<Long> ids, @Param("seenAt") LocalDateTime seenAt);
+    
     // Find recent jobs
     @Query("SELECT sj FROM ScrapedJob sj WHERE sj.lastSeenAt >= :since ORDER BY sj.lastSeenAt DESC")
     List<ScrapedJob> findRecentJobs(@Param("since") LocalDateTime since);
@@ -3,7 +3,10 @@ package com.example.jobportal.repository;
 import java.util.List;
 import java.util.Optional;
 
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import com.example.jobportal.model.User;
@@ -28,4 +31,8 @@ public interface UserRepository extends JpaRepository<User, Long> {
     Long countByRole(UserRole role);
     
     Long countByActive(boolean active);
+    
+    // Find users whose skill sets were built with another taxonomy version, or never built
+    @Query("SELECT u FROM User u WHERE u.skillTaxonomyVersion IS NULL OR u.skillTaxonomyVersion <> :version")
+    List<User> findWithStaleSkillSets(@Param("version") int version, Pageable pageable);
 }
\ No newline at end of file
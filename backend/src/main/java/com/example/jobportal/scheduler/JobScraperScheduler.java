@@ -1,16 +1,21 @@
 package com.example.jobportal.scheduler;
 
-import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Map;
+import java.util.Optional;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.scheduling.annotation.EnableScheduling;
 import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Component;
 
 import com.example.jobportal.model.CompanySource;
 import com.example.jobportal.repository.CompanySourceRepository;
+import com.example.jobportal.service.ScrapeLeaseService;
+import com.example.jobportal.service.ScrapeTaskQueue;
+import com.example.jobportal.service.ScrapeTaskWorker;
+import com.example.jobportal.service.SnapshotArchiveService;
 import com.example.jobportal.service.WebScraperService;
 
 import lombok.extern.slf4j.Slf4j;
@@ -26,21 +31,44 @@ public class JobScraperScheduler {
     @Autowired
     private WebScraperService webScraperService;
     
+    @Autowired
+    private ScrapeLeaseService scrapeLeaseService;
+    
+    @Autowired
+    private SnapshotArchiveService snapshotArchiveService;
+    
+    @Autowired
+    private ScrapeTaskQueue scrapeTaskQueue;
+    
+    @Autowired
+    private ScrapeTaskWorker scrapeTaskWorker;
+    
+    @Value("${scraper.snapshot.retention-days:30}")
+    private int snapshotRetentionDays;
+    
+    @Value("${scraper.delay-between-requests:5000}")
+    private long delayBetweenSources;
+    
+    @Value("${scraper.tasks.retention-days:7}")
+    private int taskRetentionDays;
+    
     /**
-     * Run every 30 minutes to check for sources that need scraping
+     * Run every 30 minutes to claim and scrape sources that are due.
+     * Sources are leased one at a time, just before each is scraped, so several replicas can
+     * share the work without a lease running out while its source waits behind others.
      */
     @Scheduled(fixedDelay = 1800000) // 30 minutes
     public void scrapeJobs() {
-        log.info("Starting scheduled job scraping");
+        log.info("Starting scheduled job scraping on node {}", scrapeLeaseService.getNodeId());
         
         try {
-            // Find sources due for scraping
-            List<CompanySource> sourcesToScrape = companySourceRepository
-                    .findSourcesDueForScraping(LocalDateTime.now());
-            
-            log.info("Found {} sources to scrape", sourcesToScrape.size());
+            int claimedTotal = 0;
+            Optional<CompanySource> claimed = scrapeLeaseService.claimNextDueSource();
             
-            for (CompanySource source : sourcesToScrape) {
+            while (claimed.isPresent()) {
+                CompanySource source = claimed.get();
+                claimedTotal++;
+                
                 try {
                     log.info("Scraping jobs from: {}", source.getCompanyName());
                     
@@ -55,19 +83,44 @@ public class JobScraperScheduler {
                                 source.getCompanyName(), result.get("error"));
                     }
                     
+                    // Unexpected errors keep the lease, so the source is retried once it expires
+                    scrapeLeaseService.release(source);
+                    
                     // Add delay between sources to be polite
-                    Thread.sleep(5000); // 5 seconds
+                    Thread.sleep(delayBetweenSources);
                     
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    return;
                 } catch (Exception e) {
                     log.error("Error scraping source {}: ", source.getCompanyName(), e);
                 }
+                
+                claimed = scrapeLeaseService.claimNextDueSource();
             }
             
+            log.info("Scraped {} sources in this run", claimedTotal);
+            
         } catch (Exception e) {
             log.error("Error in job scraping scheduler: ", e);
         }
     }
     
+    /**
+     * Run every minute to work off queued retries whose backoff has elapsed
+     */
+    @Scheduled(fixedDelay = 60000) // 1 minute
+    public void processScrapeTasks() {
+        try {
+            int processed = scrapeTaskWorker.processDueTasks();
+            if (processed > 0) {
+                log.info("Processed {} queued scrape tasks", processed);
+            }
+        } catch (Exception e) {
+            log.error("Error in scrape task scheduler: ", e);
+        }
+    }
+    
     /**
      * Run daily to clean up old inactive jobs
      */
@@ -110,4 +163,31 @@ public class JobScraperScheduler {
             log.error("Error in duplicate detection scheduler: ", e);
         }
     }
-}
\ No newline at end of file
+    
+    /**
+     * Run daily to purge page snapshots past their retention period
+     */
+    @Scheduled(cron = "0 0 5 * * *") // Every day at 5 AM
+    public void purgeSnapshots() {
+        log.info("Starting snapshot purge");
+        
+        try {
+            snapshotArchiveService.purgeExpired(snapshotRetentionDays);
+        } catch (Exception e) {
+            log.error("Error in snapshot purge scheduler: ", e);
+        }
+    }
+    
+    /**
+     * Run daily to delete completed scrape tasks; dead tasks are kept for review
+     */
+    @Scheduled(cron = "0 30 5 * * *") // Every day at 5:30 AM
+    public void purgeScrapeTasks() {
+        try {
+            int purged = scrapeTaskQueue.purgeFinished(taskRetentionDays);
+            log.info("Purged {} completed scrape tasks", purged);
+        } catch (Exception e) {
+            log.error("Error in scrape task purge scheduler: ", e);
+        }
+    }
+}
@@ -0,0 +1,38 @@
+package com.example.jobportal.scheduler;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.EnableScheduling;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import com.example.jobportal.service.ResumeProcessingService;
+
+import lombok.extern.slf4j.Slf4j;
+
+@Component
+@EnableScheduling
+@Slf4j
+public class ResumeProcessingScheduler {
+    
+    @Autowired
+    private ResumeProcessingService resumeProcessingService;
+    
+    @Value("${resume.processing.recovery-batch-size:50}")
+    private int recoveryBatchSize;
+    
+    /**
+     * Run every minute to pick up resumes left pending by a full queue, a restart or a stalled worker
+     */
+    @Scheduled(fixedDelay = 60000) // 1 minute
+    public void recoverPendingResumes() {
+        try {
+            int dispatched = resumeProcessingService.recoverPending(recoveryBatchSize);
+            if (dispatched > 0) {
+                log.info("Re-dispatched {} pending resumes", dispatched);
+            }
+        } catch (Exception e) {
+            log.error("Error in resume processing scheduler: ", e);
+        }
+    }
+}
@@ -0,0 +1,221 @@
+package com.example.jobportal.service;
+
+import java.net.MalformedURLException;
+import java.net.URI;
+import java.util.Arrays;
+import java.util.List;
+import java.util.UUID;
+import java.util.function.Function;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import org.jsoup.nodes.Document;
+import org.jsoup.nodes.Element;
+import org.jsoup.select.Elements;
+import org.jsoup.select.Evaluator;
+import org.jsoup.select.QueryParser;
+
+import com.example.jobportal.model.CompanySource;
+import com.example.jobportal.model.ScrapedJob;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Extraction plan for one version of a source's selectors.
+ * Selectors are parsed into jsoup evaluators and the career page URL is resolved once,
+ * so extracting an element does no string parsing. Instances are immutable and thread safe.
+ */
+@Slf4j
+public final class CompiledSourceExtractor {
+
+    // Common patterns for job IDs in URLs; an ID must be a whole path segment or parameter value,
+    // so slugs such as /jobs/senior-developer are not cut down to "senior"
+    private static final List<Pattern> URL_ID_PATTERNS = List.of(
+            Pattern.compile("job[/-]?id[=/-]([a-zA-Z0-9]+)(?=[/?#&]|$)"),
+            Pattern.compile("job[s]?/([a-zA-Z0-9]+)(?=[/?#]|$)"),
+            Pattern.compile("posting[s]?/([a-zA-Z0-9]+)(?=[/?#]|$)"),
+            Pattern.compile("id=([a-zA-Z0-9]+)(?=[&#]|$)")
+    );
+
+    private static final Pattern NON_ALPHANUMERIC = Pattern.compile("[^a-zA-Z0-9]");
+
+    private static final Evaluator ANY_LINK = QueryParser.parse("a[href]");
+
+    private final List<String> selectorKey;
+
+    private final Evaluator jobList;
+    private final Evaluator title;
+    private final Evaluator location;
+    private final Evaluator jobType;
+    private final Evaluator salary;
+    private final Evaluator jobUrl;
+    private final Evaluator description;
+    private final Evaluator nextPage;
+    private final URI baseUrl;
+
+    private CompiledSourceExtractor(CompanySource source) {
+        this.selectorKey = selectorKey(source);
+        this.jobList = compile(source.getJobListSelector());
+        this.title = compile(source.getJobTitleSelector());
+        this.location = compile(source.getJobLocationSelector());
+        this.jobType = compile(source.getJobTypeSelector());
+        this.salary = compile(source.getJobSalarySelector());
+        this.jobUrl = compile(source.getJobUrlSelector());
+        this.description = compile(source.getJobDescriptionSelector());
+        this.nextPage = compile(source.getNextPageSelector());
+        this.baseUrl = resolveBaseUrl(source.getCareerPageUrl());
+    }
+
+    /**
+     * Compile a source's selectors, failing fast on selectors jsoup cannot parse
+     */
+    public static CompiledSourceExtractor compile(CompanySource source) {
+        return new CompiledSourceExtractor(source);
+    }
+
+    /**
+     * Whether this plan was compiled from the source's current selectors and career page URL
+     */
+    public boolean isCurrentFor(CompanySource source) {
+        return selectorKey.equals(selectorKey(source));
+    }
+
+    public boolean hasNextPageSelector() {
+        return nextPage != null;
+    }
+
+    public Elements jobElements(Document page) {
+        return jobList != null ? page.select(jobList) : new Elements();
+    }
+
+    /**
+     * Absolute URL of the next listing page, or null when there is no next link
+     */
+    public String nextPageUrl(Document page) {
+        if (nextPage == null) {
+            return null;
+        }
+        Element link = page.selectFirst(nextPage);
+        if (link != null && !link.hasAttr("href")) {
+            link = link.selectFirst(ANY_LINK);
+        }
+        return link != null ? link.absUrl("href") : null;
+    }
+
+    /**
+     * Extract a job from one listing element, loading the detail page only when the
+     * description is not on the listing. Returns null when the element has no title.
+     */
+    public ScrapedJob extract(Element jobElement, Function<String, Document> detailPageLoader) {
+        ScrapedJob job = new ScrapedJob();
+
+        job.setTitle(text(jobElement, title));
+        job.setLocation(text(jobElement, location));
+        job.setJobType(text(jobElement, jobType));
+        job.setSalary(text(jobElement, salary));
+
+        if (jobUrl != null) {
+            Element urlElement = jobElement.selectFirst(jobUrl);
+            if (urlElement != null) {
+                String url = absolute(urlElement.attr("href"));
+                job.setExternalUrl(url);
+                job.setExternalId(extractIdFromUrl(url));
+            }
+        }
+
+        if (description != null) {
+            Element descElement = jobElement.selectFirst(description);
+            if (descElement != null) {
+                job.setDescription(descElement.text().trim());
+            } else if (job.getExternalUrl() != null) {
+                Document detailDoc = detailPageLoader.apply(job.getExternalUrl());
+                if (detailDoc != null) {
+                    job.setDescription(text(detailDoc, description));
+                }
+            }
+        }
+
+        if (job.getTitle() == null || job.getTitle().isEmpty()) {
+            return null;
+        }
+        return job;
+    }
+
+    /**
+     * Description from a fetched detail page, or null when the selector does not match
+     */
+    public String detailDescription(Document detailPage) {
+        return text(detailPage, description);
+    }
+
+    /**
+     * Job ID embedded in a posting URL, falling back to the last path segment.
+     * The result is a best guess for display; jobs extracted with selectors are identified by their URL.
+     */
+    public static String extractIdFromUrl(String url) {
+        for (Pattern pattern : URL_ID_PATTERNS) {
+            Matcher matcher = pattern.matcher(url);
+            if (matcher.find()) {
+                return matcher.group(1);
+            }
+        }
+
+        String[] parts = url.split("/");
+        if (parts.length > 0) {
+            return NON_ALPHANUMERIC.matcher(parts[parts.length - 1]).replaceAll("");
+        }
+        return UUID.randomUUID().toString();
+    }
+
+    private String text(Element root, Evaluator evaluator) {
+        if (evaluator == null) {
+            return null;
+        }
+        Element element = root.selectFirst(evaluator);
+        return element != null ? element.text().trim() : null;
+    }
+
+    private String absolute(String url) {
+        if (url.startsWith("http") || baseUrl == null) {
+            return url;
+        }
+        try {
+            return baseUrl.resolve(url).toURL().toString();
+        } catch (MalformedURLException | IllegalArgumentException e) {
+            log.error("Error creating absolute URL: ", e);
+            return url;
+        }
+    }
+
+    private static Evaluator compile(String selector) {
+        return selector != null && !selector.isBlank() ? QueryParser.parse(selector) : null;
+    }
+
+    private static URI resolveBaseUrl(String careerPageUrl) {
+        if (careerPageUrl == null) {
+            return null;
+        }
+        try {
+            URI uri = URI.create(careerPageUrl);
+            uri.toURL();
+            // URI.resolve drops the slash between host and a relative path when the base has no path
+            return uri.getRawPath() == null || uri.getRawPath().isEmpty() ? uri.resolve("/") : uri;
+        } catch (MalformedURLException | IllegalArgumentException e) {
+            log.error("Invalid career page URL {}: {}", careerPageUrl, e.getMessage());
+            return null;
+        }
+    }
+
+    private static List<String> selectorKey(CompanySource source) {
+        return Arrays.asList(
+                source.getCareerPageUrl(),
+                source.getJobListSelector(),
+                source.getJobTitleSelector(),
+                source.getJobLocationSelector(),
+                source.getJobTypeSelector(),
+                source.getJobSalarySelector(),
+                source.getJobUrlSelector(),
+                source.getJobDescriptionSelector(),
+                source.getNextPageSelector());
+    }
+}
@@ -0,0 +1,119 @@
+package com.example.jobportal.service;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import com.example.jobportal.model.ApprovalStatus;
+import com.example.jobportal.model.Job;
+
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.PostRemove;
+import jakarta.persistence.PostUpdate;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Version of the set of jobs candidates are matched against. It moves whenever a job that may be
+ * in the catalog is written, so results cached under an older version are simply never read again.
+ * The counter lives in Redis so every node agrees on it; without Redis each node counts locally.
+ * Hibernate obtains the listener from Spring, like {@link SkillSetListener}.
+ */
+@Slf4j
+@Component
+public class JobCatalogVersion {
+
+    private static final String KEY = "jobs:catalog-version";
+
+    @Autowired(required = false)
+    private RedisTemplate<String, Object> redisTemplate;
+
+    @Value("${matching.cache.version-check-millis:1000}")
+    private long versionCheckMillis;
+
+    private final AtomicLong localVersion = new AtomicLong();
+
+    // Set when a change could not be counted in Redis, so it is counted once Redis is back
+    private volatile boolean redisBehind;
+
+    private volatile Snapshot snapshot;
+
+    private record Snapshot(String version, long expiresAt) {}
+
+    /**
+     * The current version. Changes made on other nodes are seen within the check interval.
+     */
+    public String current() {
+        long now = System.nanoTime();
+        Snapshot current = snapshot;
+        if (current != null && current.expiresAt() - now > 0) {
+            return current.version();
+        }
+        String version = read();
+        snapshot = new Snapshot(version, now + TimeUnit.MILLISECONDS.toNanos(versionCheckMillis));
+        return version;
+    }
+
+    public void bump() {
+        localVersion.incrementAndGet();
+        if (redisTemplate != null) {
+            try {
+                redisTemplate.opsForValue().increment(KEY);
+            } catch (RuntimeException e) {
+                redisBehind = true;
+                log.warn("Could not bump the job catalog version in Redis: {}", e.getMessage());
+            }
+        }
+        snapshot = null;
+    }
+
+    @PostPersist
+    public void afterPersist(Job job) {
+        // New jobs wait for approval before they can be matched
+        if (job.getApprovalStatus() == ApprovalStatus.APPROVED) {
+            bumpAfterCommit();
+        }
+    }
+
+    @PostUpdate
+    @PostRemove
+    public void afterChange(Job job) {
+        bumpAfterCommit();
+    }
+
+    // Bumping before the commit would let a concurrent match cache the old catalog under the new version
+    private void bumpAfterCommit() {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            bump();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                bump();
+            }
+        });
+    }
+
+    private String read() {
+        if (redisTemplate != null) {
+            try {
+                if (redisBehind) {
+                    redisTemplate.opsForValue().increment(KEY);
+                    redisBehind = false;
+                }
+                Object value = redisTemplate.opsForValue().get(KEY);
+                return "r" + (value != null ? value : 0);
+            } catch (RuntimeException e) {
+                log.warn("Could not read the job catalog version from Redis: {}", e.getMessage());
+            }
+        }
+        // Distinct from the Redis versions, so the two never share cache entries
+        return "l" + localVersion.get();
+    }
+}
@@ -0,0 +1,173 @@
+package com.example.jobportal.service;
+
+import java.io.IOException;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.LongSupplier;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Circuit breaker for calls to the ML service. It opens when too many of the last calls failed
+ * (timeouts, connection errors and 5xx responses). While open, calls are refused at once instead of
+ * waiting on a service that is down. After the open period a few trial calls are let through, and
+ * the circuit closes again if they succeed.
+ */
+@Component
+@Slf4j
+public class MLCircuitBreaker {
+
+    public enum State {
+        CLOSED, OPEN, HALF_OPEN
+    }
+
+    /**
+     * Thrown instead of calling the ML service while the circuit is open
+     */
+    public static class CallNotPermittedException extends IOException {
+        public CallNotPermittedException(String message) {
+            super(message);
+        }
+    }
+
+    @Value("${ml-service.circuit-breaker.window-size:20}")
+    private int windowSize = 20;
+
+    @Value("${ml-service.circuit-breaker.minimum-calls:10}")
+    private int minimumCalls = 10;
+
+    @Value("${ml-service.circuit-breaker.failure-rate-percent:50}")
+    private int failureRatePercent = 50;
+
+    @Value("${ml-service.circuit-breaker.open-seconds:30}")
+    private long openSeconds = 30;
+
+    @Value("${ml-service.circuit-breaker.half-open-calls:3}")
+    private int halfOpenCalls = 3;
+
+    private LongSupplier clock = System::nanoTime;
+
+    private State state = State.CLOSED;
+
+    // Outcomes of the last calls while closed, true for a failure
+    private boolean[] window;
+    private int windowIndex;
+    private int windowCount;
+    private int windowFailures;
+
+    private long openedAt;
+    private int trialCallsStarted;
+    private int trialCallsSucceeded;
+
+    private final LongAdder notPermitted = new LongAdder();
+
+    /**
+     * Whether a call may go ahead now. Every permitted call must report back through
+     * {@link #onSuccess()} or {@link #onFailure()}.
+     */
+    public synchronized boolean tryAcquirePermission() {
+        if (state == State.OPEN) {
+            if (clock.getAsLong() - openedAt < TimeUnit.SECONDS.toNanos(openSeconds)) {
+                notPermitted.increment();
+                return false;
+            }
+            transitionTo(State.HALF_OPEN);
+        }
+        if (state == State.HALF_OPEN) {
+            if (trialCallsStarted >= halfOpenCalls) {
+                notPermitted.increment();
+                return false;
+            }
+            trialCallsStarted++;
+        }
+        return true;
+    }
+
+    public synchronized void onSuccess() {
+        if (state == State.HALF_OPEN) {
+            if (++trialCallsSucceeded >= halfOpenCalls) {
+                transitionTo(State.CLOSED);
+            }
+        } else if (state == State.CLOSED) {
+            record(false);
+        }
+    }
+
+    public synchronized void onFailure() {
+        if (state == State.HALF_OPEN) {
+            transitionTo(State.OPEN);
+        } else if (state == State.CLOSED) {
+            record(true);
+            if (windowCount >= minimumCalls && windowFailures * 100 >= failureRatePercent * windowCount) {
+                transitionTo(State.OPEN);
+            }
+        }
+    }
+
+    /**
+     * Hand back the permission of a call that never reached the ML service, such as one turned away
+     * by the bulkhead, so it does not use up a trial call
+     */
+    public synchronized void releasePermission() {
+        if (state == State.HALF_OPEN && trialCallsStarted > 0) {
+            trialCallsStarted--;
+        }
+    }
+
+    public synchronized State state() {
+        return state;
+    }
+
+    public synchronized Map<String, Object> snapshot() {
+        Map<String, Object> snapshot = new LinkedHashMap<>();
+        snapshot.put("state", state);
+        snapshot.put("callsInWindow", windowCount);
+        snapshot.put("failuresInWindow", windowFailures);
+        snapshot.put("failureRatePercent", windowCount > 0 ? windowFailures * 100 / windowCount : 0);
+        snapshot.put("notPermittedCalls", notPermitted.sum());
+        if (state == State.OPEN) {
+            long remaining = TimeUnit.SECONDS.toNanos(openSeconds) - (clock.getAsLong() - openedAt);
+            snapshot.put("retryInSeconds", Math.max(0, TimeUnit.NANOSECONDS.toSeconds(remaining)));
+        }
+        return snapshot;
+    }
+
+    private void record(boolean failure) {
+        if (window == null) {
+            window = new boolean[windowSize];
+        }
+        if (windowCount == windowSize) {
+            if (window[windowIndex]) {
+                windowFailures--;
+            }
+        } else {
+            windowCount++;
+        }
+        window[windowIndex] = failure;
+        if (failure) {
+            windowFailures++;
+        }
+        windowIndex = (windowIndex + 1) % windowSize;
+    }
+
+    private void transitionTo(State next) {
+        log.warn("ML service circuit breaker {} -> {}", state, next);
+        state = next;
+        trialCallsStarted = 0;
+        trialCallsSucceeded = 0;
+        if (next == State.OPEN) {
+            openedAt = clock.getAsLong();
+        }
+        if (next != State.HALF_OPEN) {
+            // Start counting afresh after every open period
+            windowIndex = 0;
+            windowCount = 0;
+            windowFailures = 0;
+        }
+    }
+}
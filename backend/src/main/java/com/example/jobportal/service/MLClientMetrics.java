@@ -0,0 +1,44 @@
+package com.example.jobportal.service;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.springframework.stereotype.Component;
+
+/**
+ * In-process counters for calls to the ML service, kept per endpoint path
+ */
+@Component
+public class MLClientMetrics {
+
+    public enum Outcome {
+        SUCCESS, CLIENT_ERROR, SERVER_ERROR, TIMEOUT, FAILED, REJECTED, CIRCUIT_OPEN
+    }
+
+    private final OutcomeTimer<Outcome> byEndpoint = new OutcomeTimer<>(Outcome.class);
+    private final LongAdder inFlight = new LongAdder();
+
+    public void requestStarted() {
+        inFlight.increment();
+    }
+
+    public void requestFinished(String endpoint, Outcome outcome, long elapsedNanos) {
+        inFlight.decrement();
+        byEndpoint.record(endpoint, outcome, elapsedNanos);
+    }
+
+    public static Outcome outcomeOf(int statusCode) {
+        if (statusCode >= 500) {
+            return Outcome.SERVER_ERROR;
+        }
+        return statusCode >= 400 ? Outcome.CLIENT_ERROR : Outcome.SUCCESS;
+    }
+
+    public Map<String, Object> snapshot() {
+        Map<String, Object> snapshot = new LinkedHashMap<>();
+        snapshot.put("inFlight", inFlight.sum());
+        snapshot.put("endpoints", byEndpoint.snapshot());
+        return snapshot;
+    }
+}
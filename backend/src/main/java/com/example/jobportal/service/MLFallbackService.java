@@ -0,0 +1,79 @@
+package com.example.jobportal.service;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.stereotype.Service;
+
+import jakarta.annotation.PostConstruct;
+
+/**
+ * Answers for job match requests while the ML service is unavailable: the last matches it returned
+ * for the member, or else the in-process {@link NativeJobMatcher}. Both come back in the ML service's
+ * response shape, marked as degraded.
+ */
+@Service
+public class MLFallbackService {
+
+    @Autowired(required = false)
+    private RedisTemplate<String, Object> redisTemplate;
+
+    @Autowired
+    private NativeJobMatcher nativeJobMatcher;
+
+    @Value("${ml-service.fallback.local-max-entries:500}")
+    private int localMaxEntries;
+
+    @Value("${ml-service.fallback.ttl-minutes:60}")
+    private int ttlMinutes;
+
+    private TieredCache lastMatches;
+
+    @PostConstruct
+    public void init() {
+        lastMatches = new TieredCache(redisTemplate, "ml:last-matches:", localMaxEntries, Duration.ofMinutes(ttlMinutes));
+    }
+
+    public void rememberMatches(String memberId, String mode, int limit, Map<String, Object> response) {
+        lastMatches.put(memberId + ":" + mode + ":" + limit, response);
+    }
+
+    /**
+     * The last matches the ML service returned for these parameters, or null
+     */
+    public Map<String, Object> lastKnownMatches(String memberId, String mode, int limit) {
+        Map<String, Object> cached = lastMatches.get(memberId + ":" + mode + ":" + limit);
+        return cached != null ? degraded(cached, "cache") : null;
+    }
+
+    /**
+     * Last known matches for a raw ML match request body, using the ML service's defaults
+     */
+    public Map<String, Object> lastKnownMatches(Map<String, Object> request) {
+        Object memberId = request.get("member_id");
+        Object mode = request.getOrDefault("mode", "graduate_friendly");
+        if (memberId == null || mode == null || !(request.getOrDefault("top_k", 10) instanceof Number limit)) {
+            return null;
+        }
+        return lastKnownMatches(memberId.toString(), mode.toString(), limit.intValue());
+    }
+
+    /**
+     * Matches from the in-process matcher for a CV profile, with the fit rules of the requested mode
+     */
+    public Map<String, Object> nativeMatches(Map<String, Object> cvProfile, String mode, int limit) {
+        return degraded(nativeJobMatcher.match(nativeJobMatcher.candidate(cvProfile), mode, limit), "native");
+    }
+
+    // Cached values are shared, so mark a copy
+    private static Map<String, Object> degraded(Map<String, Object> response, String source) {
+        Map<String, Object> copy = new LinkedHashMap<>(response);
+        copy.put("degraded", true);
+        copy.put("source", source);
+        return copy;
+    }
+}
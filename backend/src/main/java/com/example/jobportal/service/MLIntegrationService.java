@@ -1,11 +1,15 @@
 package com.example.jobportal.service;
 
+import java.nio.file.Path;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.beans.factory.annotation.Value;
-import org.springframework.core.io.ByteArrayResource;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.core.io.Resource;
 import org.springframework.http.HttpEntity;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpMethod;
@@ -27,7 +31,10 @@ public class MLIntegrationService {
     @Value("${ml-service.url:http://localhost:8000}")
     private String mlServiceUrl;
     
-    private final RestTemplate restTemplate = new RestTemplate();
+    @Autowired
+    @Qualifier("mlRestTemplate")
+    private RestTemplate restTemplate;
+    
     private final ObjectMapper objectMapper = new ObjectMapper();
     
     // Response classes
@@ -83,17 +90,29 @@ public class MLIntegrationService {
      * Upload CV to ML service for parsing and analysis
      */
     public CVParseResponse uploadCVToMLService(MultipartFile file, String sessionId) throws Exception {
+        // Streamed from the upload's temp file rather than read into memory
+        return uploadCV(file.getResource(), sessionId);
+    }
+    
+    /**
+     * Upload a stored CV file to ML service for parsing and analysis
+     */
+    public CVParseResponse uploadCVToMLService(Path file, String fileName, String sessionId) throws Exception {
+        return uploadCV(new FileSystemResource(file) {
+            @Override
+            public String getFilename() {
+                return fileName;
+            }
+        }, sessionId);
+    }
+    
+    private CVParseResponse uploadCV(Resource file, String sessionId) throws Exception {
         try {
             // Prepare multipart request
             MultiValueMap<String, Object> body = new LinkedMultiValueMap<>();
             
             // Add file
-            body.add("file", new ByteArrayResource(file.getBytes()) {
-                @Override
-                public String getFilename() {
-                    return file.getOriginalFilename();
-                }
-            });
+            body.add("file", file);
             
             // Add session ID
             body.add("session_id", sessionId);
@@ -0,0 +1,65 @@
+package com.example.jobportal.service;
+
+import java.time.Duration;
+import java.util.Map;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.stereotype.Service;
+
+import jakarta.annotation.PostConstruct;
+
+/**
+ * ML job match responses by member, mode, result count and {@link JobCatalogVersion}, so repeat
+ * views of the same matches skip the inference pass. Members are keyed by the ML member id, which
+ * the ML service derives from the CV content.
+ */
+@Service
+public class MatchResultCache {
+
+    @Autowired(required = false)
+    private RedisTemplate<String, Object> redisTemplate;
+
+    @Autowired
+    private JobCatalogVersion jobCatalogVersion;
+
+    @Value("${matching.cache.local-max-entries:1000}")
+    private int localMaxEntries;
+
+    @Value("${matching.cache.ttl-minutes:30}")
+    private int ttlMinutes;
+
+    private TieredCache matches;
+
+    @PostConstruct
+    public void init() {
+        matches = new TieredCache(redisTemplate, "ml:matches:", localMaxEntries, Duration.ofMinutes(ttlMinutes));
+    }
+
+    /**
+     * Read before the ML call and passed to {@link #put}, so a job approved during the call does not
+     * leave the older matches cached under the new version
+     */
+    public String catalogVersion() {
+        return jobCatalogVersion.current();
+    }
+
+    public Map<String, Object> get(String memberId, String mode, int limit, String catalogVersion) {
+        return matches.get(key(memberId, mode, limit, catalogVersion));
+    }
+
+    public void put(String memberId, String mode, int limit, String catalogVersion, Map<String, Object> response) {
+        matches.put(key(memberId, mode, limit, catalogVersion), response);
+    }
+
+    public Map<String, Object> stats() {
+        Map<String, Object> stats = matches.stats();
+        stats.put("catalogVersion", jobCatalogVersion.current());
+        return stats;
+    }
+
+    private static String key(String memberId, String mode, int limit, String catalogVersion) {
+        return memberId + ":" + mode + ":" + limit + ":" + catalogVersion;
+    }
+}
@@ -0,0 +1,402 @@
+package com.example.jobportal.service;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import com.example.jobportal.repository.JobRepository;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Job matching inside the backend, without the round trip to the ML service. Approved jobs are
+ * scored on skill overlap, experience and seniority fit (with the ML service's rules for each mode)
+ * and TF-IDF cosine similarity between the CV and the job text. The catalog index is rebuilt once it
+ * is older than the refresh interval.
+ */
+@Service
+@Slf4j
+public class NativeJobMatcher {
+
+    /**
+     * Match modes starting with this run here: "native" (graduate friendly), "native_flexible", "native_strict"
+     */
+    public static final String MODE_PREFIX = "native";
+
+    private static final double SKILL_WEIGHT = 0.4;
+    private static final double EXPERIENCE_WEIGHT = 0.25;
+    private static final double SENIORITY_WEIGHT = 0.15;
+    private static final double TEXT_WEIGHT = 0.2;
+
+    private static final Set<String> STOP_WORDS = Set.of(
+            "a", "an", "and", "are", "as", "at", "be", "by", "for", "from", "has", "have", "in", "is", "it",
+            "its", "of", "on", "or", "our", "that", "the", "their", "this", "to", "we", "will", "with", "you",
+            "your", "who", "all", "can", "able", "work", "working", "team", "role", "job", "experience", "years");
+    private static final List<String> SENIORITY_LEVELS = List.of("entry", "junior", "mid", "senior", "lead", "principal");
+
+    @Autowired
+    private JobRepository jobRepository;
+
+    @Autowired
+    private SkillTaxonomy skillTaxonomy;
+
+    @Value("${matching.native.refresh-seconds:60}")
+    private long refreshSeconds;
+
+    private volatile Catalog catalog;
+
+    public record Candidate(BitSet skills, int experienceYears, String seniorityLevel, String text) {}
+
+    record CatalogJob(long id, String title, String company, String location, String text, byte[] requiredSkillSet,
+                      byte[] preferredSkillSet, int experienceRequired, String seniorityLevel) {}
+
+    // Job skill sets as words, and each job text as a unit-length TF-IDF vector of (term, weight) pairs
+    private record Catalog(CatalogJob[] jobs, long[][] required, long[][] preferred, int[] requiredCounts, int[] levels,
+                           int[][] terms, float[][] weights, Map<String, Integer> vocabulary, float[] idf, long loadedAt) {}
+
+    private record Scored(int index, double score) {}
+
+    public static boolean isNativeMode(String mode) {
+        return mode != null && mode.startsWith(MODE_PREFIX);
+    }
+
+    /**
+     * The ML service mode whose fit rules apply: "native_strict" scores like "strict"
+     */
+    public static String fitMode(String mode) {
+        if (!isNativeMode(mode)) {
+            return mode;
+        }
+        String rest = mode.substring(MODE_PREFIX.length());
+        return rest.length() > 1 && rest.charAt(0) == '_' ? rest.substring(1) : "graduate_friendly";
+    }
+
+    /**
+     * Candidate from a CV profile with skills, experienceYears, seniorityLevel and text
+     */
+    public Candidate candidate(Map<String, Object> profile) {
+        BitSet skills = profile.get("skills") instanceof Collection<?> names
+                ? skillTaxonomy.skillIds(String.join(", ", names.stream().map(String::valueOf).toList()))
+                : new BitSet();
+        int years = profile.get("experienceYears") instanceof Number number ? number.intValue() : 0;
+        String level = profile.get("seniorityLevel") instanceof String value ? value : seniorityFor(years);
+        return new Candidate(skills, years, level, (String) profile.get("text"));
+    }
+
+    /**
+     * Top jobs for the candidate, in the ML service's match response shape
+     */
+    public Map<String, Object> match(Candidate candidate, String mode, int limit) {
+        Catalog catalog = catalog();
+        String fitMode = fitMode(mode);
+        long[] skills = candidate.skills().toLongArray();
+        float[] cv = vectorize(candidate.text(), catalog);
+        int level = level(candidate.seniorityLevel());
+
+        // Bounded min-heap: the weakest of the current top K is replaced by anything better
+        Comparator<Scored> byScore = Comparator.comparingDouble(Scored::score);
+        PriorityQueue<Scored> top = new PriorityQueue<>(byScore);
+        int total = 0;
+        for (int i = 0; i < catalog.jobs().length; i++) {
+            double score = SKILL_WEIGHT * skillScore(catalog, i, skills)
+                    + EXPERIENCE_WEIGHT * experienceScore(candidate.experienceYears(), catalog.jobs()[i].experienceRequired(), fitMode)
+                    + SENIORITY_WEIGHT * seniorityScore(level, catalog.levels()[i], fitMode)
+                    + TEXT_WEIGHT * cosine(cv, catalog.terms()[i], catalog.weights()[i]);
+            if (score <= 0) {
+                continue;
+            }
+            total++;
+            if (top.size() < limit) {
+                top.add(new Scored(i, score));
+            } else if (limit > 0 && score > top.peek().score()) {
+                top.poll();
+                top.add(new Scored(i, score));
+            }
+        }
+
+        List<Scored> ranked = new ArrayList<>(top);
+        ranked.sort(byScore.reversed());
+        List<Map<String, Object>> matches = new ArrayList<>(ranked.size());
+        for (Scored scored : ranked) {
+            matches.add(toMatch(catalog, scored, candidate, cv));
+        }
+
+        Map<String, Object> response = new LinkedHashMap<>();
+        response.put("matches", matches);
+        response.put("total_matches", total);
+        response.put("engine", "native");
+        return response;
+    }
+
+    /**
+     * Replace the catalog with these jobs
+     */
+    void load(List<CatalogJob> jobs) {
+        catalog = build(jobs);
+    }
+
+    // Rebuild the catalog once it is older than the refresh interval
+    private Catalog catalog() {
+        Catalog current = catalog;
+        long now = System.nanoTime();
+        if (current != null && now - current.loadedAt() < TimeUnit.SECONDS.toNanos(refreshSeconds)) {
+            return current;
+        }
+        synchronized (this) {
+            current = catalog;
+            if (current == null || now - current.loadedAt() >= TimeUnit.SECONDS.toNanos(refreshSeconds)) {
+                List<CatalogJob> jobs = jobRepository.findActiveJobMatchRows().stream()
+                        .map(row -> new CatalogJob(row.getId(), row.getTitle(), row.getCompany(), row.getLocation(),
+                                joinText(row.getTitle(), row.getDescription(), row.getRequirements()),
+                                row.getRequiredSkillSet(), row.getPreferredSkillSet(),
+                                row.getExperienceRequired() != null ? row.getExperienceRequired() : 0, row.getSeniorityLevel()))
+                        .toList();
+                current = build(jobs);
+                catalog = current;
+                log.debug("Native matcher catalog rebuilt: {} jobs, {} terms", jobs.size(), current.idf().length);
+            }
+            return current;
+        }
+    }
+
+    private static Catalog build(List<CatalogJob> jobs) {
+        int n = jobs.size();
+        CatalogJob[] catalogJobs = jobs.toArray(new CatalogJob[0]);
+        long[][] required = new long[n][];
+        long[][] preferred = new long[n][];
+        int[] requiredCounts = new int[n];
+        int[] levels = new int[n];
+        int[][] terms = new int[n][];
+        float[][] weights = new float[n][];
+        Map<String, Integer> vocabulary = new HashMap<>();
+        int[] documentFrequency = new int[1024];
+
+        for (int i = 0; i < n; i++) {
+            CatalogJob job = catalogJobs[i];
+            required[i] = SkillTaxonomy.words(job.requiredSkillSet());
+            preferred[i] = SkillTaxonomy.words(job.preferredSkillSet());
+            requiredCounts[i] = SkillTaxonomy.count(required[i]);
+            levels[i] = level(job.seniorityLevel());
+
+            Map<Integer, Integer> counts = new HashMap<>();
+            for (String token : tokenize(job.text())) {
+                counts.merge(vocabulary.computeIfAbsent(token, key -> vocabulary.size()), 1, Integer::sum);
+            }
+            terms[i] = new int[counts.size()];
+            weights[i] = new float[counts.size()];
+            int j = 0;
+            for (Map.Entry<Integer, Integer> entry : counts.entrySet()) {
+                int term = entry.getKey();
+                terms[i][j] = term;
+                weights[i][j++] = (float) (1 + Math.log(entry.getValue()));
+                if (term >= documentFrequency.length) {
+                    documentFrequency = Arrays.copyOf(documentFrequency, Math.max(term + 1, documentFrequency.length * 2));
+                }
+                documentFrequency[term]++;
+            }
+        }
+
+        float[] idf = new float[vocabulary.size()];
+        for (int term = 0; term < idf.length; term++) {
+            idf[term] = (float) (Math.log((1.0 + n) / (1.0 + documentFrequency[term])) + 1);
+        }
+        for (int i = 0; i < n; i++) {
+            double norm = 0;
+            for (int j = 0; j < terms[i].length; j++) {
+                weights[i][j] *= idf[terms[i][j]];
+                norm += weights[i][j] * weights[i][j];
+            }
+            scale(weights[i], norm);
+        }
+        return new Catalog(catalogJobs, required, preferred, requiredCounts, levels, terms, weights, vocabulary, idf, System.nanoTime());
+    }
+
+    // Dense over the catalog vocabulary, so scoring a job only walks that job's terms
+    private static float[] vectorize(String text, Catalog catalog) {
+        float[] vector = new float[catalog.idf().length];
+        // Count into the vector first, remembering which terms occur
+        int[] seen = new int[64];
+        int seenCount = 0;
+        for (String token : tokenize(text)) {
+            Integer term = catalog.vocabulary().get(token);
+            if (term != null && vector[term]++ == 0) {
+                if (seenCount == seen.length) {
+                    seen = Arrays.copyOf(seen, seenCount * 2);
+                }
+                seen[seenCount++] = term;
+            }
+        }
+        double norm = 0;
+        for (int k = 0; k < seenCount; k++) {
+            int term = seen[k];
+            float weight = (float) (1 + Math.log(vector[term])) * catalog.idf()[term];
+            vector[term] = weight;
+            norm += weight * weight;
+        }
+        scale(vector, norm);
+        return vector;
+    }
+
+    private static void scale(float[] vector, double squaredNorm) {
+        if (squaredNorm > 0) {
+            float factor = (float) (1 / Math.sqrt(squaredNorm));
+            for (int i = 0; i < vector.length; i++) {
+                vector[i] *= factor;
+            }
+        }
+    }
+
+    private static double cosine(float[] cv, int[] terms, float[] weights) {
+        double dot = 0;
+        for (int j = 0; j < terms.length; j++) {
+            dot += cv[terms[j]] * weights[j];
+        }
+        return dot;
+    }
+
+    private static double skillScore(Catalog catalog, int i, long[] skills) {
+        int requiredTotal = catalog.requiredCounts()[i];
+        if (requiredTotal == 0) {
+            // Nothing to compare against; the ML service gives partial credit too
+            return 0.5;
+        }
+        int requiredMatched = SkillTaxonomy.overlap(skills, catalog.required()[i]);
+        int preferredMatched = SkillTaxonomy.overlap(skills, catalog.preferred()[i]);
+        return Math.min(1.0, (requiredMatched + 0.5 * preferredMatched) / requiredTotal);
+    }
+
+    static double experienceScore(int years, int required, String fitMode) {
+        int diff = Math.abs(years - required);
+        switch (fitMode) {
+            case "flexible":
+                return diff == 0 ? 1.0 : diff <= 2 ? 0.83 : diff <= 4 ? 0.5 : 0.17;
+            case "strict":
+                return diff == 0 ? 1.0 : diff == 1 ? 0.67 : diff == 2 ? 0.33 : 0.0;
+            default:
+                // Graduates are not held to the experience a job asks for, within reason
+                if (years <= 1) {
+                    return required <= 3 ? 1.0 : required <= 5 ? 0.67 : 0.33;
+                }
+                return diff == 0 ? 1.0 : diff == 1 ? 0.83 : diff == 2 ? 0.67 : diff == 3 ? 0.33 : 0.0;
+        }
+    }
+
+    static double seniorityScore(int level, int jobLevel, String fitMode) {
+        int diff = Math.abs(level - jobLevel);
+        switch (fitMode) {
+            case "strict":
+                return diff == 0 ? 1.0 : 0.0;
+            case "flexible":
+                return diff == 0 ? 1.0 : diff == 1 ? 0.7 : diff == 2 ? 0.3 : 0.0;
+            default:
+                if (level <= 1) {
+                    return jobLevel <= 2 ? 1.0 : jobLevel == 3 ? 0.5 : 0.2;
+                }
+                return diff <= 1 ? 1.0 : diff == 2 ? 0.5 : 0.0;
+        }
+    }
+
+    private Map<String, Object> toMatch(Catalog catalog, Scored scored, Candidate candidate, float[] cv) {
+        int i = scored.index();
+        CatalogJob job = catalog.jobs()[i];
+        BitSet required = BitSet.valueOf(catalog.required()[i]);
+        BitSet matched = (BitSet) required.clone();
+        matched.and(candidate.skills());
+        BitSet missing = (BitSet) required.clone();
+        missing.andNot(candidate.skills());
+        List<String> missingNames = skillTaxonomy.names(missing);
+
+        Map<String, Object> details = new LinkedHashMap<>();
+        details.put("skill_match", matched.cardinality());
+        details.put("total_required_skills", catalog.requiredCounts()[i]);
+        details.put("matched_skills", skillTaxonomy.names(matched));
+        details.put("missing_skills", missingNames.subList(0, Math.min(5, missingNames.size())));
+        details.put("experience_diff", candidate.experienceYears() - job.experienceRequired());
+        details.put("experience_match", candidate.experienceYears() == job.experienceRequired() ? "exact"
+                : candidate.experienceYears() > job.experienceRequired() ? "over" : "under");
+        details.put("seniority_match", level(candidate.seniorityLevel()) == catalog.levels()[i]);
+        details.put("text_similarity", round(cosine(cv, catalog.terms()[i], catalog.weights()[i])));
+
+        Map<String, Object> match = new LinkedHashMap<>();
+        match.put("job_id", String.valueOf(job.id()));
+        match.put("title", job.title());
+        match.put("company", job.company());
+        match.put("location", job.location());
+        match.put("required_skills", skillTaxonomy.names(required));
+        match.put("preferred_skills", skillTaxonomy.names(BitSet.valueOf(catalog.preferred()[i])));
+        match.put("experience_required", job.experienceRequired());
+        match.put("seniority_level", job.seniorityLevel());
+        match.put("score", round(scored.score()));
+        match.put("match_details", details);
+        return match;
+    }
+
+    // Runs of letters, digits, '+' and '#' (c++, c#), without stop words, single characters and plain numbers
+    private static List<String> tokenize(String text) {
+        if (text == null || text.isEmpty()) {
+            return List.of();
+        }
+        String lower = text.toLowerCase(Locale.ROOT);
+        List<String> tokens = new ArrayList<>();
+        int start = -1;
+        boolean digitsOnly = true;
+        for (int i = 0; i <= lower.length(); i++) {
+            char c = i < lower.length() ? lower.charAt(i) : ' ';
+            boolean digit = c >= '0' && c <= '9';
+            if ((c >= 'a' && c <= 'z') || digit || c == '+' || c == '#') {
+                if (start < 0) {
+                    start = i;
+                    digitsOnly = true;
+                }
+                digitsOnly &= digit;
+            } else if (start >= 0) {
+                if (i - start > 1 && !digitsOnly) {
+                    String token = lower.substring(start, i);
+                    if (!STOP_WORDS.contains(token)) {
+                        tokens.add(token);
+                    }
+                }
+                start = -1;
+            }
+        }
+        return tokens;
+    }
+
+    private static String joinText(String... parts) {
+        StringBuilder text = new StringBuilder();
+        for (String part : parts) {
+            if (part != null) {
+                text.append(part).append('\n');
+            }
+        }
+        return text.toString();
+    }
+
+    private static int level(String seniorityLevel) {
+        int level = seniorityLevel != null ? SENIORITY_LEVELS.indexOf(seniorityLevel.toLowerCase(Locale.ROOT)) : -1;
+        return Math.max(level, 0);
+    }
+
+    // The ML service's bands, for CVs parsed locally without a level
+    private static String seniorityFor(int years) {
+        return years <= 0 ? "entry" : years <= 2 ? "junior" : years <= 5 ? "mid" : "senior";
+    }
+
+    private static double round(double value) {
+        return Math.round(value * 1000) / 1000.0;
+    }
+}
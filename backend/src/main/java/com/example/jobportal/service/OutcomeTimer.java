@@ -0,0 +1,69 @@
+package com.example.jobportal.service;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Lock-free counts and timings of an operation, per key and outcome.
+ * Snapshots list every outcome of the enum, with zeros for those not seen yet.
+ */
+public class OutcomeTimer<O extends Enum<O>> {
+
+    private final O[] outcomes;
+    private final Map<String, Stats> byKey = new ConcurrentHashMap<>();
+
+    public OutcomeTimer(Class<O> outcomeType) {
+        this.outcomes = outcomeType.getEnumConstants();
+    }
+
+    public void record(String key, O outcome, long elapsedNanos) {
+        byKey.computeIfAbsent(key, k -> new Stats(outcomes.length)).record(outcome, elapsedNanos);
+    }
+
+    /**
+     * Stats per key, in key order
+     */
+    public Map<String, Object> snapshot() {
+        Map<String, Object> snapshot = new TreeMap<>();
+        byKey.forEach((key, stats) -> snapshot.put(key, stats.snapshot(outcomes)));
+        return snapshot;
+    }
+
+    private static class Stats {
+        private final LongAdder[] outcomeCounts;
+        private final LongAdder count = new LongAdder();
+        private final LongAdder totalNanos = new LongAdder();
+        private final LongAccumulator maxNanos = new LongAccumulator(Math::max, 0);
+
+        Stats(int outcomes) {
+            outcomeCounts = new LongAdder[outcomes];
+            for (int i = 0; i < outcomes; i++) {
+                outcomeCounts[i] = new LongAdder();
+            }
+        }
+
+        void record(Enum<?> outcome, long elapsedNanos) {
+            outcomeCounts[outcome.ordinal()].increment();
+            count.increment();
+            totalNanos.add(elapsedNanos);
+            maxNanos.accumulate(elapsedNanos);
+        }
+
+        Map<String, Object> snapshot(Enum<?>[] outcomes) {
+            long calls = count.sum();
+            Map<String, Object> snapshot = new LinkedHashMap<>();
+            snapshot.put("count", calls);
+            for (Enum<?> outcome : outcomes) {
+                snapshot.put(outcome.name().toLowerCase(), outcomeCounts[outcome.ordinal()].sum());
+            }
+            snapshot.put("avgMillis", calls > 0 ? TimeUnit.NANOSECONDS.toMillis(totalNanos.sum() / calls) : 0L);
+            snapshot.put("maxMillis", TimeUnit.NANOSECONDS.toMillis(maxNanos.get()));
+            return snapshot;
+        }
+    }
+}
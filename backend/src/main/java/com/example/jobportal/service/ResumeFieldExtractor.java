@@ -0,0 +1,342 @@
+package com.example.jobportal.service;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Calendar;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Extracts the structured resume fields - contact details, sections, education level and
+ * years of experience - in a single pass over the text.
+ * Section and education keywords run through one keyword automaton, and the contact and
+ * experience patterns are only tried at the positions where they can start, so the cost no
+ * longer grows with the number of keywords and patterns. Results are the same as searching
+ * for each field separately. Thread safe; all state is static and immutable.
+ */
+public final class ResumeFieldExtractor {
+
+    private static final Pattern EMAIL = Pattern.compile("[a-zA-Z0-9._%+-]+@[a-zA-Z0-9.-]+\\.[a-zA-Z]{2,}");
+
+    // In order of preference: the first pattern found anywhere in the text wins
+    private static final Pattern[] PHONE_PATTERNS = {
+        Pattern.compile("\\(\\d{3}\\)\\s*\\d{3}-\\d{4}"), // (123) 456-7890
+        Pattern.compile("\\d{3}-\\d{3}-\\d{4}"), // 123-456-7890
+        Pattern.compile("\\d{3}\\.\\d{3}\\.\\d{4}"), // 123.456.7890
+        Pattern.compile("\\+\\d{1,3}\\s*\\d{10}"), // +1 1234567890
+        Pattern.compile("\\d{10}") // 1234567890
+    };
+
+    // "X years of experience", "Experience: X years", "X years professional"; also in order of preference
+    private static final Pattern YEARS_OF_EXPERIENCE =
+            Pattern.compile("(\\d+)\\+?\\s*years?\\s*(?:of\\s*)?experience", Pattern.CASE_INSENSITIVE);
+    private static final Pattern EXPERIENCE_OF_YEARS =
+            Pattern.compile("experience\\s*:?\\s*(\\d+)\\s*years?", Pattern.CASE_INSENSITIVE);
+    private static final Pattern YEARS_PROFESSIONAL =
+            Pattern.compile("(\\d+)\\s*years?\\s*(?:of\\s*)?professional", Pattern.CASE_INSENSITIVE);
+
+    private static final String[] EXPERIENCE_KEYWORDS = {"experience", "work history", "employment", "professional experience"};
+    private static final String[] EDUCATION_KEYWORDS = {"education", "academic", "qualification", "degree"};
+
+    // A section runs until the next of these headers
+    private static final String[] SECTION_END_KEYWORDS = {
+        "experience", "education", "skills", "projects", "certifications",
+        "references", "interests", "hobbies", "achievements", "awards"
+    };
+
+    // Skip this many characters past a section start so its own header does not end it
+    private static final int SECTION_HEADER_SKIP = 50;
+
+    // Common section headers; the first keyword of each group names the section
+    private static final String[][] SECTION_GROUPS = {
+        {"summary", "profile", "objective"},
+        {"experience", "work history", "employment"},
+        {"education", "academic"},
+        {"skills", "technical skills", "competencies"},
+        {"projects", "project experience"},
+        {"certifications", "certificates"},
+        {"achievements", "accomplishments", "awards"}
+    };
+
+    private static final List<String> EDUCATION_LEVELS = Arrays.asList(
+        "ph.d", "phd", "doctorate",
+        "master", "m.s.", "ms", "mba", "m.a.",
+        "bachelor", "b.s.", "bs", "b.a.", "ba", "b.tech", "b.e.",
+        "associate",
+        "diploma",
+        "high school", "secondary"
+    );
+
+    // Every keyword above, matched as a plain substring like the indexOf lookups it replaces
+    private static final SkillMatcher KEYWORDS;
+    private static final Map<String, Integer> KEYWORD_IDS = new HashMap<>();
+    private static final int EXPERIENCE_ID;
+
+    static {
+        Set<String> keywords = new LinkedHashSet<>();
+        keywords.addAll(Arrays.asList(EXPERIENCE_KEYWORDS));
+        keywords.addAll(Arrays.asList(EDUCATION_KEYWORDS));
+        keywords.addAll(Arrays.asList(SECTION_END_KEYWORDS));
+        for (String[] group : SECTION_GROUPS) {
+            keywords.addAll(Arrays.asList(group));
+        }
+        keywords.addAll(EDUCATION_LEVELS);
+
+        KEYWORDS = SkillMatcher.of(keywords);
+        for (int id = 0; id < KEYWORDS.size(); id++) {
+            KEYWORD_IDS.put(KEYWORDS.keyword(id), id);
+        }
+        EXPERIENCE_ID = KEYWORD_IDS.get("experience");
+    }
+
+    public record Fields(String email, String phone, String experience, String education, String educationLevel,
+            Double experienceYears, Map<String, String> sections) {}
+
+    private ResumeFieldExtractor() {
+    }
+
+    public static Fields extract(String text) {
+        return new Scan(text).run();
+    }
+
+    /**
+     * State of one pass over a resume
+     */
+    private static final class Scan {
+        private final String text;
+        private final int length;
+
+        // Start offsets of every keyword occurrence, per keyword id, in increasing order
+        private final int[][] occurrences = new int[KEYWORDS.size()][];
+        private final int[] occurrenceCounts = new int[KEYWORDS.size()];
+
+        // One matcher per pattern for the whole scan, repositioned with region()
+        private final Matcher emailMatcher;
+        private final Matcher[] phoneMatchers = new Matcher[PHONE_PATTERNS.length];
+        private final Matcher[] experienceMatchers;
+
+        private String email;
+        private String phone;
+        private int phoneRank = PHONE_PATTERNS.length;
+        private Double experienceYears;
+        private int experienceRank = 3;
+        private final List<Integer> years = new ArrayList<>();
+
+        Scan(String text) {
+            this.text = text;
+            this.length = text.length();
+            this.emailMatcher = EMAIL.matcher(text);
+            for (int rank = 0; rank < PHONE_PATTERNS.length; rank++) {
+                phoneMatchers[rank] = PHONE_PATTERNS[rank].matcher(text);
+            }
+            this.experienceMatchers = new Matcher[] {
+                YEARS_OF_EXPERIENCE.matcher(text), EXPERIENCE_OF_YEARS.matcher(text), YEARS_PROFESSIONAL.matcher(text)
+            };
+        }
+
+        Fields run() {
+            int state = 0;
+            int localPartStart = -1;
+            int nextYearStart = 0;
+            boolean previousDigit = false;
+
+            for (int i = 0; i < length; i++) {
+                char c = text.charAt(i);
+
+                state = KEYWORDS.step(state, c);
+                for (int id : KEYWORDS.endingAt(state)) {
+                    int start = i - KEYWORDS.keywordLength(id) + 1;
+                    addOccurrence(id, start);
+                    if (id == EXPERIENCE_ID && experienceRank > 1) {
+                        tryExperience(1, start);
+                    }
+                }
+
+                // An email match starts where the run of local-part characters before an '@' starts
+                if (email == null) {
+                    if (c == '@') {
+                        if (localPartStart >= 0) {
+                            if (emailMatcher.region(localPartStart, length).lookingAt()) {
+                                email = emailMatcher.group();
+                            }
+                        }
+                        localPartStart = -1;
+                    } else if (isEmailLocalChar(c)) {
+                        if (localPartStart < 0) localPartStart = i;
+                    } else {
+                        localPartStart = -1;
+                    }
+                }
+
+                boolean digit = isDigit(c);
+                if (phoneRank > 0 && (digit || c == '(' || c == '+')) {
+                    tryPhone(i);
+                }
+
+                if (digit) {
+                    // Years are taken left to right without overlap, like repeated regex finds
+                    if (i >= nextYearStart && isYearAt(i)) {
+                        years.add(Integer.parseInt(text, i, i + 4, 10));
+                        nextYearStart = i + 4;
+                    }
+                    // A digit run that fails at its first digit fails at every later one too
+                    if (!previousDigit) {
+                        if (experienceRank > 0) tryExperience(0, i);
+                        if (experienceRank > 2) tryExperience(2, i);
+                    }
+                }
+                previousDigit = digit;
+            }
+
+            Map<String, String> sections = new HashMap<>();
+            for (String[] group : SECTION_GROUPS) {
+                String section = section(group);
+                if (!section.isEmpty()) {
+                    sections.put(group[0], section);
+                }
+            }
+
+            return new Fields(
+                    email != null ? email : "",
+                    phone != null ? phone : "",
+                    section(EXPERIENCE_KEYWORDS),
+                    section(EDUCATION_KEYWORDS),
+                    educationLevel(),
+                    experienceYears(),
+                    sections);
+        }
+
+        private void addOccurrence(int id, int start) {
+            int[] starts = occurrences[id];
+            if (starts == null) {
+                starts = occurrences[id] = new int[4];
+            } else if (occurrenceCounts[id] == starts.length) {
+                starts = occurrences[id] = Arrays.copyOf(starts, starts.length * 2);
+            }
+            starts[occurrenceCounts[id]++] = start;
+        }
+
+        // Patterns ranked after the best one found so far no longer matter
+        private void tryPhone(int start) {
+            for (int rank = 0; rank < phoneRank; rank++) {
+                Matcher matcher = phoneMatchers[rank].region(start, length);
+                if (matcher.lookingAt()) {
+                    phone = matcher.group();
+                    phoneRank = rank;
+                    return;
+                }
+            }
+        }
+
+        private void tryExperience(int rank, int start) {
+            Matcher matcher = experienceMatchers[rank].region(start, length);
+            if (matcher.lookingAt()) {
+                experienceYears = Double.parseDouble(matcher.group(1));
+                experienceRank = rank;
+            }
+        }
+
+        private Double experienceYears() {
+            if (experienceYears != null) {
+                return experienceYears;
+            }
+
+            // Estimate from the years mentioned in the work history
+            if (years.size() >= 2) {
+                int currentYear = Calendar.getInstance().get(Calendar.YEAR);
+                int earliestYear = years.stream().min(Integer::compare).get();
+                int latestYear = years.stream().max(Integer::compare).get();
+
+                // If latest year is current or recent, calculate from earliest
+                if (latestYear >= currentYear - 2) {
+                    return (double) (currentYear - earliestYear);
+                } else {
+                    return (double) (latestYear - earliestYear);
+                }
+            }
+            return 0.0;
+        }
+
+        private String educationLevel() {
+            for (String level : EDUCATION_LEVELS) {
+                if (occurrenceCounts[KEYWORD_IDS.get(level)] == 0) {
+                    continue;
+                }
+                if (level.startsWith("ph") || level.equals("doctorate")) {
+                    return "PhD";
+                } else if (level.startsWith("master") || level.equals("mba") || level.equals("m.s.") || level.equals("ms")) {
+                    return "Master's";
+                } else if (level.startsWith("bachelor") || level.startsWith("b.")) {
+                    return "Bachelor's";
+                } else if (level.equals("associate")) {
+                    return "Associate";
+                } else if (level.equals("diploma")) {
+                    return "Diploma";
+                } else if (level.contains("high school") || level.equals("secondary")) {
+                    return "High School";
+                }
+            }
+            return "Not Specified";
+        }
+
+        // From the earliest of the keywords to the next section header, or the end of the text
+        private String section(String[] keywords) {
+            int startIndex = -1;
+            for (String keyword : keywords) {
+                int index = firstOccurrence(KEYWORD_IDS.get(keyword), 0);
+                if (index != -1 && (startIndex == -1 || index < startIndex)) {
+                    startIndex = index;
+                }
+            }
+            if (startIndex == -1) {
+                return "";
+            }
+
+            int endIndex = length;
+            for (String keyword : SECTION_END_KEYWORDS) {
+                int index = firstOccurrence(KEYWORD_IDS.get(keyword), startIndex + SECTION_HEADER_SKIP);
+                if (index != -1 && index < endIndex) {
+                    endIndex = index;
+                }
+            }
+            return text.substring(startIndex, endIndex).trim();
+        }
+
+        private int firstOccurrence(int id, int from) {
+            int count = occurrenceCounts[id];
+            if (count == 0) {
+                return -1;
+            }
+            int position = Arrays.binarySearch(occurrences[id], 0, count, from);
+            if (position < 0) {
+                position = -position - 1;
+            }
+            return position < count ? occurrences[id][position] : -1;
+        }
+
+        private boolean isYearAt(int i) {
+            if (i + 3 >= length) {
+                return false;
+            }
+            char first = text.charAt(i);
+            char second = text.charAt(i + 1);
+            return ((first == '1' && second == '9') || (first == '2' && second == '0'))
+                    && isDigit(text.charAt(i + 2)) && isDigit(text.charAt(i + 3));
+        }
+    }
+
+    // Same as the regex \d, which only matches ASCII digits
+    private static boolean isDigit(char c) {
+        return c >= '0' && c <= '9';
+    }
+
+    private static boolean isEmailLocalChar(char c) {
+        return (c >= 'a' && c <= 'z') || (c >= 'A' && c <= 'Z') || isDigit(c)
+                || c == '.' || c == '_' || c == '%' || c == '+' || c == '-';
+    }
+}
@@ -0,0 +1,106 @@
+package com.example.jobportal.service;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.util.HexFormat;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.stereotype.Service;
+
+import jakarta.annotation.PostConstruct;
+
+/**
+ * Parsed resume results keyed by the SHA-256 of the file, so re-uploads of the same CV skip parsing.
+ * Local parse results depend only on the file bytes and the parser and taxonomy versions. ML responses are also keyed by session, because
+ * the ML service only keeps an uploaded CV for the session it was sent with.
+ */
+@Service
+public class ResumeParseCache {
+
+    @Autowired(required = false)
+    private RedisTemplate<String, Object> redisTemplate;
+
+    @Autowired
+    private SkillTaxonomy skillTaxonomy;
+
+    @Value("${resume.cache.local-max-entries:200}")
+    private int localMaxEntries;
+
+    @Value("${resume.cache.ttl-hours:24}")
+    private int ttlHours;
+
+    // Must stay below the ML service's one-hour CV retention
+    @Value("${resume.cache.ml-ttl-minutes:50}")
+    private int mlTtlMinutes;
+
+    private TieredCache parsedResumes;
+    private TieredCache mlResponses;
+
+    @PostConstruct
+    public void init() {
+        // Parsed results are only valid for the parser and taxonomy versions that produced them
+        parsedResumes = new TieredCache(redisTemplate, "resume:parsed:v" + ResumeParserService.PARSER_VERSION
+                + ":t" + skillTaxonomy.version() + ":", localMaxEntries, Duration.ofHours(ttlHours));
+        mlResponses = new TieredCache(redisTemplate, "resume:ml:", localMaxEntries, Duration.ofMinutes(mlTtlMinutes));
+    }
+
+    public Map<String, Object> getParsed(String contentHash) {
+        return parsedResumes.get(contentHash);
+    }
+
+    public void putParsed(String contentHash, Map<String, Object> parsed) {
+        parsedResumes.put(contentHash, parsed);
+    }
+
+    public Map<String, Object> getMlResponse(String contentHash, String sessionId) {
+        return mlResponses.get(contentHash + ":" + sessionId);
+    }
+
+    public void putMlResponse(String contentHash, String sessionId, Map<String, Object> response) {
+        mlResponses.put(contentHash + ":" + sessionId, response);
+    }
+
+    public Map<String, Object> stats() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("parsedResumes", parsedResumes.stats());
+        stats.put("mlResponses", mlResponses.stats());
+        return stats;
+    }
+
+    public static String sha256(byte[] content) {
+        return HexFormat.of().formatHex(digest().digest(content));
+    }
+
+    public static String sha256(Path file) throws IOException {
+        try (InputStream in = Files.newInputStream(file)) {
+            return sha256(in);
+        }
+    }
+
+    public static String sha256(InputStream in) throws IOException {
+        MessageDigest digest = digest();
+        byte[] buffer = new byte[8192];
+        int read;
+        while ((read = in.read(buffer)) != -1) {
+            digest.update(buffer, 0, read);
+        }
+        return HexFormat.of().formatHex(digest.digest());
+    }
+
+    private static MessageDigest digest() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+}
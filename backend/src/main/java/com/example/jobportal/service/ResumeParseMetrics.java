@@ -0,0 +1,37 @@
+package com.example.jobportal.service;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.springframework.stereotype.Component;
+
+/**
+ * In-process counters for resume text extraction, kept per detected MIME type
+ */
+@Component
+public class ResumeParseMetrics {
+
+    public enum Outcome {
+        SUCCESS, TRUNCATED, TIMEOUT, FAILED
+    }
+
+    private final OutcomeTimer<Outcome> byMimeType = new OutcomeTimer<>(Outcome.class);
+    private final LongAdder rejected = new LongAdder();
+
+    public void record(String mimeType, Outcome outcome, long elapsedNanos) {
+        byMimeType.record(mimeType, outcome, elapsedNanos);
+    }
+
+    // A parse turned away because the parser queue was full
+    public void recordRejected() {
+        rejected.increment();
+    }
+
+    public Map<String, Object> snapshot() {
+        Map<String, Object> snapshot = new LinkedHashMap<>();
+        snapshot.put("rejected", rejected.sum());
+        snapshot.put("mimeTypes", byMimeType.snapshot());
+        return snapshot;
+    }
+}
@@ -1,24 +1,33 @@
 package com.example.jobportal.service;
 
+import java.io.IOException;
 import java.io.InputStream;
-import java.util.ArrayList;
-import java.util.Arrays;
-import java.util.Calendar;
-import java.util.Collections;
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.util.HashMap;
-import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
-import java.util.Set;
-import java.util.regex.Matcher;
-import java.util.regex.Pattern;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
 
-import org.apache.tika.Tika;
+import org.apache.tika.exception.WriteLimitReachedException;
 import org.apache.tika.metadata.Metadata;
+import org.apache.tika.metadata.TikaCoreProperties;
 import org.apache.tika.parser.AutoDetectParser;
 import org.apache.tika.parser.ParseContext;
+import org.apache.tika.parser.Parser;
 import org.apache.tika.sax.BodyContentHandler;
+import org.apache.tika.sax.ContentHandlerDecorator;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
 import org.springframework.stereotype.Service;
+import org.xml.sax.Attributes;
+import org.xml.sax.SAXException;
 
 import lombok.extern.slf4j.Slf4j;
 
@@ -26,65 +35,83 @@ import lombok.extern.slf4j.Slf4j;
 @Slf4j
 public class ResumeParserService {
     
-    private final Tika tika = new Tika();
+    /**
+     * Version of the text, field and skill extraction. Bump it whenever extraction output changes:
+     * stored resumes on an older version are then picked up by the bulk re-parse, and cached parses
+     * of the older version are no longer used. Skills also depend on the {@link SkillTaxonomy}
+     * version, which is tracked the same way.
+     */
+    public static final int PARSER_VERSION = 1;
     
-    // Common skills keywords to look for
-    private static final Set<String> SKILL_KEYWORDS = new HashSet<>(Arrays.asList(
-        // Programming Languages
-        "java", "python", "javascript", "typescript", "c++", "c#", "ruby", "go", "rust", "kotlin",
-        "swift", "php", "scala", "r", "matlab", "perl", "shell", "bash", "powershell",
-        
-        // Web Technologies
-        "html", "css", "react", "angular", "vue", "node.js", "express", "django", "flask",
-        "spring", "spring boot", "asp.net", "jquery", "bootstrap", "tailwind", "sass", "webpack",
-        
-        // Databases
-        "sql", "mysql", "postgresql", "mongodb", "redis", "elasticsearch", "cassandra", "oracle",
-        "sqlite", "dynamodb", "firebase", "neo4j",
-        
-        // Cloud & DevOps
-        "aws", "azure", "gcp", "google cloud", "docker", "kubernetes", "jenkins", "git", "github",
-        "gitlab", "ci/cd", "terraform", "ansible", "linux", "nginx", "apache",
+    // AutoDetectParser is stateless and safe to share between threads
+    private final Parser parser = new AutoDetectParser();
+    
+    @Autowired
+    @Qualifier("resumeParseExecutor")
+    private ThreadPoolTaskExecutor resumeParseExecutor;
+    
+    @Autowired
+    private ResumeParseMetrics parseMetrics;
+    
+    @Autowired
+    private ResumeParseCache parseCache;
+    
+    @Autowired
+    private SkillTaxonomy skillTaxonomy;
+    
+    @Value("${resume.parser.timeout-seconds:30}")
+    private long parseTimeoutSeconds;
+    
+    @Value("${resume.parser.max-chars:200000}")
+    private int maxChars;
+    
+    /**
+     * Parse a stored resume, reusing the result of an earlier parse of identical bytes
+     */
+    public Map<String, Object> parseResume(Path file, String fileName) throws IOException {
+        String contentHash = ResumeParseCache.sha256(file);
+        Map<String, Object> cached = parseCache.getParsed(contentHash);
+        if (cached != null) {
+            Map<String, Object> parsedData = new HashMap<>(cached);
+            parsedData.put("cached", true);
+            return parsedData;
+        }
         
-        // Data Science & AI
-        "machine learning", "deep learning", "tensorflow", "pytorch", "scikit-learn", "pandas",
-        "numpy", "data analysis", "statistics", "nlp", "computer vision", "ai", "neural networks",
+        Map<String, Object> parsedData;
+        try (InputStream inputStream = Files.newInputStream(file)) {
+            parsedData = parseResume(inputStream, fileName);
+        }
+        parsedData.put("contentHash", contentHash);
         
-        // Other Technologies
-        "rest api", "graphql", "microservices", "agile", "scrum", "jira", "blockchain",
-        "iot", "security", "testing", "junit", "selenium", "jest"
-    ));
-    
-    // Education levels
-    private static final List<String> EDUCATION_LEVELS = Arrays.asList(
-        "ph.d", "phd", "doctorate",
-        "master", "m.s.", "ms", "mba", "m.a.",
-        "bachelor", "b.s.", "bs", "b.a.", "ba", "b.tech", "b.e.",
-        "associate",
-        "diploma",
-        "high school", "secondary"
-    );
+        // Failures may be transient (timeouts, a full parse queue), so only successes are cached
+        if ((boolean) parsedData.getOrDefault("success", false)) {
+            parseCache.putParsed(contentHash, new HashMap<>(parsedData));
+        }
+        return parsedData;
+    }
     
     public Map<String, Object> parseResume(InputStream inputStream, String fileName) {
         Map<String, Object> parsedData = new HashMap<>();
         
         try {
             // Extract text content
-            String content = extractText(inputStream);
+            ExtractedText extracted = extractText(inputStream, fileName);
+            String content = extracted.text();
             parsedData.put("rawText", content);
+            parsedData.put("mimeType", extracted.mimeType());
+            parsedData.put("truncated", extracted.truncated());
             
             // Extract structured information
-            parsedData.put("email", extractEmail(content));
-            parsedData.put("phone", extractPhone(content));
+            ResumeFieldExtractor.Fields fields = ResumeFieldExtractor.extract(content);
+            parsedData.put("email", fields.email());
+            parsedData.put("phone", fields.phone());
             parsedData.put("skills", extractSkills(content));
-            parsedData.put("experience", extractExperience(content));
-            parsedData.put("education", extractEducation(content));
-            parsedData.put("educationLevel", detectEducationLevel(content));
-            parsedData.put("experienceYears", estimateExperienceYears(content));
-            
-            // Extract sections
-            Map<String, String> sections = extractSections(content);
-            parsedData.put("sections", sections);
+            parsedData.put("taxonomyVersion", skillTaxonomy.version());
+            parsedData.put("experience", fields.experience());
+            parsedData.put("education", fields.education());
+            parsedData.put("educationLevel", fields.educationLevel());
+            parsedData.put("experienceYears", fields.experienceYears());
+            parsedData.put("sections", fields.sections());
             
             parsedData.put("success", true);
             
@@ -97,201 +124,111 @@ public class ResumeParserService {
         return parsedData;
     }
     
-    private String extractText(InputStream inputStream) throws Exception {
-        BodyContentHandler handler = new BodyContentHandler(-1); // -1 for unlimited
-        Metadata metadata = new Metadata();
-        ParseContext parseContext = new ParseContext();
-        AutoDetectParser parser = new AutoDetectParser();
-        
-        parser.parse(inputStream, handler, metadata, parseContext);
-        return handler.toString();
-    }
-    
-    private String extractEmail(String text) {
-        Pattern pattern = Pattern.compile("[a-zA-Z0-9._%+-]+@[a-zA-Z0-9.-]+\\.[a-zA-Z]{2,}");
-        Matcher matcher = pattern.matcher(text);
-        return matcher.find() ? matcher.group() : "";
-    }
-    
-    private String extractPhone(String text) {
-        // Multiple phone patterns
-        List<Pattern> patterns = Arrays.asList(
-            Pattern.compile("\\(\\d{3}\\)\\s*\\d{3}-\\d{4}"), // (123) 456-7890
-            Pattern.compile("\\d{3}-\\d{3}-\\d{4}"), // 123-456-7890
-            Pattern.compile("\\d{3}\\.\\d{3}\\.\\d{4}"), // 123.456.7890
-            Pattern.compile("\\+\\d{1,3}\\s*\\d{10}"), // +1 1234567890
-            Pattern.compile("\\d{10}") // 1234567890
-        );
+    /**
+     * Extract text on the parse executor, giving up once the document exceeds the parse timeout
+     */
+    private ExtractedText extractText(InputStream inputStream, String fileName) throws Exception {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(parseTimeoutSeconds);
         
-        for (Pattern pattern : patterns) {
-            Matcher matcher = pattern.matcher(text);
-            if (matcher.find()) {
-                return matcher.group();
-            }
+        Future<ExtractedText> parse;
+        try {
+            parse = resumeParseExecutor.submit(() -> parseText(inputStream, fileName, deadline));
+        } catch (RejectedExecutionException e) {
+            parseMetrics.recordRejected();
+            throw new RuntimeException("Resume parser is busy, please try again shortly");
         }
-        return "";
-    }
-    
-    private List<String> extractSkills(String text) {
-        Set<String> foundSkills = new HashSet<>();
-        String lowerText = text.toLowerCase();
         
-        for (String skill : SKILL_KEYWORDS) {
-            // Look for word boundaries to avoid partial matches
-            Pattern pattern = Pattern.compile("\\b" + Pattern.quote(skill) + "\\b", Pattern.CASE_INSENSITIVE);
-            Matcher matcher = pattern.matcher(lowerText);
-            if (matcher.find()) {
-                foundSkills.add(skill);
-            }
+        try {
+            return parse.get(parseTimeoutSeconds, TimeUnit.SECONDS);
+        } catch (TimeoutException e) {
+            parse.cancel(true);
+            throw new RuntimeException("Resume parsing timed out after " + parseTimeoutSeconds + " seconds");
+        } catch (ExecutionException e) {
+            throw e.getCause() instanceof Exception cause ? cause : e;
         }
-        
-        return new ArrayList<>(foundSkills);
     }
     
-    private String detectEducationLevel(String text) {
-        String lowerText = text.toLowerCase();
-        
-        for (String level : EDUCATION_LEVELS) {
-            if (lowerText.contains(level)) {
-                if (level.startsWith("ph") || level.equals("doctorate")) {
-                    return "PhD";
-                } else if (level.startsWith("master") || level.equals("mba") || level.equals("m.s.") || level.equals("ms")) {
-                    return "Master's";
-                } else if (level.startsWith("bachelor") || level.startsWith("b.")) {
-                    return "Bachelor's";
-                } else if (level.equals("associate")) {
-                    return "Associate";
-                } else if (level.equals("diploma")) {
-                    return "Diploma";
-                } else if (level.contains("high school") || level.equals("secondary")) {
-                    return "High School";
-                }
-            }
+    /**
+     * Run Tika on the calling thread, keeping at most maxChars characters of body text
+     */
+    private ExtractedText parseText(InputStream inputStream, String fileName, long deadline) throws Exception {
+        long start = System.nanoTime();
+        BodyContentHandler body = new BodyContentHandler(maxChars);
+        Metadata metadata = new Metadata();
+        if (fileName != null) {
+            metadata.set(TikaCoreProperties.RESOURCE_NAME_KEY, fileName);
         }
+        ResumeParseMetrics.Outcome outcome = ResumeParseMetrics.Outcome.FAILED;
         
-        return "Not Specified";
-    }
-    
-    private Double estimateExperienceYears(String text) {
-        // Look for patterns like "X years of experience" or "X+ years"
-        List<Pattern> patterns = Arrays.asList(
-            Pattern.compile("(\\d+)\\+?\\s*years?\\s*(?:of\\s*)?experience", Pattern.CASE_INSENSITIVE),
-            Pattern.compile("experience\\s*:?\\s*(\\d+)\\s*years?", Pattern.CASE_INSENSITIVE),
-            Pattern.compile("(\\d+)\\s*years?\\s*(?:of\\s*)?professional", Pattern.CASE_INSENSITIVE)
-        );
-        
-        for (Pattern pattern : patterns) {
-            Matcher matcher = pattern.matcher(text);
-            if (matcher.find()) {
-                try {
-                    return Double.parseDouble(matcher.group(1));
-                } catch (NumberFormatException e) {
-                    // Continue to next pattern
+        try {
+            parser.parse(inputStream, new DeadlineContentHandler(body, deadline), metadata, new ParseContext());
+            outcome = ResumeParseMetrics.Outcome.SUCCESS;
+            return new ExtractedText(body.toString(), mimeType(metadata), false);
+        } catch (SAXException e) {
+            if (!WriteLimitReachedException.isWriteLimitReached(e)) {
+                if (e instanceof ParseDeadlineException) {
+                    outcome = ResumeParseMetrics.Outcome.TIMEOUT;
                 }
+                throw e;
             }
+            // Stop at the limit and keep what was extracted so far
+            outcome = ResumeParseMetrics.Outcome.TRUNCATED;
+            log.warn("Resume {} exceeded {} characters, text truncated", fileName, maxChars);
+            return new ExtractedText(body.toString(), mimeType(metadata), true);
+        } finally {
+            parseMetrics.record(mimeType(metadata), outcome, System.nanoTime() - start);
         }
-        
-        // Try to estimate from work history dates
-        return estimateFromWorkHistory(text);
     }
     
-    private Double estimateFromWorkHistory(String text) {
-        // Look for date ranges in work history
-        Pattern yearPattern = Pattern.compile("(19|20)\\d{2}");
-        Matcher matcher = yearPattern.matcher(text);
-        
-        List<Integer> years = new ArrayList<>();
-        while (matcher.find()) {
-            try {
-                years.add(Integer.parseInt(matcher.group()));
-            } catch (NumberFormatException e) {
-                // Skip invalid years
-            }
+    private String mimeType(Metadata metadata) {
+        String contentType = metadata.get(Metadata.CONTENT_TYPE);
+        if (contentType == null) {
+            return "unknown";
         }
-        
-        if (years.size() >= 2) {
-            Collections.sort(years);
-            int currentYear = Calendar.getInstance().get(Calendar.YEAR);
-            int earliestYear = years.get(0);
-            int latestYear = years.get(years.size() - 1);
-            
-            // If latest year is current or recent, calculate from earliest
-            if (latestYear >= currentYear - 2) {
-                return (double) (currentYear - earliestYear);
-            } else {
-                return (double) (latestYear - earliestYear);
-            }
-        }
-        
-        return 0.0;
+        int parameters = contentType.indexOf(';');
+        return (parameters >= 0 ? contentType.substring(0, parameters) : contentType).trim();
     }
     
-    private String extractExperience(String text) {
-        // Look for experience section
-        String[] experienceKeywords = {"experience", "work history", "employment", "professional experience"};
-        return extractSection(text, experienceKeywords);
-    }
+    private record ExtractedText(String text, String mimeType, boolean truncated) {}
     
-    private String extractEducation(String text) {
-        // Look for education section
-        String[] educationKeywords = {"education", "academic", "qualification", "degree"};
-        return extractSection(text, educationKeywords);
+    private static class ParseDeadlineException extends SAXException {
+        ParseDeadlineException() {
+            super("Resume parsing exceeded its time limit");
+        }
     }
     
-    private String extractSection(String text, String[] keywords) {
-        String lowerText = text.toLowerCase();
-        int startIndex = -1;
+    /**
+     * Aborts the parse from inside Tika's callbacks once the deadline passes or the caller gives up
+     */
+    private static class DeadlineContentHandler extends ContentHandlerDecorator {
+        private final long deadline;
+        
+        DeadlineContentHandler(BodyContentHandler handler, long deadline) {
+            super(handler);
+            this.deadline = deadline;
+        }
         
-        // Find the start of the section
-        for (String keyword : keywords) {
-            int index = lowerText.indexOf(keyword);
-            if (index != -1 && (startIndex == -1 || index < startIndex)) {
-                startIndex = index;
+        private void checkDeadline() throws SAXException {
+            if (Thread.currentThread().isInterrupted() || System.nanoTime() > deadline) {
+                throw new ParseDeadlineException();
             }
         }
         
-        if (startIndex == -1) {
-            return "";
+        @Override
+        public void characters(char[] ch, int start, int length) throws SAXException {
+            checkDeadline();
+            super.characters(ch, start, length);
         }
         
-        // Find the end of the section (next section or end of text)
-        String[] allSectionKeywords = {
-            "experience", "education", "skills", "projects", "certifications",
-            "references", "interests", "hobbies", "achievements", "awards"
-        };
-        
-        int endIndex = text.length();
-        for (String keyword : allSectionKeywords) {
-            int index = lowerText.indexOf(keyword, startIndex + 50); // +50 to skip current section header
-            if (index != -1 && index < endIndex) {
-                endIndex = index;
-            }
+        @Override
+        public void startElement(String uri, String localName, String name, Attributes atts) throws SAXException {
+            checkDeadline();
+            super.startElement(uri, localName, name, atts);
         }
-        
-        return text.substring(startIndex, endIndex).trim();
     }
     
-    private Map<String, String> extractSections(String text) {
-        Map<String, String> sections = new HashMap<>();
-        
-        // Common section headers
-        String[][] sectionKeywords = {
-            {"summary", "profile", "objective"},
-            {"experience", "work history", "employment"},
-            {"education", "academic"},
-            {"skills", "technical skills", "competencies"},
-            {"projects", "project experience"},
-            {"certifications", "certificates"},
-            {"achievements", "accomplishments", "awards"}
-        };
-        
-        for (String[] keywords : sectionKeywords) {
-            String section = extractSection(text, keywords);
-            if (!section.isEmpty()) {
-                sections.put(keywords[0], section);
-            }
-        }
-        
-        return sections;
+    // Canonical names, so synonyms such as "k8s" and "kubernetes" give the same skill
+    private List<String> extractSkills(String text) {
+        return skillTaxonomy.normalize(text);
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,295 @@
+package com.example.jobportal.service;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.EnumSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.stereotype.Service;
+import org.springframework.web.multipart.MultipartFile;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import com.example.jobportal.model.ProcessingStatus;
+import com.example.jobportal.model.Resume;
+import com.example.jobportal.model.User;
+import com.example.jobportal.repository.ResumeRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Takes uploaded resumes from PENDING to COMPLETED or FAILED off the request thread.
+ * Upload stores the file and the PENDING row; a worker then runs text and field extraction
+ * and, when enabled, the ML service analysis. Clients poll the status or subscribe to it over SSE.
+ */
+@Service
+@Slf4j
+public class ResumeProcessingService {
+
+    private static final Set<ProcessingStatus> FINISHED =
+            EnumSet.of(ProcessingStatus.COMPLETED, ProcessingStatus.FAILED, ProcessingStatus.EXPIRED);
+
+    @Autowired
+    private ResumeRepository resumeRepository;
+
+    @Autowired
+    private FileStorageService fileStorageService;
+
+    @Autowired
+    private ResumeParserService resumeParserService;
+
+    @Autowired
+    private MLIntegrationService mlIntegrationService;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    @Qualifier("resumeProcessingExecutor")
+    private ThreadPoolTaskExecutor resumeProcessingExecutor;
+
+    @Value("${resume.processing.ml-enabled:false}")
+    private boolean mlEnabled;
+
+    @Value("${resume.processing.temporary-hours:2}")
+    private int temporaryHours;
+
+    @Value("${resume.processing.stale-minutes:10}")
+    private int staleMinutes;
+
+    @Value("${resume.processing.sse-timeout-ms:120000}")
+    private long sseTimeoutMillis;
+
+    private final Map<Long, List<SseEmitter>> subscribers = new ConcurrentHashMap<>();
+
+    /**
+     * Store the upload, persist a PENDING resume and hand it to the workers
+     */
+    public Resume submit(MultipartFile file, User user, String sessionId, boolean temporary) throws IOException {
+        String filePath = temporary
+                ? fileStorageService.storeTemporaryFile(file, sessionId)
+                : fileStorageService.storePermanentFile(file, user.getId());
+
+        Resume resume = new Resume();
+        resume.setUser(user);
+        resume.setFileName(file.getOriginalFilename());
+        resume.setFilePath(filePath);
+        resume.setFileType(file.getContentType() != null ? file.getContentType() : "application/octet-stream");
+        resume.setFileSize(file.getSize());
+        resume.setSessionId(sessionId);
+        resume.setTemporaryOnly(temporary);
+        resume.setUploadedAt(LocalDateTime.now());
+        if (temporary) {
+            resume.setExpiresAt(LocalDateTime.now().plusHours(temporaryHours));
+        }
+        resume = resumeRepository.save(resume);
+
+        dispatch(resume.getId());
+        return resume;
+    }
+
+    /**
+     * Queue a resume for processing; if the workers are saturated it stays PENDING for the recovery pass
+     */
+    public void dispatch(Long resumeId) {
+        try {
+            resumeProcessingExecutor.execute(() -> process(resumeId));
+        } catch (TaskRejectedException e) {
+            log.warn("Resume processing queue is full, resume {} left pending", resumeId);
+        }
+    }
+
+    /**
+     * Re-dispatch resumes left pending by a full queue or a restart, and reclaim stalled ones
+     */
+    public int recoverPending(int limit) {
+        LocalDateTime now = LocalDateTime.now();
+        int reset = resumeRepository.resetStalledProcessing(ProcessingStatus.PROCESSING, ProcessingStatus.PENDING,
+                now.minusMinutes(staleMinutes));
+        if (reset > 0) {
+            log.warn("Returned {} stalled resumes to the processing queue", reset);
+        }
+
+        // Leave fresh uploads to the dispatch that submitted them
+        List<Long> pending = resumeRepository.findIdsByProcessingStatusUploadedBefore(ProcessingStatus.PENDING,
+                now.minusMinutes(1), PageRequest.of(0, limit));
+        pending.forEach(this::dispatch);
+        return pending.size();
+    }
+
+    /**
+     * Run one resume through extraction and analysis. Only the worker that claims the row processes it.
+     */
+    public void process(Long resumeId) {
+        if (resumeRepository.claimForProcessing(resumeId, ProcessingStatus.PENDING, ProcessingStatus.PROCESSING,
+                LocalDateTime.now()) == 0) {
+            return;
+        }
+        Resume resume = resumeRepository.findById(resumeId).orElse(null);
+        if (resume == null) {
+            return;
+        }
+        publish(resume);
+
+        try {
+            Path file = Paths.get(resume.getFilePath());
+            Map<String, Object> parsed = resumeParserService.parseResume(file, resume.getFileName());
+            if (!(boolean) parsed.getOrDefault("success", false)) {
+                throw new RuntimeException((String) parsed.get("error"));
+            }
+            applyParsedData(resume, parsed);
+
+            if (mlEnabled) {
+                try {
+                    String mlSessionId = resume.getSessionId() != null ? resume.getSessionId() : "resume-" + resume.getId();
+                    resume.setMlMemberId(mlIntegrationService
+                            .uploadCVToMLService(file, resume.getFileName(), mlSessionId).getMemberId());
+                } catch (Exception e) {
+                    // The local extraction is still usable without the ML analysis
+                    log.warn("ML analysis failed for resume {}: {}", resumeId, e.getMessage());
+                    resume.setProcessingError(truncate("ML analysis unavailable: " + e.getMessage(), 1000));
+                }
+            }
+
+            transition(resume, ProcessingStatus.COMPLETED);
+        } catch (Exception e) {
+            log.error("Error processing resume {}: {}", resumeId, e.getMessage());
+            resume.setProcessingError(truncate(e.getMessage(), 1000));
+            transition(resume, ProcessingStatus.FAILED);
+        }
+
+        resume.setProcessedAt(LocalDateTime.now());
+        resume = resumeRepository.save(resume);
+        publish(resume);
+    }
+
+    /**
+     * Subscribe to status changes of a resume. The stream ends once processing has finished.
+     */
+    public SseEmitter subscribe(Resume resume) {
+        SseEmitter emitter = new SseEmitter(sseTimeoutMillis);
+        Long resumeId = resume.getId();
+        subscribers.computeIfAbsent(resumeId, id -> new CopyOnWriteArrayList<>()).add(emitter);
+        emitter.onCompletion(() -> unsubscribe(resumeId, emitter));
+        emitter.onTimeout(() -> unsubscribe(resumeId, emitter));
+        emitter.onError(e -> unsubscribe(resumeId, emitter));
+
+        // Re-read after registering so a status change in between is not missed
+        Resume current = resumeRepository.findById(resumeId).orElse(resume);
+        send(emitter, current);
+        if (FINISHED.contains(current.getProcessingStatus())) {
+            emitter.complete();
+        }
+        return emitter;
+    }
+
+    /**
+     * Status and, once finished, the extracted fields of a resume
+     */
+    public Map<String, Object> statusView(Resume resume) {
+        Map<String, Object> view = new LinkedHashMap<>();
+        view.put("resumeId", resume.getId());
+        view.put("fileName", resume.getFileName());
+        view.put("status", resume.getProcessingStatus());
+        view.put("uploadedAt", resume.getUploadedAt());
+        view.put("processedAt", resume.getProcessedAt());
+        view.put("error", resume.getProcessingError());
+
+        if (resume.getProcessingStatus() == ProcessingStatus.COMPLETED) {
+            view.put("email", resume.getExtractedEmail());
+            view.put("phone", resume.getExtractedPhone());
+            view.put("skills", resume.getExtractedSkills() == null || resume.getExtractedSkills().isEmpty()
+                    ? new ArrayList<String>()
+                    : Arrays.asList(resume.getExtractedSkills().split(", ")));
+            view.put("experienceYears", resume.getExperienceYears());
+            view.put("educationLevel", resume.getEducationLevel());
+            view.put("mlMemberId", resume.getMlMemberId());
+        }
+        return view;
+    }
+
+    /**
+     * Copy the fields of a successful parse onto the resume
+     */
+    @SuppressWarnings("unchecked")
+    void applyParsedData(Resume resume, Map<String, Object> parsed) throws IOException {
+        List<String> skills = (List<String>) parsed.getOrDefault("skills", new ArrayList<String>());
+        String skillList = String.join(", ", skills);
+
+        resume.setExtractedText(truncate((String) parsed.get("rawText"), 10000));
+        resume.setExtractedEmail(truncate((String) parsed.get("email"), 255));
+        resume.setExtractedPhone(truncate((String) parsed.get("phone"), 255));
+        resume.setExtractedSkills(truncate(skillList, 2000));
+        resume.setSkills(truncate(skillList, 255));
+        resume.setExperienceYears((Double) parsed.get("experienceYears"));
+        resume.setEducationLevel((String) parsed.get("educationLevel"));
+        resume.setExtractedEducation(truncate((String) parsed.get("education"), 255));
+        resume.setExtractedExperience(truncate((String) parsed.get("experience"), 255));
+        resume.setParserVersion(ResumeParserService.PARSER_VERSION);
+        resume.setParserTaxonomyVersion((Integer) parsed.get("taxonomyVersion"));
+
+        // Keep the structured fields; the raw text and sections are stored or derivable elsewhere
+        Map<String, Object> summary = new LinkedHashMap<>();
+        for (String key : List.of("email", "phone", "skills", "educationLevel", "experienceYears", "mimeType", "truncated")) {
+            summary.put(key, parsed.get(key));
+        }
+        String json = objectMapper.writeValueAsString(summary);
+        resume.setParsedData(json.length() <= 5000 ? json : null);
+    }
+
+    private void transition(Resume resume, ProcessingStatus status) {
+        resume.setProcessingStatus(status);
+        resume.setStatus(status);
+    }
+
+    private void publish(Resume resume) {
+        List<SseEmitter> emitters = subscribers.get(resume.getId());
+        if (emitters == null) {
+            return;
+        }
+        boolean finished = FINISHED.contains(resume.getProcessingStatus());
+        for (SseEmitter emitter : emitters) {
+            send(emitter, resume);
+            if (finished) {
+                emitter.complete();
+            }
+        }
+        if (finished) {
+            subscribers.remove(resume.getId());
+        }
+    }
+
+    private void send(SseEmitter emitter, Resume resume) {
+        try {
+            emitter.send(SseEmitter.event().name("status").data(statusView(resume)));
+        } catch (IOException | IllegalStateException e) {
+            unsubscribe(resume.getId(), emitter);
+        }
+    }
+
+    private void unsubscribe(Long resumeId, SseEmitter emitter) {
+        subscribers.computeIfPresent(resumeId, (id, emitters) -> {
+            emitters.remove(emitter);
+            return emitters.isEmpty() ? null : emitters;
+        });
+    }
+
+    private String truncate(String value, int maxLength) {
+        return value != null && value.length() > maxLength ? value.substring(0, maxLength) : value;
+    }
+}
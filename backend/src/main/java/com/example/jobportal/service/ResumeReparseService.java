@@ -0,0 +1,269 @@
+package com.example.jobportal.service;
+
+import java.nio.file.Paths;
+import java.time.LocalDateTime;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.example.jobportal.model.ProcessingStatus;
+import com.example.jobportal.model.Resume;
+import com.example.jobportal.repository.ResumeRepository;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Re-runs extraction over stored resumes parsed by an older {@link ResumeParserService#PARSER_VERSION}
+ * or against another {@link SkillTaxonomy} version.
+ * Resumes are read in id order, parsed in parallel on a fork-join pool and written back a batch at a
+ * time. Rows that fail keep their old version and are retried by the next run.
+ */
+@Service
+@Slf4j
+public class ResumeReparseService {
+
+    @Autowired
+    private ResumeRepository resumeRepository;
+
+    @Autowired
+    private FileStorageService fileStorageService;
+
+    @Autowired
+    private ResumeParserService resumeParserService;
+
+    @Autowired
+    private ResumeProcessingService resumeProcessingService;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private SkillTaxonomy skillTaxonomy;
+
+    @Value("${resume.reparse.parallelism:2}")
+    private int parallelism;
+    
+    @Value("${resume.parser.threads:2}")
+    private int parserThreads;
+
+    @Value("${resume.reparse.batch-size:50}")
+    private int batchSize;
+
+    private ForkJoinPool pool;
+    
+    // Text extraction runs on the shared parse executor; leave at least one of its threads to uploads
+    private Semaphore parseSlots;
+
+    private volatile ReparseJob currentJob;
+
+    // Progress of one run, updated by the pool threads and read by the admin endpoints
+    private static class ReparseJob {
+        final String id = UUID.randomUUID().toString();
+        final int parserVersion = ResumeParserService.PARSER_VERSION;
+        final int taxonomyVersion;
+        final LocalDateTime startedAt = LocalDateTime.now();
+        final AtomicInteger processed = new AtomicInteger();
+        final AtomicInteger updated = new AtomicInteger();
+        final AtomicInteger failed = new AtomicInteger();
+        final AtomicInteger missingFiles = new AtomicInteger();
+        volatile long total;
+        volatile String status = "RUNNING";
+        volatile boolean cancelRequested;
+        volatile LocalDateTime finishedAt;
+        volatile String error;
+
+        ReparseJob(int taxonomyVersion) {
+            this.taxonomyVersion = taxonomyVersion;
+        }
+
+        boolean running() {
+            return finishedAt == null;
+        }
+    }
+
+    @PostConstruct
+    public void init() {
+        pool = new ForkJoinPool(parallelism);
+        parseSlots = new Semaphore(Math.max(1, Math.min(parallelism, parserThreads - 1)));
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        ReparseJob job = currentJob;
+        if (job != null) {
+            job.cancelRequested = true;
+        }
+        pool.shutdownNow();
+    }
+
+    /**
+     * Start a re-parse of all stale resumes, unless one is already running
+     */
+    public synchronized Map<String, Object> start() {
+        ReparseJob running = currentJob;
+        if (running != null && running.running()) {
+            Map<String, Object> progress = progress(running);
+            progress.put("started", false);
+            return progress;
+        }
+
+        ReparseJob job = new ReparseJob(skillTaxonomy.version());
+        job.total = resumeRepository.countWithStaleParse(ProcessingStatus.COMPLETED, job.parserVersion,
+                job.taxonomyVersion);
+        currentJob = job;
+        pool.execute(() -> run(job));
+        log.info("Resume re-parse {} started for {} resumes not on parser version {} and taxonomy version {}",
+                job.id, job.total, job.parserVersion, job.taxonomyVersion);
+
+        Map<String, Object> progress = progress(job);
+        progress.put("started", true);
+        return progress;
+    }
+
+    /**
+     * Ask the running re-parse to stop. Resumes already parsed in the current batch are still saved.
+     */
+    public Map<String, Object> cancel() {
+        ReparseJob job = currentJob;
+        if (job == null) {
+            return null;
+        }
+        if (job.running()) {
+            job.cancelRequested = true;
+        }
+        return progress(job);
+    }
+
+    /**
+     * Progress of the running or most recent re-parse, or null if none has run
+     */
+    public Map<String, Object> status() {
+        ReparseJob job = currentJob;
+        return job != null ? progress(job) : null;
+    }
+
+    private void run(ReparseJob job) {
+        try {
+            // Walk ids upwards so rows that failed, and so kept their old version, are not fetched again
+            long afterId = 0;
+            List<Long> ids;
+            while (!job.cancelRequested && !(ids = resumeRepository.findIdsWithStaleParse(
+                    ProcessingStatus.COMPLETED, job.parserVersion, job.taxonomyVersion, afterId,
+                    PageRequest.of(0, batchSize))).isEmpty()) {
+                afterId = ids.get(ids.size() - 1);
+                reparseBatch(job, resumeRepository.findAllById(ids));
+            }
+            job.status = job.cancelRequested ? "CANCELLED" : "COMPLETED";
+        } catch (Exception e) {
+            log.error("Resume re-parse {} failed", job.id, e);
+            job.error = e.toString();
+            job.status = "FAILED";
+        }
+        job.finishedAt = LocalDateTime.now();
+        log.info("Resume re-parse {} finished: {}", job.id, progress(job));
+    }
+
+    private void reparseBatch(ReparseJob job, List<Resume> batch) {
+        // Runs on a pool thread, so the parallel stream is split across this pool rather than the common one
+        Map<Long, Map<String, Object>> parsed = new ConcurrentHashMap<>();
+        batch.parallelStream()
+                .filter(resume -> !job.cancelRequested)
+                .forEach(resume -> {
+                    Map<String, Object> result = parse(job, resume);
+                    if (result != null) {
+                        parsed.put(resume.getId(), result);
+                    }
+                });
+        if (parsed.isEmpty()) {
+            return;
+        }
+
+        // Apply to freshly loaded rows so concurrent edits to other fields are kept and deleted rows are skipped
+        int saved = transactionTemplate.execute(status -> {
+            List<Resume> current = resumeRepository.findAllById(parsed.keySet());
+            Map<Long, Resume> byId = current.stream().collect(Collectors.toMap(Resume::getId, Function.identity()));
+            int count = 0;
+            for (Map.Entry<Long, Map<String, Object>> entry : parsed.entrySet()) {
+                Resume resume = byId.get(entry.getKey());
+                if (resume == null) {
+                    continue;
+                }
+                try {
+                    resumeProcessingService.applyParsedData(resume, entry.getValue());
+                    count++;
+                } catch (Exception e) {
+                    log.warn("Could not apply re-parsed data to resume {}: {}", resume.getId(), e.getMessage());
+                    job.failed.incrementAndGet();
+                }
+            }
+            return count;
+        });
+        job.updated.addAndGet(saved);
+    }
+
+    // Parsed fields of one resume, or null if it could not be parsed
+    private Map<String, Object> parse(ReparseJob job, Resume resume) {
+        try {
+            if (!fileStorageService.fileExists(resume.getFilePath())) {
+                job.missingFiles.incrementAndGet();
+                return null;
+            }
+            Map<String, Object> parsed;
+            parseSlots.acquire();
+            try {
+                parsed = resumeParserService.parseResume(Paths.get(resume.getFilePath()), resume.getFileName());
+            } finally {
+                parseSlots.release();
+            }
+            if (!(boolean) parsed.getOrDefault("success", false)) {
+                log.warn("Re-parse of resume {} failed: {}", resume.getId(), parsed.get("error"));
+                job.failed.incrementAndGet();
+                return null;
+            }
+            return parsed;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            job.cancelRequested = true;
+            return null;
+        } catch (Exception e) {
+            log.warn("Re-parse of resume {} failed: {}", resume.getId(), e.getMessage());
+            job.failed.incrementAndGet();
+            return null;
+        } finally {
+            job.processed.incrementAndGet();
+        }
+    }
+
+    private Map<String, Object> progress(ReparseJob job) {
+        Map<String, Object> progress = new LinkedHashMap<>();
+        progress.put("jobId", job.id);
+        progress.put("status", job.running() && job.cancelRequested ? "CANCELLING" : job.status);
+        progress.put("parserVersion", job.parserVersion);
+        progress.put("taxonomyVersion", job.taxonomyVersion);
+        progress.put("total", job.total);
+        progress.put("processed", job.processed.get());
+        progress.put("updated", job.updated.get());
+        progress.put("failed", job.failed.get());
+        progress.put("missingFiles", job.missingFiles.get());
+        progress.put("percentComplete", job.total == 0 ? 100 : Math.min(100, job.processed.get() * 100 / job.total));
+        progress.put("startedAt", job.startedAt);
+        progress.put("finishedAt", job.finishedAt);
+        progress.put("error", job.error);
+        return progress;
+    }
+}
@@ -0,0 +1,81 @@
+package com.example.jobportal.service;
+
+import java.lang.management.ManagementFactory;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.example.jobportal.model.CompanySource;
+import com.example.jobportal.repository.CompanySourceRepository;
+
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+
+@Service
+@Slf4j
+public class ScrapeLeaseService {
+
+    @Autowired
+    private CompanySourceRepository companySourceRepository;
+
+    @Value("${scraper.node-id:}")
+    private String configuredNodeId;
+
+    @Value("${scraper.lease-minutes:60}")
+    private int leaseMinutes;
+
+    private String nodeId;
+
+    @PostConstruct
+    public void init() {
+        nodeId = configuredNodeId != null && !configuredNodeId.isBlank()
+                ? configuredNodeId
+                : ManagementFactory.getRuntimeMXBean().getName() + "-" + UUID.randomUUID().toString().substring(0, 8);
+        log.info("Scraper node id: {}", nodeId);
+    }
+
+    /**
+     * Claim the next due source for this node, right before it is scraped, so the lease covers
+     * that scrape alone. Rows locked by another node's claim are skipped, and expired leases are reclaimed.
+     */
+    @Transactional
+    public Optional<CompanySource> claimNextDueSource() {
+        LocalDateTime now = LocalDateTime.now();
+        List<Long> ids = companySourceRepository.lockDueSourceIds(now, 1);
+        if (ids.isEmpty()) {
+            return Optional.empty();
+        }
+
+        companySourceRepository.assignLease(ids, nodeId, now.plusMinutes(leaseMinutes));
+        return companySourceRepository.findById(ids.get(0));
+    }
+
+    /**
+     * Lease one specific source for this node, returning false if another lease is live
+     */
+    public boolean tryClaim(CompanySource source) {
+        LocalDateTime now = LocalDateTime.now();
+        return companySourceRepository.tryLease(source.getId(), nodeId, now, now.plusMinutes(leaseMinutes)) > 0;
+    }
+
+    /**
+     * Release a lease held by this node
+     */
+    public void release(CompanySource source) {
+        companySourceRepository.releaseLease(source.getId(), nodeId);
+    }
+
+    public String getNodeId() {
+        return nodeId;
+    }
+
+    public int getLeaseMinutes() {
+        return leaseMinutes;
+    }
+}
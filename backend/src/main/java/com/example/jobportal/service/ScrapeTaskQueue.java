@@ -0,0 +1,179 @@
+package com.example.jobportal.service;
+
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Set;
+
+import org.jsoup.HttpStatusException;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.example.jobportal.model.CompanySource;
+import com.example.jobportal.model.ScrapeTask;
+import com.example.jobportal.model.ScrapeTaskStatus;
+import com.example.jobportal.model.ScrapeTaskType;
+import com.example.jobportal.repository.ScrapeTaskRepository;
+
+import lombok.extern.slf4j.Slf4j;
+
+@Service
+@Slf4j
+public class ScrapeTaskQueue {
+
+    private static final Set<ScrapeTaskStatus> OPEN = EnumSet.of(ScrapeTaskStatus.PENDING, ScrapeTaskStatus.RUNNING);
+    private static final int MAX_BACKOFF_DOUBLINGS = 10;
+
+    @Autowired
+    private ScrapeTaskRepository scrapeTaskRepository;
+
+    @Autowired
+    private ScrapeLeaseService scrapeLeaseService;
+
+    @Value("${scraper.tasks.max-attempts:5}")
+    private int maxAttempts;
+
+    @Value("${scraper.tasks.backoff-base-seconds:60}")
+    private long backoffBaseSeconds;
+
+    @Value("${scraper.tasks.lease-minutes:15}")
+    private int leaseMinutes;
+
+    /**
+     * Whether a failed fetch is worth retrying; client errors other than 408 and 429 are permanent
+     */
+    public static boolean isRetryable(IOException e) {
+        if (e instanceof HttpStatusException statusException) {
+            int status = statusException.getStatusCode();
+            return status >= 500 || status == 408 || status == 429;
+        }
+        return true;
+    }
+
+    /**
+     * Queue a retry of a failed source fetch, unless one is already open
+     */
+    public void enqueueSourceRetry(CompanySource source, String error) {
+        if (scrapeTaskRepository.existsBySourceAndTypeAndStatusIn(source, ScrapeTaskType.SOURCE_FETCH, OPEN)) {
+            return;
+        }
+        enqueue(new ScrapeTask(ScrapeTaskType.SOURCE_FETCH, source, null, maxAttempts), error);
+    }
+
+    /**
+     * Queue a retry of a failed detail page fetch, unless one is already open for the URL
+     */
+    public void enqueueDetailFetch(CompanySource source, String url, String error) {
+        if (scrapeTaskRepository.existsBySourceAndTypeAndUrlAndStatusIn(source, ScrapeTaskType.DETAIL_FETCH, url, OPEN)) {
+            return;
+        }
+        enqueue(new ScrapeTask(ScrapeTaskType.DETAIL_FETCH, source, url, maxAttempts), error);
+    }
+
+    private void enqueue(ScrapeTask task, String error) {
+        task.setLastError(truncate(error));
+        task.setNextAttemptAt(LocalDateTime.now().plusSeconds(backoffSeconds(1)));
+        scrapeTaskRepository.save(task);
+        log.info("Queued {} retry for {}", task.getType(), task.getUrl() != null ? task.getUrl() : task.getSource().getCompanyName());
+    }
+
+    /**
+     * Claim up to {@code limit} due tasks for this node.
+     * Rows locked by another node's claim are skipped, so several workers can claim at once.
+     */
+    @Transactional
+    public List<ScrapeTask> claimDue(int limit) {
+        LocalDateTime now = LocalDateTime.now();
+        List<Long> ids = scrapeTaskRepository.lockDueTaskIds(now, limit);
+        if (ids.isEmpty()) {
+            return new ArrayList<>();
+        }
+
+        // A source fetch runs a full scrape under the source lease; its task must not expire first
+        // and be reclaimed for a second attempt
+        int taskLeaseMinutes = Math.max(leaseMinutes, scrapeLeaseService.getLeaseMinutes());
+        scrapeTaskRepository.assignWorker(ids, ScrapeTaskStatus.RUNNING, scrapeLeaseService.getNodeId(),
+                now.plusMinutes(taskLeaseMinutes));
+        return scrapeTaskRepository.findWithSourceByIdIn(ids);
+    }
+
+    public void complete(ScrapeTask task) {
+        task.setStatus(ScrapeTaskStatus.DONE);
+        task.setFinishedAt(LocalDateTime.now());
+        task.setLockedBy(null);
+        task.setLockedUntil(null);
+        scrapeTaskRepository.save(task);
+    }
+
+    /**
+     * Record a failed attempt: back off exponentially, or dead-letter the task once attempts run out
+     */
+    public void fail(ScrapeTask task, String error, boolean retryable) {
+        task.setLastError(truncate(error));
+        task.setLockedBy(null);
+        task.setLockedUntil(null);
+
+        if (!retryable || task.getAttempts() >= task.getMaxAttempts()) {
+            task.setStatus(ScrapeTaskStatus.DEAD);
+            task.setFinishedAt(LocalDateTime.now());
+            log.warn("Scrape task {} dead after {} attempts: {}", task.getId(), task.getAttempts(), error);
+        } else {
+            task.setStatus(ScrapeTaskStatus.PENDING);
+            task.setNextAttemptAt(LocalDateTime.now().plusSeconds(backoffSeconds(task.getAttempts() + 1)));
+        }
+        scrapeTaskRepository.save(task);
+    }
+
+    /**
+     * Put a claimed task back without counting the attempt, e.g. when its source is being scraped elsewhere
+     */
+    public void postpone(ScrapeTask task) {
+        task.setStatus(ScrapeTaskStatus.PENDING);
+        task.setAttempts(Math.max(0, task.getAttempts() - 1));
+        task.setLockedBy(null);
+        task.setLockedUntil(null);
+        task.setNextAttemptAt(LocalDateTime.now().plusSeconds(backoffBaseSeconds));
+        scrapeTaskRepository.save(task);
+    }
+
+    /**
+     * Close pending source retries once the source has been scraped successfully
+     */
+    public void closePendingSourceRetries(CompanySource source) {
+        scrapeTaskRepository.closePending(source, ScrapeTaskType.SOURCE_FETCH,
+                ScrapeTaskStatus.PENDING, ScrapeTaskStatus.DONE, LocalDateTime.now());
+    }
+
+    /**
+     * Move a dead task back to the queue with a fresh attempt budget
+     */
+    public ScrapeTask retry(Long taskId) {
+        ScrapeTask task = scrapeTaskRepository.findById(taskId)
+                .orElseThrow(() -> new RuntimeException("Scrape task not found"));
+        task.setStatus(ScrapeTaskStatus.PENDING);
+        task.setAttempts(0);
+        task.setFinishedAt(null);
+        task.setNextAttemptAt(LocalDateTime.now());
+        return scrapeTaskRepository.save(task);
+    }
+
+    /**
+     * Delete completed tasks older than the retention period
+     */
+    public int purgeFinished(int retentionDays) {
+        return scrapeTaskRepository.deleteFinishedBefore(ScrapeTaskStatus.DONE,
+                LocalDateTime.now().minusDays(retentionDays));
+    }
+
+    private long backoffSeconds(int attempt) {
+        return backoffBaseSeconds << Math.min(Math.max(attempt - 1, 0), MAX_BACKOFF_DOUBLINGS);
+    }
+
+    private String truncate(String error) {
+        return error != null && error.length() > 1000 ? error.substring(0, 1000) : error;
+    }
+}
@@ -0,0 +1,99 @@
+package com.example.jobportal.service;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import com.example.jobportal.model.CompanySource;
+import com.example.jobportal.model.ScrapeTask;
+
+import lombok.extern.slf4j.Slf4j;
+
+@Service
+@Slf4j
+public class ScrapeTaskWorker {
+
+    @Autowired
+    private ScrapeTaskQueue scrapeTaskQueue;
+
+    @Autowired
+    private WebScraperService webScraperService;
+
+    @Autowired
+    private ScrapeLeaseService scrapeLeaseService;
+
+    @Autowired
+    @Qualifier("scrapeTaskExecutor")
+    private Executor scrapeTaskExecutor;
+
+    @Value("${scraper.tasks.claim-batch-size:10}")
+    private int claimBatchSize;
+
+    /**
+     * Claim and run due tasks batch by batch until the queue has nothing due
+     */
+    public int processDueTasks() {
+        int processed = 0;
+        List<ScrapeTask> tasks = scrapeTaskQueue.claimDue(claimBatchSize);
+
+        while (!tasks.isEmpty()) {
+            CompletableFuture<?>[] runs = tasks.stream()
+                    .map(task -> CompletableFuture.runAsync(() -> run(task), scrapeTaskExecutor))
+                    .toArray(CompletableFuture[]::new);
+            CompletableFuture.allOf(runs).join();
+
+            processed += tasks.size();
+            tasks = scrapeTaskQueue.claimDue(claimBatchSize);
+        }
+        return processed;
+    }
+
+    private void run(ScrapeTask task) {
+        try {
+            switch (task.getType()) {
+                case SOURCE_FETCH -> runSourceFetch(task);
+                case DETAIL_FETCH -> {
+                    webScraperService.refreshJobDetail(task.getSource(), task.getUrl());
+                    scrapeTaskQueue.complete(task);
+                }
+            }
+        } catch (IOException e) {
+            scrapeTaskQueue.fail(task, e.getMessage(), ScrapeTaskQueue.isRetryable(e));
+        } catch (Exception e) {
+            log.error("Error running scrape task {}: ", task.getId(), e);
+            scrapeTaskQueue.fail(task, e.getMessage(), true);
+        }
+    }
+
+    private void runSourceFetch(ScrapeTask task) {
+        CompanySource source = task.getSource();
+        if (!source.isActive()) {
+            scrapeTaskQueue.complete(task);
+            return;
+        }
+
+        // The scheduler may be scraping this source right now
+        if (!scrapeLeaseService.tryClaim(source)) {
+            scrapeTaskQueue.postpone(task);
+            return;
+        }
+
+        try {
+            Map<String, Object> result = webScraperService.scrapeCompanyJobs(source);
+            if ((boolean) result.getOrDefault("success", false)) {
+                scrapeTaskQueue.complete(task);
+            } else {
+                scrapeTaskQueue.fail(task, (String) result.get("error"), (boolean) result.getOrDefault("retryable", true));
+            }
+        } finally {
+            scrapeLeaseService.release(source);
+        }
+    }
+}
@@ -0,0 +1,224 @@
+package com.example.jobportal.service;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.jsoup.Jsoup;
+import org.jsoup.nodes.Document;
+import org.jsoup.nodes.Element;
+import org.jsoup.select.Selector;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+
+import com.example.jobportal.model.CompanySource;
+import com.example.jobportal.model.PageSnapshot;
+import com.example.jobportal.model.ScrapedJob;
+import com.example.jobportal.model.SnapshotPageType;
+import com.example.jobportal.repository.PageSnapshotRepository;
+import com.example.jobportal.repository.ScrapedJobRepository;
+
+import lombok.extern.slf4j.Slf4j;
+
+@Service
+@Slf4j
+public class SelectorReextractionService {
+
+    // Pages a scrape reads jobs from; feeds stand in for the listing page of ATS boards
+    private static final List<SnapshotPageType> LISTING_TYPES = List.of(SnapshotPageType.LISTING, SnapshotPageType.FEED);
+
+    @Autowired
+    private PageSnapshotRepository pageSnapshotRepository;
+
+    @Autowired
+    private ScrapedJobRepository scrapedJobRepository;
+
+    @Autowired
+    private SnapshotArchiveService snapshotArchiveService;
+
+    @Autowired
+    private WebScraperService webScraperService;
+
+    @Autowired
+    private StructuredJobExtractor structuredJobExtractor;
+
+    /**
+     * Replay the latest archived listing pages of a source through a set of selectors.
+     * Pages are read the way a live scrape reads them: feeds and JSON-LD postings through the
+     * structured extractor, other listing pages through the selectors. The result is matched against
+     * the source's existing scraped jobs the same way a live scrape is; unless {@code dryRun} is set,
+     * changed and new jobs are written back, with change records and updates to imported jobs.
+     *
+     * @param source the persisted source whose jobs are compared
+     * @param selectors the selectors to extract with (usually the source itself)
+     */
+    public Map<String, Object> reextract(CompanySource source, CompanySource selectors, boolean dryRun) {
+        Map<String, Object> result = new HashMap<>();
+        result.put("dryRun", dryRun);
+
+        Optional<PageSnapshot> latestListing = pageSnapshotRepository
+                .findFirstBySourceAndPageTypeInOrderByFetchedAtDesc(source, LISTING_TYPES);
+        if (latestListing.isEmpty()) {
+            result.put("success", false);
+            result.put("error", "No archived snapshots for this source");
+            return result;
+        }
+
+        List<PageSnapshot> listings = pageSnapshotRepository
+                .findByRunAndPageTypeIn(latestListing.get().getRun(), LISTING_TYPES);
+
+        // Newest snapshot wins for each detail page URL
+        Map<String, String> detailDigests = new HashMap<>();
+        for (PageSnapshot detail : pageSnapshotRepository
+                .findBySourceAndPageTypeOrderByFetchedAtDesc(source, SnapshotPageType.DETAIL)) {
+            detailDigests.putIfAbsent(detail.getUrl(), detail.getDigest());
+        }
+
+        CompiledSourceExtractor extractor;
+        try {
+            extractor = webScraperService.compiledExtractor(selectors);
+        } catch (Selector.SelectorParseException e) {
+            result.put("success", false);
+            result.put("error", "Invalid selector: " + e.getMessage());
+            return result;
+        }
+        
+        Map<String, LongAdder> fieldHits = new ConcurrentHashMap<>();
+        LongAdder elementCount = new LongAdder();
+        LongAdder structuredCount = new LongAdder();
+
+        // Parsing and selector evaluation are CPU bound, so pages are replayed across all cores
+        List<ScrapedJob> extracted;
+        try {
+            extracted = listings.parallelStream()
+                    .flatMap(listing -> extractListing(listing, extractor, detailDigests, fieldHits, elementCount,
+                            structuredCount).stream())
+                    .toList();
+        } catch (UncheckedIOException e) {
+            result.put("success", false);
+            result.put("error", "Could not read snapshot: " + e.getCause().getMessage());
+            return result;
+        }
+
+        WebScraperService.Reconciliation reconciliation = webScraperService.reconcile(extracted, source, null,
+                dryRun ? WebScraperService.ReconcileMode.PREVIEW : WebScraperService.ReconcileMode.REPLAY);
+        long missing = scrapedJobRepository.findBySourceAndActiveTrue(source).stream()
+                .filter(job -> !reconciliation.matchedIds().contains(job.getId()))
+                .count();
+        if (!dryRun) {
+            log.info("Re-extraction for {} updated {} and added {} jobs",
+                    source.getCompanyName(), reconciliation.updated(), reconciliation.added());
+        }
+
+        result.put("success", true);
+        result.put("runId", latestListing.get().getRun().getId());
+        result.put("listingPages", listings.size());
+        result.put("detailPagesAvailable", detailDigests.size());
+        result.put("jobElements", elementCount.sum());
+        // Jobs from feeds and JSON-LD, which the selectors did not take part in
+        result.put("structuredJobs", structuredCount.sum());
+        result.put("jobsExtracted", extracted.size());
+        result.put("selectorStats", selectorStats(selectors, fieldHits, elementCount.sum()));
+        result.put("unchanged", reconciliation.unchanged());
+        result.put("updated", reconciliation.updated());
+        result.put("added", reconciliation.added());
+        result.put("missing", missing);
+
+        return result;
+    }
+
+    private List<ScrapedJob> extractListing(PageSnapshot listing, CompiledSourceExtractor extractor,
+                                            Map<String, String> detailDigests, Map<String, LongAdder> fieldHits,
+                                            LongAdder elementCount, LongAdder structuredCount) {
+        if (listing.getPageType() == SnapshotPageType.FEED) {
+            List<ScrapedJob> feedJobs = parseFeed(listing);
+            structuredCount.add(feedJobs.size());
+            return feedJobs;
+        }
+
+        Document page = loadSnapshot(listing.getDigest(), listing.getUrl());
+        List<ScrapedJob> structuredJobs = structuredJobExtractor.extractJsonLd(page);
+        if (!structuredJobs.isEmpty()) {
+            structuredCount.add(structuredJobs.size());
+            return structuredJobs;
+        }
+
+        List<ScrapedJob> jobs = new ArrayList<>();
+
+        for (Element jobElement : extractor.jobElements(page)) {
+            elementCount.increment();
+
+            ScrapedJob job = extractor.extract(jobElement, url -> {
+                String digest = detailDigests.get(url);
+                return digest != null ? loadSnapshot(digest, url) : null;
+            });
+
+            countField(fieldHits, "title", job != null ? job.getTitle() : null);
+            if (job == null) {
+                continue;
+            }
+            countField(fieldHits, "location", job.getLocation());
+            countField(fieldHits, "jobType", job.getJobType());
+            countField(fieldHits, "salary", job.getSalary());
+            countField(fieldHits, "url", job.getExternalUrl());
+            countField(fieldHits, "description", job.getDescription());
+            jobs.add(job);
+        }
+
+        return jobs;
+    }
+
+    private List<ScrapedJob> parseFeed(PageSnapshot feed) {
+        try {
+            byte[] body = snapshotArchiveService.load(feed.getDigest());
+            return structuredJobExtractor.parseAtsFeed(feed.getUrl(), new String(body, StandardCharsets.UTF_8));
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private Document loadSnapshot(String digest, String url) {
+        try {
+            byte[] body = snapshotArchiveService.load(digest);
+            return Jsoup.parse(new ByteArrayInputStream(body), null, url);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private void countField(Map<String, LongAdder> fieldHits, String field, String value) {
+        if (value != null && !value.isEmpty()) {
+            fieldHits.computeIfAbsent(field, key -> new LongAdder()).increment();
+        }
+    }
+
+    private Map<String, Object> selectorStats(CompanySource selectors, Map<String, LongAdder> fieldHits, long elements) {
+        Map<String, String> selectorByField = new LinkedHashMap<>();
+        selectorByField.put("title", selectors.getJobTitleSelector());
+        selectorByField.put("location", selectors.getJobLocationSelector());
+        selectorByField.put("jobType", selectors.getJobTypeSelector());
+        selectorByField.put("salary", selectors.getJobSalarySelector());
+        selectorByField.put("url", selectors.getJobUrlSelector());
+        selectorByField.put("description", selectors.getJobDescriptionSelector());
+
+        Map<String, Object> stats = new LinkedHashMap<>();
+        selectorByField.forEach((field, selector) -> {
+            long matched = fieldHits.containsKey(field) ? fieldHits.get(field).sum() : 0;
+            Map<String, Object> fieldStats = new HashMap<>();
+            fieldStats.put("selector", selector);
+            fieldStats.put("matched", matched);
+            fieldStats.put("matchRate", elements > 0 ? (double) matched / elements : 0.0);
+            stats.put(field, fieldStats);
+        });
+        return stats;
+    }
+}
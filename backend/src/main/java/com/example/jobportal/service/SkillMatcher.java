@@ -0,0 +1,218 @@
+package com.example.jobportal.service;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+
+/**
+ * Case-insensitive dictionary matcher that finds every keyword in one pass over the text.
+ * Keywords are compiled into an Aho-Corasick automaton with a full transition table, so
+ * scanning costs one table lookup per character no matter how many keywords there are.
+ * A match only counts when it is not part of a larger word. Instances are immutable and thread safe.
+ */
+public final class SkillMatcher {
+
+    private static final int ASCII = 128;
+
+    private final String[] keywords;
+    private final int[] keywordLengths;
+
+    // Dense symbol index for every character that appears in a keyword
+    private final int[] asciiSymbols;
+    private final Map<Character, Integer> otherSymbols;
+
+    // transitions[state * symbolCount + symbol] -> next state
+    private final int[] transitions;
+    private final int symbolCount;
+
+    // Keyword ids ending at each state, including those reached through suffix links
+    private final int[][] outputs;
+
+    private SkillMatcher(List<String> keywords) {
+        this.keywords = keywords.toArray(new String[0]);
+        this.keywordLengths = new int[this.keywords.length];
+
+        this.asciiSymbols = new int[ASCII];
+        Arrays.fill(asciiSymbols, -1);
+        this.otherSymbols = new HashMap<>();
+        int symbols = 0;
+        for (String keyword : this.keywords) {
+            for (int i = 0; i < keyword.length(); i++) {
+                char c = keyword.charAt(i);
+                if (c < ASCII) {
+                    if (asciiSymbols[c] < 0) asciiSymbols[c] = symbols++;
+                } else if (!otherSymbols.containsKey(c)) {
+                    otherSymbols.put(c, symbols++);
+                }
+            }
+        }
+        this.symbolCount = Math.max(symbols, 1);
+
+        // Trie over the keywords
+        List<int[]> trie = new ArrayList<>();
+        List<List<Integer>> terminals = new ArrayList<>();
+        trie.add(newRow());
+        terminals.add(new ArrayList<>());
+        for (int id = 0; id < this.keywords.length; id++) {
+            String keyword = this.keywords[id];
+            keywordLengths[id] = keyword.length();
+            int state = 0;
+            for (int i = 0; i < keyword.length(); i++) {
+                int symbol = symbol(keyword.charAt(i));
+                if (trie.get(state)[symbol] < 0) {
+                    trie.get(state)[symbol] = trie.size();
+                    trie.add(newRow());
+                    terminals.add(new ArrayList<>());
+                }
+                state = trie.get(state)[symbol];
+            }
+            terminals.get(state).add(id);
+        }
+
+        // Breadth-first pass turns the trie into a DFA and merges outputs along suffix links
+        int states = trie.size();
+        this.transitions = new int[states * symbolCount];
+        this.outputs = new int[states][];
+        int[] fail = new int[states];
+        Queue<Integer> queue = new ArrayDeque<>();
+
+        outputs[0] = new int[0];
+        for (int symbol = 0; symbol < symbolCount; symbol++) {
+            int child = trie.get(0)[symbol];
+            if (child < 0) {
+                transitions[symbol] = 0;
+            } else {
+                transitions[symbol] = child;
+                fail[child] = 0;
+                queue.add(child);
+            }
+        }
+
+        while (!queue.isEmpty()) {
+            int state = queue.poll();
+            List<Integer> ids = new ArrayList<>(terminals.get(state));
+            for (int id : outputs[fail[state]]) ids.add(id);
+            outputs[state] = ids.stream().mapToInt(Integer::intValue).toArray();
+
+            for (int symbol = 0; symbol < symbolCount; symbol++) {
+                int child = trie.get(state)[symbol];
+                int fallback = transitions[fail[state] * symbolCount + symbol];
+                if (child < 0) {
+                    transitions[state * symbolCount + symbol] = fallback;
+                } else {
+                    transitions[state * symbolCount + symbol] = child;
+                    fail[child] = fallback;
+                    queue.add(child);
+                }
+            }
+        }
+    }
+
+    /**
+     * Compile a matcher for the given keywords; they are lower-cased, trimmed and de-duplicated
+     */
+    public static SkillMatcher of(Collection<String> keywords) {
+        LinkedHashSet<String> normalized = new LinkedHashSet<>();
+        for (String keyword : keywords) {
+            if (keyword != null && !keyword.isBlank()) {
+                normalized.add(keyword.trim().toLowerCase());
+            }
+        }
+        return new SkillMatcher(new ArrayList<>(normalized));
+    }
+
+    public int size() {
+        return keywords.length;
+    }
+
+    public String keyword(int id) {
+        return keywords[id];
+    }
+
+    public int keywordLength(int id) {
+        return keywordLengths[id];
+    }
+
+    /**
+     * Advance the automaton by one character of text; scans start from state 0.
+     * Lets callers drive the scan themselves and do other per-character work in the same loop.
+     */
+    public int step(int state, char c) {
+        int symbol = symbol(Character.toLowerCase(c));
+        return symbol < 0 ? 0 : transitions[state * symbolCount + symbol];
+    }
+
+    /**
+     * Ids of every keyword ending at the character that led to this state, ignoring word boundaries
+     */
+    public int[] endingAt(int state) {
+        return outputs[state];
+    }
+
+    /**
+     * Ids of the keywords that occur in the text as whole words
+     */
+    public BitSet matchIds(CharSequence text) {
+        BitSet found = new BitSet(keywords.length);
+        int state = 0;
+        int length = text.length();
+
+        for (int i = 0; i < length; i++) {
+            state = step(state, text.charAt(i));
+
+            int[] ids = outputs[state];
+            if (ids.length == 0) {
+                continue;
+            }
+            boolean endsWord = i + 1 >= length || !isWordChar(text.charAt(i + 1));
+            for (int id : ids) {
+                int start = i - keywordLengths[id] + 1;
+                if (!found.get(id)
+                        && (!isWordChar(keywords[id].charAt(keywordLengths[id] - 1)) || endsWord)
+                        && (!isWordChar(keywords[id].charAt(0)) || start == 0 || !isWordChar(text.charAt(start - 1)))) {
+                    found.set(id);
+                }
+            }
+        }
+        return found;
+    }
+
+    /**
+     * Keywords that occur in the text as whole words, in dictionary order
+     */
+    public List<String> findAll(CharSequence text) {
+        BitSet ids = matchIds(text);
+        List<String> matches = new ArrayList<>(ids.cardinality());
+        for (int id = ids.nextSetBit(0); id >= 0; id = ids.nextSetBit(id + 1)) {
+            matches.add(keywords[id]);
+        }
+        return matches;
+    }
+
+    private int[] newRow() {
+        int[] row = new int[symbolCount];
+        Arrays.fill(row, -1);
+        return row;
+    }
+
+    // Symbol index of a character, or -1 when no keyword contains it
+    private int symbol(char c) {
+        if (c < ASCII) {
+            return asciiSymbols[c];
+        }
+        Integer symbol = otherSymbols.get(c);
+        return symbol != null ? symbol : -1;
+    }
+
+    // Same notion of a word character as the regex \b it replaces
+    private static boolean isWordChar(char c) {
+        return Character.isLetterOrDigit(c) || c == '_';
+    }
+}
@@ -0,0 +1,59 @@
+package com.example.jobportal.service;
+
+import java.util.BitSet;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import com.example.jobportal.model.Job;
+import com.example.jobportal.model.Resume;
+import com.example.jobportal.model.User;
+
+import jakarta.persistence.PrePersist;
+import jakarta.persistence.PreUpdate;
+
+/**
+ * Normalises the free-text skills of jobs, users and resumes into taxonomy skill sets whenever
+ * they are written, so matching never has to parse skill strings.
+ * Hibernate obtains the listener from Spring, which injects the taxonomy.
+ */
+@Component
+public class SkillSetListener {
+
+    @Autowired
+    private SkillTaxonomy skillTaxonomy;
+
+    @PrePersist
+    @PreUpdate
+    public void beforeWrite(Object entity) {
+        if (entity instanceof Job job) {
+            index(job);
+        } else if (entity instanceof User user) {
+            index(user);
+        } else if (entity instanceof Resume resume) {
+            index(resume);
+        }
+    }
+
+    public void index(Job job) {
+        job.setRequiredSkillSet(skillSet(job.getRequiredSkills()));
+        job.setPreferredSkillSet(skillSet(job.getPreferredSkills()));
+        job.setSkillTaxonomyVersion(skillTaxonomy.version());
+    }
+
+    public void index(User user) {
+        user.setSkillSet(skillSet(user.getSkills()));
+        user.setSkillTaxonomyVersion(skillTaxonomy.version());
+    }
+
+    public void index(Resume resume) {
+        String skills = resume.getExtractedSkills() != null ? resume.getExtractedSkills() : resume.getSkills();
+        resume.setSkillSet(skillSet(skills));
+        resume.setSkillTaxonomyVersion(skillTaxonomy.version());
+    }
+
+    private byte[] skillSet(String skills) {
+        BitSet ids = skillTaxonomy.skillIds(skills);
+        return SkillTaxonomy.encode(ids);
+    }
+}
@@ -0,0 +1,190 @@
+package com.example.jobportal.service;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Service;
+
+import com.example.jobportal.model.Resume;
+import com.example.jobportal.repository.JobRepository;
+import com.example.jobportal.repository.ResumeRepository;
+import com.example.jobportal.repository.UserRepository;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Keeps the stored skill sets in step with the taxonomy and scores skill overlap between a
+ * candidate and the approved jobs. The job skill sets are held in memory as bit words, so
+ * scoring the whole catalogue is a popcount per job.
+ */
+@Service
+@Slf4j
+public class SkillSetService {
+
+    @Autowired
+    private JobRepository jobRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private ResumeRepository resumeRepository;
+
+    @Autowired
+    private SkillSetListener skillSetListener;
+
+    @Autowired
+    private SkillTaxonomy skillTaxonomy;
+
+    @Value("${skills.reindex.on-startup:true}")
+    private boolean reindexOnStartup;
+
+    @Value("${skills.reindex.batch-size:200}")
+    private int batchSize;
+
+    @Value("${skills.overlap.refresh-seconds:60}")
+    private long refreshSeconds;
+
+    private volatile JobSkillIndex jobIndex;
+
+    // Skill sets of the approved jobs, loaded at one point in time
+    private record JobSkillIndex(long[] jobIds, long[][] required, long[][] preferred, long loadedAt) {}
+
+    private record Scored(int index, int required, int preferred) {}
+
+    /**
+     * Index rows written before skill sets existed, or with an older taxonomy
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void reindexAtStartup() {
+        if (!reindexOnStartup) {
+            return;
+        }
+        try {
+            Map<String, Object> reindexed = reindexStale();
+            log.info("Skill sets re-indexed at startup: {}", reindexed);
+        } catch (Exception e) {
+            log.error("Error re-indexing skill sets: {}", e.getMessage());
+        }
+    }
+
+    public Map<String, Object> reindexStale() {
+        int version = skillTaxonomy.version();
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("taxonomyVersion", version);
+        result.put("jobs", reindex(page -> jobRepository.findWithStaleSkillSets(version, page),
+                skillSetListener::index, jobRepository::saveAll));
+        result.put("users", reindex(page -> userRepository.findWithStaleSkillSets(version, page),
+                skillSetListener::index, userRepository::saveAll));
+        result.put("resumes", reindex(page -> resumeRepository.findWithStaleSkillSets(version, page),
+                skillSetListener::index, resumeRepository::saveAll));
+        jobIndex = null;
+        return result;
+    }
+
+    /**
+     * Skill ids of a resume, falling back to its skill text when the set has not been stored yet
+     */
+    public BitSet skillSet(Resume resume) {
+        if (resume.getSkillSet() != null && Integer.valueOf(skillTaxonomy.version()).equals(resume.getSkillTaxonomyVersion())) {
+            return SkillTaxonomy.decode(resume.getSkillSet());
+        }
+        return skillTaxonomy.skillIds(resume.getExtractedSkills() != null ? resume.getExtractedSkills() : resume.getSkills());
+    }
+
+    /**
+     * Approved jobs sharing the most required skills with the candidate, then the most preferred ones
+     */
+    public List<Map<String, Object>> topJobsBySkillOverlap(BitSet skills, int limit) {
+        JobSkillIndex index = jobIndex();
+        long[] candidate = skills.toLongArray();
+
+        Comparator<Scored> byScore = Comparator.comparingInt(Scored::required).thenComparingInt(Scored::preferred);
+        PriorityQueue<Scored> top = new PriorityQueue<>(byScore);
+        for (int i = 0; i < index.jobIds().length; i++) {
+            int required = SkillTaxonomy.overlap(candidate, index.required()[i]);
+            int preferred = SkillTaxonomy.overlap(candidate, index.preferred()[i]);
+            if (required == 0 && preferred == 0) {
+                continue;
+            }
+            Scored scored = new Scored(i, required, preferred);
+            if (top.size() < limit) {
+                top.add(scored);
+            } else if (byScore.compare(scored, top.peek()) > 0) {
+                top.poll();
+                top.add(scored);
+            }
+        }
+
+        List<Scored> ranked = new ArrayList<>(top);
+        ranked.sort(byScore.reversed());
+        List<Map<String, Object>> results = new ArrayList<>(ranked.size());
+        for (Scored scored : ranked) {
+            long[] required = index.required()[scored.index()];
+            BitSet matched = BitSet.valueOf(required);
+            matched.and(skills);
+
+            Map<String, Object> result = new LinkedHashMap<>();
+            result.put("jobId", index.jobIds()[scored.index()]);
+            result.put("requiredMatched", scored.required());
+            result.put("requiredTotal", SkillTaxonomy.count(required));
+            result.put("preferredMatched", scored.preferred());
+            result.put("matchedSkills", skillTaxonomy.names(matched));
+            results.add(result);
+        }
+        return results;
+    }
+
+    // Reload the job skill sets once they are older than the refresh interval
+    private JobSkillIndex jobIndex() {
+        JobSkillIndex index = jobIndex;
+        long now = System.nanoTime();
+        if (index != null && now - index.loadedAt() < TimeUnit.SECONDS.toNanos(refreshSeconds)) {
+            return index;
+        }
+        synchronized (this) {
+            index = jobIndex;
+            if (index == null || now - index.loadedAt() >= TimeUnit.SECONDS.toNanos(refreshSeconds)) {
+                List<JobRepository.JobSkillSet> rows = jobRepository.findActiveJobSkillSets();
+                long[] jobIds = new long[rows.size()];
+                long[][] required = new long[rows.size()][];
+                long[][] preferred = new long[rows.size()][];
+                for (int i = 0; i < rows.size(); i++) {
+                    JobRepository.JobSkillSet row = rows.get(i);
+                    jobIds[i] = row.getId();
+                    required[i] = SkillTaxonomy.words(row.getRequiredSkillSet());
+                    preferred[i] = SkillTaxonomy.words(row.getPreferredSkillSet());
+                }
+                index = new JobSkillIndex(jobIds, required, preferred, System.nanoTime());
+                jobIndex = index;
+            }
+            return index;
+        }
+    }
+
+    // Stale rows leave the query once saved, so always take the first page until none are left
+    private <T> int reindex(Function<Pageable, List<T>> stale, Consumer<T> index, Consumer<List<T>> save) {
+        int total = 0;
+        List<T> batch;
+        while (!(batch = stale.apply(PageRequest.of(0, batchSize))).isEmpty()) {
+            batch.forEach(index);
+            save.accept(batch);
+            total += batch.size();
+        }
+        return total;
+    }
+}
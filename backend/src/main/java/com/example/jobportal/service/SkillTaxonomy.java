@@ -0,0 +1,175 @@
+package com.example.jobportal.service;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/**
+ * Canonical skills with stable integer ids and the synonyms that map to them ("k8s" is kubernetes).
+ * Free-text skill lists are normalised into a set of skill ids, so comparing the skills of a
+ * resume and a job is a bitset intersection rather than string splitting.
+ * Ids must never be reused for a different skill, since stored skill sets refer to them;
+ * bump the version whenever skills or synonyms change so stored sets get re-indexed.
+ * Instances are immutable and thread safe.
+ */
+public final class SkillTaxonomy {
+
+    public record Skill(int id, String name, String category, List<String> synonyms) {}
+
+    private record Definition(int version, List<Skill> skills) {}
+
+    private final int version;
+    private final Skill[] skillsById;
+    private final Map<String, Skill> skillsByName = new HashMap<>();
+
+    // Every name and synonym, and the skill id each of them stands for
+    private final SkillMatcher terms;
+    private final int[] termSkillIds;
+
+    private SkillTaxonomy(int version, List<Skill> skills) {
+        this.version = version;
+
+        int maxId = skills.stream().mapToInt(Skill::id).max().orElse(0);
+        this.skillsById = new Skill[maxId + 1];
+        Map<String, Integer> termIds = new HashMap<>();
+        List<String> termList = new ArrayList<>();
+
+        for (Skill skill : skills) {
+            if (skill.id() <= 0 || skill.name() == null || skill.name().isBlank()) {
+                throw new IllegalArgumentException("Invalid skill definition: " + skill);
+            }
+            if (skillsById[skill.id()] != null) {
+                throw new IllegalArgumentException("Duplicate skill id " + skill.id());
+            }
+            skillsById[skill.id()] = skill;
+            skillsByName.put(skill.name().trim().toLowerCase(), skill);
+
+            List<String> names = new ArrayList<>();
+            names.add(skill.name());
+            if (skill.synonyms() != null) {
+                names.addAll(skill.synonyms());
+            }
+            for (String name : names) {
+                String term = name.trim().toLowerCase();
+                Integer previous = termIds.putIfAbsent(term, skill.id());
+                if (previous != null && previous != skill.id()) {
+                    throw new IllegalArgumentException("'" + term + "' maps to skills " + previous + " and " + skill.id());
+                }
+                if (previous == null) {
+                    termList.add(term);
+                }
+            }
+        }
+
+        this.terms = SkillMatcher.of(termList);
+        this.termSkillIds = new int[terms.size()];
+        for (int termId = 0; termId < terms.size(); termId++) {
+            termSkillIds[termId] = termIds.get(terms.keyword(termId));
+        }
+    }
+
+    /**
+     * Read a taxonomy file: {"version": n, "skills": [{"id", "name", "category", "synonyms"}]}
+     */
+    public static SkillTaxonomy load(InputStream inputStream) throws IOException {
+        ObjectMapper mapper = new ObjectMapper().configure(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES, false);
+        Definition definition = mapper.readValue(inputStream, Definition.class);
+        return new SkillTaxonomy(definition.version(), definition.skills() != null ? definition.skills() : List.of());
+    }
+
+    public int version() {
+        return version;
+    }
+
+    public int size() {
+        return skillsByName.size();
+    }
+
+    public Skill skill(int id) {
+        return id > 0 && id < skillsById.length ? skillsById[id] : null;
+    }
+
+    public Skill skill(String name) {
+        return name != null ? skillsByName.get(name.trim().toLowerCase()) : null;
+    }
+
+    /**
+     * Ids of the skills mentioned in free text, by canonical name or synonym, as whole words
+     */
+    public BitSet skillIds(CharSequence text) {
+        BitSet ids = new BitSet(skillsById.length);
+        if (text == null) {
+            return ids;
+        }
+        BitSet termIds = terms.matchIds(text);
+        for (int termId = termIds.nextSetBit(0); termId >= 0; termId = termIds.nextSetBit(termId + 1)) {
+            ids.set(termSkillIds[termId]);
+        }
+        return ids;
+    }
+
+    /**
+     * Canonical names of the skills in the set, in id order
+     */
+    public List<String> names(BitSet ids) {
+        List<String> names = new ArrayList<>(ids.cardinality());
+        for (int id = ids.nextSetBit(0); id >= 0; id = ids.nextSetBit(id + 1)) {
+            Skill skill = skill(id);
+            if (skill != null) {
+                names.add(skill.name());
+            }
+        }
+        return names;
+    }
+
+    /**
+     * Canonical names of the skills mentioned in free text
+     */
+    public List<String> normalize(CharSequence text) {
+        return names(skillIds(text));
+    }
+
+    /**
+     * Compact stored form of a skill set, as written to the skill set columns
+     */
+    public static byte[] encode(BitSet ids) {
+        return ids.toByteArray();
+    }
+
+    public static BitSet decode(byte[] encoded) {
+        return encoded != null ? BitSet.valueOf(encoded) : new BitSet();
+    }
+
+    /**
+     * A stored skill set as words for {@link #overlap}; decode once and reuse when comparing against many sets
+     */
+    public static long[] words(byte[] encoded) {
+        return decode(encoded).toLongArray();
+    }
+
+    /**
+     * Number of skills two sets have in common
+     */
+    public static int overlap(long[] a, long[] b) {
+        int common = 0;
+        for (int i = 0, n = Math.min(a.length, b.length); i < n; i++) {
+            common += Long.bitCount(a[i] & b[i]);
+        }
+        return common;
+    }
+
+    public static int count(long[] words) {
+        int count = 0;
+        for (long word : words) {
+            count += Long.bitCount(word);
+        }
+        return count;
+    }
+}
@@ -0,0 +1,173 @@
+package com.example.jobportal.service;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.FileTime;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import com.example.jobportal.model.CompanySource;
+import com.example.jobportal.model.PageSnapshot;
+import com.example.jobportal.model.ScrapeRun;
+import com.example.jobportal.model.SnapshotPageType;
+import com.example.jobportal.repository.PageSnapshotRepository;
+import com.example.jobportal.repository.ScrapeRunRepository;
+
+import lombok.extern.slf4j.Slf4j;
+
+@Service
+@Slf4j
+public class SnapshotArchiveService {
+
+    @Autowired
+    private PageSnapshotRepository pageSnapshotRepository;
+
+    @Autowired
+    private ScrapeRunRepository scrapeRunRepository;
+
+    @Autowired
+    @Qualifier("snapshotWriterExecutor")
+    private Executor snapshotWriterExecutor;
+
+    @Value("${scraper.snapshot.enabled:true}")
+    private boolean enabled;
+
+    @Value("${scraper.snapshot.dir:${user.home}/jobportal/snapshots}")
+    private String snapshotDir;
+
+    /**
+     * Archive a fetched page in the background.
+     * Identical bodies share one gzip blob named after their SHA-256 digest.
+     */
+    public void archive(ScrapeRun run, CompanySource source, String url, SnapshotPageType pageType, byte[] body) {
+        if (!enabled || run == null || body == null || body.length == 0) {
+            return;
+        }
+
+        try {
+            snapshotWriterExecutor.execute(() -> store(run, source, url, pageType, body));
+        } catch (RejectedExecutionException e) {
+            log.warn("Snapshot queue full, not archiving {}", url);
+        }
+    }
+
+    private void store(ScrapeRun run, CompanySource source, String url, SnapshotPageType pageType, byte[] body) {
+        try {
+            String digest = sha256Hex(body);
+            Path blob = blobPath(digest);
+
+            // Reusing a blob refreshes its mtime, so purgeExpired treats it as recent until this row is saved
+            if (!touch(blob)) {
+                writeBlob(blob, digest, body);
+            }
+
+            PageSnapshot snapshot = new PageSnapshot();
+            snapshot.setRun(run);
+            snapshot.setSource(source);
+            snapshot.setUrl(url);
+            snapshot.setPageType(pageType);
+            snapshot.setDigest(digest);
+            snapshot.setOriginalSize(body.length);
+            snapshot.setStoredSize(Files.size(blob));
+            pageSnapshotRepository.save(snapshot);
+
+            // A purge that read the old mtime just before the touch may still have removed the blob
+            if (!Files.exists(blob)) {
+                writeBlob(blob, digest, body);
+            }
+
+        } catch (Exception e) {
+            log.error("Error archiving snapshot of {}: {}", url, e.getMessage());
+        }
+    }
+
+    private boolean touch(Path blob) throws IOException {
+        try {
+            Files.setLastModifiedTime(blob, FileTime.fromMillis(System.currentTimeMillis()));
+            return true;
+        } catch (NoSuchFileException e) {
+            return false;
+        }
+    }
+
+    private void writeBlob(Path blob, String digest, byte[] body) throws IOException {
+        Files.createDirectories(blob.getParent());
+        Path tempFile = Files.createTempFile(blob.getParent(), digest, ".tmp");
+        try (OutputStream out = new GZIPOutputStream(Files.newOutputStream(tempFile))) {
+            out.write(body);
+        }
+        Files.move(tempFile, blob, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    /**
+     * Read back the uncompressed body of an archived page
+     */
+    public byte[] load(String digest) throws IOException {
+        try (InputStream in = new GZIPInputStream(Files.newInputStream(blobPath(digest)))) {
+            return in.readAllBytes();
+        }
+    }
+
+    /**
+     * Delete snapshots and runs older than the retention period, then any blobs nothing references.
+     * Blobs written or reused since the cutoff are kept even without a row, since the snapshot
+     * that reuses them may not be saved yet.
+     */
+    public int purgeExpired(int retentionDays) {
+        LocalDateTime cutoff = LocalDateTime.now().minusDays(retentionDays);
+        FileTime blobCutoff = FileTime.from(cutoff.atZone(ZoneId.systemDefault()).toInstant());
+
+        List<String> candidateDigests = pageSnapshotRepository.findDigestsFetchedBefore(cutoff);
+        int deletedSnapshots = pageSnapshotRepository.deleteFetchedBefore(cutoff);
+        scrapeRunRepository.deleteStartedBefore(cutoff);
+
+        int deletedBlobs = 0;
+        for (String digest : candidateDigests) {
+            if (pageSnapshotRepository.existsByDigest(digest)) {
+                continue;
+            }
+            Path blob = blobPath(digest);
+            try {
+                if (Files.getLastModifiedTime(blob).compareTo(blobCutoff) < 0 && Files.deleteIfExists(blob)) {
+                    deletedBlobs++;
+                }
+            } catch (NoSuchFileException e) {
+                // Already gone
+            } catch (IOException e) {
+                log.error("Error deleting snapshot blob {}", digest, e);
+            }
+        }
+
+        log.info("Purged {} snapshots and {} blobs older than {} days", deletedSnapshots, deletedBlobs, retentionDays);
+        return deletedSnapshots;
+    }
+
+    // Two levels of fan-out keep directories small
+    private Path blobPath(String digest) {
+        return Paths.get(snapshotDir, digest.substring(0, 2), digest.substring(2, 4), digest + ".html.gz");
+    }
+
+    private String sha256Hex(byte[] body) throws NoSuchAlgorithmException {
+        MessageDigest md = MessageDigest.getInstance("SHA-256");
+        return HexFormat.of().formatHex(md.digest(body));
+    }
+}
@@ -0,0 +1,357 @@
+package com.example.jobportal.service;
+
+import java.io.IOException;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import org.jsoup.Jsoup;
+import org.jsoup.nodes.Document;
+import org.jsoup.nodes.Element;
+import org.jsoup.parser.Parser;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import com.example.jobportal.model.ScrapedJob;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Extracts jobs from structured data before CSS selectors are tried:
+ * schema.org JobPosting JSON-LD embedded in listing pages, and the public
+ * JSON feeds behind Greenhouse and Lever job boards.
+ */
+@Component
+@Slf4j
+public class StructuredJobExtractor {
+
+    private static final Pattern GREENHOUSE_BOARD = Pattern.compile(
+            "^https?://(?:boards|job-boards)\\.greenhouse\\.io/([A-Za-z0-9_-]+)/?(?:[?#].*)?$");
+    private static final Pattern LEVER_BOARD = Pattern.compile(
+            "^https?://jobs\\.lever\\.co/([A-Za-z0-9_.-]+)/?(?:[?#].*)?$");
+
+    private static final String GREENHOUSE_FEED = "https://boards-api.greenhouse.io/v1/boards/%s/jobs?content=true";
+    private static final String LEVER_FEED = "https://api.lever.co/v0/postings/%s?mode=json";
+
+    private static final int DESCRIPTION_LIMIT = 5000;
+    // Default length of a ScrapedJob string column
+    private static final int LOCATION_LIMIT = 255;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    /**
+     * Public JSON feed URL for a known ATS job board, if the career page is one
+     */
+    public Optional<String> atsFeedUrl(String careerPageUrl) {
+        if (careerPageUrl == null) {
+            return Optional.empty();
+        }
+        Matcher greenhouse = GREENHOUSE_BOARD.matcher(careerPageUrl);
+        if (greenhouse.matches()) {
+            return Optional.of(String.format(GREENHOUSE_FEED, greenhouse.group(1)));
+        }
+        Matcher lever = LEVER_BOARD.matcher(careerPageUrl);
+        if (lever.matches()) {
+            return Optional.of(String.format(LEVER_FEED, lever.group(1)));
+        }
+        return Optional.empty();
+    }
+
+    /**
+     * Parse a JSON feed fetched from {@link #atsFeedUrl(String)}
+     */
+    public List<ScrapedJob> parseAtsFeed(String feedUrl, String json) throws IOException {
+        JsonNode root = objectMapper.readTree(json);
+        if (feedUrl.contains("greenhouse.io")) {
+            return parseGreenhouse(root);
+        }
+        if (feedUrl.contains("lever.co")) {
+            return parseLever(root);
+        }
+        return new ArrayList<>();
+    }
+
+    /**
+     * Collect every JobPosting in the page's JSON-LD blocks, including ones nested in
+     * {@code @graph} or an ItemList. Malformed blocks are skipped.
+     */
+    public List<ScrapedJob> extractJsonLd(Document page) {
+        List<ScrapedJob> jobs = new ArrayList<>();
+        for (Element script : page.select("script[type=application/ld+json]")) {
+            try {
+                collectJobPostings(objectMapper.readTree(script.data()), jobs);
+            } catch (Exception e) {
+                log.debug("Skipping unreadable JSON-LD block on {}: {}", page.location(), e.getMessage());
+            }
+        }
+        return jobs;
+    }
+
+    private void collectJobPostings(JsonNode node, List<ScrapedJob> jobs) {
+        if (node == null || node.isNull()) {
+            return;
+        }
+        if (node.isArray()) {
+            node.forEach(child -> collectJobPostings(child, jobs));
+            return;
+        }
+        if (!node.isObject()) {
+            return;
+        }
+
+        if (hasType(node, "JobPosting")) {
+            ScrapedJob job = fromJobPosting(node);
+            if (job != null) {
+                jobs.add(job);
+            }
+            return;
+        }
+
+        collectJobPostings(node.get("@graph"), jobs);
+        JsonNode items = node.get("itemListElement");
+        if (items != null) {
+            for (JsonNode item : items) {
+                collectJobPostings(item.has("item") ? item.get("item") : item, jobs);
+            }
+        }
+    }
+
+    private ScrapedJob fromJobPosting(JsonNode posting) {
+        String title = text(posting.get("title"));
+        if (title == null) {
+            return null;
+        }
+
+        ScrapedJob job = new ScrapedJob();
+        job.setStructured(true);
+        job.setTitle(title);
+        job.setDescription(plainText(text(posting.get("description"))));
+        job.setExternalUrl(text(posting.get("url")));
+        job.setJobType(joined(posting.get("employmentType")));
+        job.setLocation(jsonLdLocation(posting));
+        job.setSalary(jsonLdSalary(posting.get("baseSalary")));
+        job.setPostedDate(parseDate(text(posting.get("datePosted"))));
+
+        JsonNode identifier = posting.get("identifier");
+        if (identifier != null) {
+            job.setExternalId(identifier.isObject() ? text(identifier.get("value")) : text(identifier));
+        }
+
+        JsonNode organization = posting.get("hiringOrganization");
+        if (organization != null) {
+            job.setCompany(organization.isObject() ? text(organization.get("name")) : text(organization));
+        }
+
+        return job;
+    }
+
+    private String jsonLdLocation(JsonNode posting) {
+        JsonNode locations = posting.get("jobLocation");
+        if (locations == null) {
+            return "remote".equalsIgnoreCase(text(posting.get("jobLocationType")))
+                    || "TELECOMMUTE".equalsIgnoreCase(text(posting.get("jobLocationType")))
+                    ? "Remote" : null;
+        }
+
+        List<String> names = new ArrayList<>();
+        Iterable<JsonNode> entries = locations.isArray() ? locations : List.of(locations);
+        for (JsonNode location : entries) {
+            JsonNode address = location.get("address");
+            if (address == null) {
+                addIfPresent(names, text(location.get("name")));
+            } else if (address.isObject()) {
+                List<String> parts = new ArrayList<>();
+                addIfPresent(parts, text(address.get("addressLocality")));
+                addIfPresent(parts, text(address.get("addressRegion")));
+                JsonNode country = address.get("addressCountry");
+                addIfPresent(parts, country != null && country.isObject() ? text(country.get("name")) : text(country));
+                if (!parts.isEmpty()) {
+                    names.add(String.join(", ", parts));
+                }
+            } else {
+                addIfPresent(names, text(address));
+            }
+        }
+        // Postings listing many offices would otherwise overflow the column and fail the page's save
+        return names.isEmpty() ? null : truncate(String.join("; ", names), LOCATION_LIMIT);
+    }
+
+    private String jsonLdSalary(JsonNode baseSalary) {
+        if (baseSalary == null || !baseSalary.isObject()) {
+            return text(baseSalary);
+        }
+        String currency = text(baseSalary.get("currency"));
+        JsonNode value = baseSalary.get("value");
+        if (value == null) {
+            return null;
+        }
+
+        String amount;
+        String unit = null;
+        if (value.isObject()) {
+            String min = text(value.get("minValue"));
+            String max = text(value.get("maxValue"));
+            String exact = text(value.get("value"));
+            amount = min != null && max != null ? min + " - " + max : exact != null ? exact : min != null ? min : max;
+            unit = text(value.get("unitText"));
+        } else {
+            amount = text(value);
+        }
+        if (amount == null) {
+            return null;
+        }
+
+        StringBuilder salary = new StringBuilder();
+        if (currency != null) {
+            salary.append(currency).append(' ');
+        }
+        salary.append(amount);
+        if (unit != null) {
+            salary.append(" per ").append(unit.toLowerCase());
+        }
+        return salary.toString();
+    }
+
+    private List<ScrapedJob> parseGreenhouse(JsonNode root) {
+        List<ScrapedJob> jobs = new ArrayList<>();
+        for (JsonNode posting : root.path("jobs")) {
+            String title = text(posting.get("title"));
+            if (title == null) {
+                continue;
+            }
+
+            ScrapedJob job = new ScrapedJob();
+            job.setStructured(true);
+            job.setTitle(title);
+            job.setExternalId(text(posting.get("id")));
+            job.setExternalUrl(text(posting.get("absolute_url")));
+            job.setLocation(text(posting.path("location").get("name")));
+            // Greenhouse HTML-escapes the posting body
+            String content = text(posting.get("content"));
+            job.setDescription(plainText(content != null ? Parser.unescapeEntities(content, false) : null));
+            job.setPostedDate(parseDate(text(posting.get("updated_at"))));
+            jobs.add(job);
+        }
+        return jobs;
+    }
+
+    private List<ScrapedJob> parseLever(JsonNode root) {
+        List<ScrapedJob> jobs = new ArrayList<>();
+        for (JsonNode posting : root) {
+            String title = text(posting.get("text"));
+            if (title == null) {
+                continue;
+            }
+
+            ScrapedJob job = new ScrapedJob();
+            job.setStructured(true);
+            job.setTitle(title);
+            job.setExternalId(text(posting.get("id")));
+            job.setExternalUrl(text(posting.get("hostedUrl")));
+            job.setLocation(text(posting.path("categories").get("location")));
+            job.setJobType(text(posting.path("categories").get("commitment")));
+
+            String description = text(posting.get("descriptionPlain"));
+            job.setDescription(truncate(description != null ? description : plainText(text(posting.get("description"))),
+                    DESCRIPTION_LIMIT));
+
+            JsonNode salaryRange = posting.get("salaryRange");
+            if (salaryRange != null && salaryRange.isObject()) {
+                String currency = text(salaryRange.get("currency"));
+                String min = text(salaryRange.get("min"));
+                String max = text(salaryRange.get("max"));
+                if (min != null || max != null) {
+                    String amount = min != null && max != null ? min + " - " + max : min != null ? min : max;
+                    job.setSalary(currency != null ? currency + " " + amount : amount);
+                }
+            }
+
+            JsonNode createdAt = posting.get("createdAt");
+            if (createdAt != null && createdAt.canConvertToLong()) {
+                job.setPostedDate(LocalDateTime.ofInstant(Instant.ofEpochMilli(createdAt.asLong()), ZoneOffset.UTC));
+            }
+            jobs.add(job);
+        }
+        return jobs;
+    }
+
+    private boolean hasType(JsonNode node, String type) {
+        JsonNode types = node.get("@type");
+        if (types == null) {
+            return false;
+        }
+        if (types.isArray()) {
+            for (JsonNode t : types) {
+                if (type.equals(t.asText())) {
+                    return true;
+                }
+            }
+            return false;
+        }
+        return type.equals(types.asText());
+    }
+
+    private String text(JsonNode node) {
+        if (node == null || node.isNull() || node.isContainerNode()) {
+            return null;
+        }
+        String value = node.asText().trim();
+        return value.isEmpty() ? null : value;
+    }
+
+    private String joined(JsonNode node) {
+        if (node == null || !node.isArray()) {
+            return text(node);
+        }
+        List<String> values = new ArrayList<>();
+        node.forEach(value -> addIfPresent(values, text(value)));
+        return values.isEmpty() ? null : String.join(", ", values);
+    }
+
+    private void addIfPresent(List<String> values, String value) {
+        if (value != null) {
+            values.add(value);
+        }
+    }
+
+    private String plainText(String html) {
+        if (html == null) {
+            return null;
+        }
+        return truncate(Jsoup.parse(html).text(), DESCRIPTION_LIMIT);
+    }
+
+    private String truncate(String value, int limit) {
+        if (value == null || value.length() <= limit) {
+            return value;
+        }
+        return value.substring(0, limit);
+    }
+
+    private LocalDateTime parseDate(String value) {
+        if (value == null) {
+            return null;
+        }
+        try {
+            return OffsetDateTime.parse(value).withOffsetSameInstant(ZoneOffset.UTC).toLocalDateTime();
+        } catch (DateTimeParseException e) {
+            // Fall through to date-only form
+        }
+        try {
+            return LocalDate.parse(value).atStartOfDay();
+        } catch (DateTimeParseException e) {
+            return null;
+        }
+    }
+}
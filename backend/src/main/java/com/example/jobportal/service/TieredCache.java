@@ -0,0 +1,141 @@
+package com.example.jobportal.service;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.springframework.data.redis.core.RedisTemplate;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Two-level cache: a bounded in-process LRU in front of Redis.
+ * Redis is shared between nodes and survives restarts; the local tier saves the round trip.
+ * When Redis is unreachable the cache keeps working locally and retries Redis after a pause.
+ * Cached values are shared, so callers must not modify them.
+ */
+@Slf4j
+public class TieredCache {
+
+    private static final long REDIS_RETRY_NANOS = TimeUnit.SECONDS.toNanos(30);
+
+    private final RedisTemplate<String, Object> redisTemplate;
+    private final String keyPrefix;
+    private final Duration ttl;
+    private final Map<String, Entry> local;
+
+    private final LongAdder localHits = new LongAdder();
+    private final LongAdder redisHits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+
+    private volatile long redisRetryAt;
+
+    private record Entry(Object value, long expiresAt) {}
+
+    /**
+     * @param redisTemplate shared tier, or null to cache locally only
+     */
+    public TieredCache(RedisTemplate<String, Object> redisTemplate, String keyPrefix, int maxLocalEntries, Duration ttl) {
+        this.redisTemplate = redisTemplate;
+        this.keyPrefix = keyPrefix;
+        this.ttl = ttl;
+        this.redisRetryAt = System.nanoTime();
+        this.local = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Entry> eldest) {
+                return size() > maxLocalEntries;
+            }
+        };
+    }
+
+    @SuppressWarnings("unchecked")
+    public <T> T get(String key) {
+        long now = System.nanoTime();
+        synchronized (local) {
+            Entry entry = local.get(key);
+            if (entry != null) {
+                if (entry.expiresAt() - now > 0) {
+                    localHits.increment();
+                    return (T) entry.value();
+                }
+                local.remove(key);
+            }
+        }
+
+        if (redisAvailable(now)) {
+            try {
+                Object value = redisTemplate.opsForValue().get(keyPrefix + key);
+                if (value != null) {
+                    redisHits.increment();
+                    // Keep the local copy no longer than Redis keeps the shared one
+                    Long remainingMillis = redisTemplate.getExpire(keyPrefix + key, TimeUnit.MILLISECONDS);
+                    long remainingNanos = remainingMillis != null && remainingMillis > 0
+                            ? Math.min(TimeUnit.MILLISECONDS.toNanos(remainingMillis), ttl.toNanos())
+                            : ttl.toNanos();
+                    putLocal(key, value, now + remainingNanos);
+                    return (T) value;
+                }
+            } catch (RuntimeException e) {
+                redisFailed(e, now);
+            }
+        }
+
+        misses.increment();
+        return null;
+    }
+
+    public void put(String key, Object value) {
+        long now = System.nanoTime();
+        putLocal(key, value, now + ttl.toNanos());
+        if (redisAvailable(now)) {
+            try {
+                redisTemplate.opsForValue().set(keyPrefix + key, value, ttl);
+            } catch (RuntimeException e) {
+                redisFailed(e, now);
+            }
+        }
+    }
+
+    public void evict(String key) {
+        synchronized (local) {
+            local.remove(key);
+        }
+        if (redisAvailable(System.nanoTime())) {
+            try {
+                redisTemplate.delete(keyPrefix + key);
+            } catch (RuntimeException e) {
+                redisFailed(e, System.nanoTime());
+            }
+        }
+    }
+
+    public Map<String, Object> stats() {
+        int size;
+        synchronized (local) {
+            size = local.size();
+        }
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("localEntries", size);
+        stats.put("localHits", localHits.sum());
+        stats.put("redisHits", redisHits.sum());
+        stats.put("misses", misses.sum());
+        return stats;
+    }
+
+    private void putLocal(String key, Object value, long expiresAt) {
+        synchronized (local) {
+            local.put(key, new Entry(value, expiresAt));
+        }
+    }
+
+    private boolean redisAvailable(long now) {
+        return redisTemplate != null && now - redisRetryAt >= 0;
+    }
+
+    private void redisFailed(RuntimeException e, long now) {
+        redisRetryAt = now + REDIS_RETRY_NANOS;
+        log.warn("Redis cache {} unavailable, using local tier only: {}", keyPrefix, e.getMessage());
+    }
+}
@@ -1,35 +1,65 @@
 package com.example.jobportal.service;
 
 import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.HttpURLConnection;
+import java.nio.charset.StandardCharsets;
 import java.security.MessageDigest;
 import java.security.NoSuchAlgorithmException;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
-import java.util.Arrays;
 import java.util.Base64;
+import java.util.Collection;
+import java.util.EnumSet;
 import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
+import java.util.Set;
+import java.util.StringJoiner;
 import java.util.UUID;
-import java.util.regex.Pattern;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.stream.Collectors;
+import java.util.zip.CRC32;
 
+import org.jsoup.Connection;
+import org.jsoup.HttpStatusException;
 import org.jsoup.Jsoup;
 import org.jsoup.nodes.Document;
 import org.jsoup.nodes.Element;
 import org.jsoup.select.Elements;
+import org.jsoup.select.Selector;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import com.example.jobportal.model.ApprovalStatus;
 import com.example.jobportal.model.CompanySource;
 import com.example.jobportal.model.Job;
+import com.example.jobportal.model.ScrapeRun;
 import com.example.jobportal.model.ScrapedJob;
+import com.example.jobportal.model.ScrapedJobChange;
+import com.example.jobportal.model.ScrapedJobField;
+import com.example.jobportal.model.SnapshotPageType;
 import com.example.jobportal.model.User;
+import com.example.jobportal.model.UserRole;
 import com.example.jobportal.repository.CompanySourceRepository;
 import com.example.jobportal.repository.JobRepository;
+import com.example.jobportal.repository.ScrapeRunRepository;
+import com.example.jobportal.repository.ScrapedJobChangeRepository;
 import com.example.jobportal.repository.ScrapedJobRepository;
 import com.example.jobportal.repository.UserRepository;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
 
 import lombok.extern.slf4j.Slf4j;
 
@@ -49,6 +79,42 @@ public class WebScraperService {
     @Autowired
     private UserRepository userRepository;
     
+    @Autowired
+    private ScrapeRunRepository scrapeRunRepository;
+    
+    @Autowired
+    private SnapshotArchiveService snapshotArchiveService;
+    
+    @Autowired
+    private StructuredJobExtractor structuredJobExtractor;
+    
+    @Autowired
+    private ScrapedJobChangeRepository scrapedJobChangeRepository;
+    
+    @Autowired
+    private ObjectMapper objectMapper;
+    
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+    
+    @Autowired
+    private ScrapeTaskQueue scrapeTaskQueue;
+    
+    @Value("${scraper.import.chunk-size:500}")
+    private int importChunkSize;
+    
+    @Value("${scraper.auto-import.min-quality:3}")
+    private int autoImportMinQuality;
+    
+    @Autowired
+    @Qualifier("scraperFetchExecutor")
+    private Executor scraperFetchExecutor;
+    
+    @Value("${scraper.max-pages:20}")
+    private int maxPages;
+    
+    private final Map<Long, CompiledSourceExtractor> compiledExtractors = new ConcurrentHashMap<>();
+    
     private static final int TIMEOUT = 30000; // 30 seconds
     private static final String USER_AGENT = "Mozilla/5.0 (Windows NT 10.0; Win64; x64) AppleWebKit/537.36";
     
@@ -57,174 +123,605 @@ public class WebScraperService {
      */
     public Map<String, Object> scrapeCompanyJobs(CompanySource source) {
         Map<String, Object> result = new HashMap<>();
-        List<ScrapedJob> scrapedJobs = new ArrayList<>();
+        List<Long> newJobIds = new ArrayList<>();
+        int pagesScraped = 0;
+        
+        ScrapeRun run = scrapeRunRepository.save(new ScrapeRun(source));
         
         try {
             log.info("Starting scrape for company: {}", source.getCompanyName());
             
-            // Connect to the career page
-            Document doc = Jsoup.connect(source.getCareerPageUrl())
-                    .userAgent(USER_AGENT)
-                    .timeout(TIMEOUT)
-                    .get();
+            // Prefer the board's public JSON feed when the career page is a known ATS
+            Optional<String> feedUrl = structuredJobExtractor.atsFeedUrl(source.getCareerPageUrl());
+            Connection.Response response = null;
+            String listingUrl = source.getCareerPageUrl();
+            if (feedUrl.isPresent()) {
+                try {
+                    response = fetchListing(source, feedUrl.get(), true);
+                    listingUrl = feedUrl.get();
+                } catch (IOException e) {
+                    log.warn("ATS feed unavailable for {}, falling back to HTML: {}",
+                            source.getCompanyName(), e.getMessage());
+                }
+            }
             
-            // Find job listings
-            Elements jobElements = doc.select(source.getJobListSelector());
-            log.info("Found {} job elements", jobElements.size());
+            // An unchanged first page says nothing about pages 2..N, so only a board that fits on
+            // one page (or comes as one feed document) can be skipped as a whole
+            int pageBudget = resolvePageBudget(source);
+            if (response == null) {
+                response = fetchListing(source, source.getCareerPageUrl(), pageBudget == 1);
+            }
+            boolean feed = !listingUrl.equals(source.getCareerPageUrl());
+            boolean singleDocument = pageBudget == 1 || feed;
             
-            for (Element jobElement : jobElements) {
-                try {
-                    ScrapedJob scrapedJob = extractJobData(jobElement, source);
-                    if (scrapedJob != null) {
-                        // Check for duplicates
-                        String contentHash = generateContentHash(scrapedJob);
-                        scrapedJob.setContentHash(contentHash);
-                        
-                        // Check if job already exists
-                        Optional<ScrapedJob> existingJob = scrapedJobRepository
-                                .findBySourceAndContentHash(source, contentHash);
-                        
-                        if (existingJob.isPresent()) {
-                            // Update last seen time
-                            ScrapedJob existing = existingJob.get();
-                            existing.setLastSeenAt(LocalDateTime.now());
-                            scrapedJobRepository.save(existing);
-                        } else {
-                            // New job found
-                            scrapedJob.setSource(source);
-                            scrapedJob = scrapedJobRepository.save(scrapedJob);
-                            scrapedJobs.add(scrapedJob);
-                        }
+            if (response.statusCode() == HttpURLConnection.HTTP_NOT_MODIFIED) {
+                log.info("Career page not modified for {}, skipping parse", source.getCompanyName());
+                return markSourceUnchanged(source, run, result);
+            }
+            
+            byte[] body = response.bodyAsBytes();
+            run.recordPage(body.length);
+            snapshotArchiveService.archive(run, source, listingUrl,
+                    feed ? SnapshotPageType.FEED : SnapshotPageType.LISTING, body);
+            
+            String contentDigest = sha256(body);
+            if (singleDocument && listingUrl.equals(source.getLastValidatorUrl())
+                    && contentDigest.equals(source.getLastContentDigest())) {
+                log.info("Career page content unchanged for {}, skipping parse", source.getCompanyName());
+                rememberValidators(source, listingUrl, response, contentDigest);
+                return markSourceUnchanged(source, run, result);
+            }
+            
+            if (feed) {
+                // One JSON document holds the whole board, so there is nothing to paginate
+                List<ScrapedJob> feedJobs = structuredJobExtractor.parseAtsFeed(listingUrl, response.body());
+                log.info("Found {} jobs in ATS feed", feedJobs.size());
+                newJobIds.addAll(persistJobs(feedJobs, source, run));
+                pagesScraped = 1;
+            }
+            
+            Document page = pagesScraped == 0 ? response.parse() : null;
+            CompiledSourceExtractor extractor = compiledExtractor(source);
+            Set<String> visitedPages = new HashSet<>();
+            visitedPages.add(source.getCareerPageUrl());
+            
+            // Fetch page N+1 in the background while page N is extracted and persisted
+            while (page != null) {
+                pagesScraped++;
+                
+                CompletableFuture<Connection.Response> nextPage = null;
+                String nextPageUrl = pagesScraped < pageBudget
+                        ? findNextPageUrl(page, extractor, visitedPages)
+                        : null;
+                if (nextPageUrl != null) {
+                    nextPage = CompletableFuture.supplyAsync(() -> fetchPage(nextPageUrl), scraperFetchExecutor);
+                }
+                
+                newJobIds.addAll(processPage(page, extractor, source, run));
+                
+                page = null;
+                if (nextPage != null) {
+                    try {
+                        Connection.Response nextResponse = nextPage.join();
+                        byte[] nextBody = nextResponse.bodyAsBytes();
+                        run.recordPage(nextBody.length);
+                        snapshotArchiveService.archive(run, source, nextPageUrl, SnapshotPageType.LISTING, nextBody);
+                        page = nextResponse.parse();
+                    } catch (CompletionException e) {
+                        log.warn("Stopping pagination for {} at page {}: {}",
+                                source.getCompanyName(), pagesScraped + 1, e.getCause().getMessage());
                     }
-                } catch (Exception e) {
-                    log.error("Error extracting job data: ", e);
                 }
             }
             
             // Update source statistics
-            source.setLastScrapedAt(LocalDateTime.now());
-            source.setLastScrapeJobCount(scrapedJobs.size());
-            source.setTotalJobsScraped(source.getTotalJobsScraped() + scrapedJobs.size());
-            source.updateNextScheduledScrape();
-            source.setLastError(null);
-            source.setLastErrorAt(null);
+            rememberValidators(source, listingUrl, response, contentDigest);
+            source.setLastScrapeJobCount(newJobIds.size());
+            source.setTotalJobsScraped(source.getTotalJobsScraped() + newJobIds.size());
+            source.recordScrapeSuccess(newJobIds.size() + run.getUpdatedJobs());
             companySourceRepository.save(source);
+            scrapeTaskQueue.closePendingSourceRetries(source);
+            
+            run.setSuccess(true);
+            run.setNewJobs(newJobIds.size());
+            finishRun(run);
             
             result.put("success", true);
-            result.put("jobsScraped", scrapedJobs.size());
-            result.put("newJobs", scrapedJobs);
+            result.put("runId", run.getId());
+            result.put("jobsScraped", newJobIds.size());
+            result.put("newJobIds", newJobIds);
+            result.put("jobsUpdated", run.getUpdatedJobs());
+            result.put("pagesScraped", pagesScraped);
             
-            log.info("Scraping completed. Found {} new jobs", scrapedJobs.size());
+            try {
+                result.put("jobsAutoImported", autoImport(source, newJobIds));
+            } catch (Exception e) {
+                log.error("Auto-import failed for {}: {}", source.getCompanyName(), e.getMessage());
+                result.put("jobsAutoImported", 0);
+            }
             
-        } catch (IOException e) {
+            log.info("Scraping completed. Found {} new jobs across {} pages", newJobIds.size(), pagesScraped);
+            
+        } catch (IOException | Selector.SelectorParseException e) {
             log.error("Error scraping {}: {}", source.getCompanyName(), e.getMessage());
             
-            // Update error information
-            source.setLastError(e.getMessage());
-            source.setLastErrorAt(LocalDateTime.now());
-            companySourceRepository.save(source);
+            // Transient failures get a queued retry with backoff instead of waiting for the next schedule
+            boolean retryable = e instanceof IOException io && ScrapeTaskQueue.isRetryable(io);
+            if (retryable) {
+                scrapeTaskQueue.enqueueSourceRetry(source, e.getMessage());
+            }
+            recordFailure(source, run, result, e.getMessage(), retryable);
             
-            result.put("success", false);
-            result.put("error", e.getMessage());
+        } catch (RuntimeException e) {
+            // Parsing or persistence bugs still finish the run and back the source off
+            log.error("Unexpected error scraping {}: ", source.getCompanyName(), e);
+            recordFailure(source, run, result, e.getMessage(), false);
         }
         
         return result;
     }
     
     /**
-     * Extract job data from a job element
+     * Record a failed scrape on the source and its run, backing off before the next attempt
+     */
+    private void recordFailure(CompanySource source, ScrapeRun run, Map<String, Object> result,
+                               String error, boolean retryable) {
+        source.recordScrapeFailure(error);
+        companySourceRepository.save(source);
+        
+        run.setError(error);
+        finishRun(run);
+        
+        result.put("success", false);
+        result.put("error", error);
+        result.put("retryable", retryable);
+    }
+    
+    /**
+     * Fetch the first listing page (or ATS feed), sending the validators from the previous fetch
+     * when the request may be answered with 304. Validators taken from the other URL are not sent,
+     * since the feed and the HTML page carry unrelated ETags.
      */
-    private ScrapedJob extractJobData(Element jobElement, CompanySource source) {
-        ScrapedJob job = new ScrapedJob();
-        
-        // Extract title
-        if (source.getJobTitleSelector() != null) {
-            Element titleElement = jobElement.selectFirst(source.getJobTitleSelector());
-            if (titleElement != null) {
-                job.setTitle(titleElement.text().trim());
+    private Connection.Response fetchListing(CompanySource source, String url, boolean conditional) throws IOException {
+        Connection connection = Jsoup.connect(url)
+                .userAgent(USER_AGENT)
+                .timeout(TIMEOUT)
+                .ignoreContentType(true)
+                .ignoreHttpErrors(true);
+        
+        if (conditional && url.equals(source.getLastValidatorUrl())) {
+            if (source.getLastEtag() != null) {
+                connection.header("If-None-Match", source.getLastEtag());
+            }
+            if (source.getLastModifiedHeader() != null) {
+                connection.header("If-Modified-Since", source.getLastModifiedHeader());
             }
         }
         
-        // Extract location
-        if (source.getJobLocationSelector() != null) {
-            Element locationElement = jobElement.selectFirst(source.getJobLocationSelector());
-            if (locationElement != null) {
-                job.setLocation(locationElement.text().trim());
-            }
+        Connection.Response response = connection.execute();
+        
+        int status = response.statusCode();
+        if (status != HttpURLConnection.HTTP_NOT_MODIFIED && (status < 200 || status >= 400)) {
+            throw new HttpStatusException("HTTP error fetching URL", status, url);
+        }
+        
+        return response;
+    }
+    
+    /**
+     * Fetch a follow-up listing page, buffering its body
+     */
+    private Connection.Response fetchPage(String url) {
+        try {
+            Connection.Response response = Jsoup.connect(url)
+                    .userAgent(USER_AGENT)
+                    .timeout(TIMEOUT)
+                    .execute();
+            response.bodyAsBytes();
+            return response;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+    
+    private void finishRun(ScrapeRun run) {
+        run.setFinishedAt(LocalDateTime.now());
+        scrapeRunRepository.save(run);
+    }
+    
+    /**
+     * Extraction plan for a source, compiled once and reused until its selectors change.
+     * Unsaved sources, such as selector previews, are compiled without caching.
+     */
+    CompiledSourceExtractor compiledExtractor(CompanySource source) {
+        if (source.getId() == null) {
+            return CompiledSourceExtractor.compile(source);
+        }
+        CompiledSourceExtractor cached = compiledExtractors.get(source.getId());
+        if (cached != null && cached.isCurrentFor(source)) {
+            return cached;
+        }
+        CompiledSourceExtractor compiled = CompiledSourceExtractor.compile(source);
+        compiledExtractors.put(source.getId(), compiled);
+        return compiled;
+    }
+    
+    /**
+     * Drop the cached extraction plan of an updated or deleted source
+     */
+    public void evictCompiledExtractor(Long sourceId) {
+        compiledExtractors.remove(sourceId);
+    }
+    
+    /**
+     * Number of listing pages to crawl for a source, capped by the global guard
+     */
+    private int resolvePageBudget(CompanySource source) {
+        if (source.getNextPageSelector() == null || source.getNextPageSelector().isBlank()) {
+            return 1;
+        }
+        Integer budget = source.getMaxPages();
+        if (budget == null || budget < 1) {
+            return maxPages;
+        }
+        return Math.min(budget, maxPages);
+    }
+    
+    /**
+     * Resolve the next listing page link, ignoring pages already crawled
+     */
+    private String findNextPageUrl(Document page, CompiledSourceExtractor extractor, Set<String> visitedPages) {
+        String url = extractor.nextPageUrl(page);
+        if (url == null || url.isEmpty() || !visitedPages.add(url)) {
+            return null;
         }
+        return url;
+    }
+    
+    /**
+     * Extract and persist the jobs of one listing page, returning the IDs of new jobs
+     */
+    private List<Long> processPage(Document page, CompiledSourceExtractor extractor, CompanySource source, ScrapeRun run) {
+        // Structured JobPosting data is cheaper and more reliable than selectors plus detail fetches
+        List<ScrapedJob> structuredJobs = structuredJobExtractor.extractJsonLd(page);
+        if (!structuredJobs.isEmpty()) {
+            log.info("Found {} JSON-LD job postings", structuredJobs.size());
+            return persistJobs(structuredJobs, source, run);
+        }
+        
+        Elements jobElements = extractor.jobElements(page);
+        log.info("Found {} job elements", jobElements.size());
         
-        // Extract job type
-        if (source.getJobTypeSelector() != null) {
-            Element typeElement = jobElement.selectFirst(source.getJobTypeSelector());
-            if (typeElement != null) {
-                job.setJobType(typeElement.text().trim());
+        List<ScrapedJob> pageJobs = new ArrayList<>();
+        for (Element jobElement : jobElements) {
+            try {
+                ScrapedJob scrapedJob = extractor.extract(jobElement, url -> fetchDetailPage(url, source, run));
+                if (scrapedJob != null) {
+                    pageJobs.add(scrapedJob);
+                }
+            } catch (Exception e) {
+                log.error("Error extracting job data: ", e);
             }
         }
         
-        // Extract salary
-        if (source.getJobSalarySelector() != null) {
-            Element salaryElement = jobElement.selectFirst(source.getJobSalarySelector());
-            if (salaryElement != null) {
-                job.setSalary(salaryElement.text().trim());
+        return persistJobs(pageJobs, source, run);
+    }
+    
+    /**
+     * How {@link #reconcile} writes a batch of extracted jobs back
+     */
+    enum ReconcileMode {
+        // Jobs fetched by a scrape: new jobs are saved, changed jobs updated and matched jobs marked as seen
+        SCRAPE,
+        // Jobs re-extracted from archived pages: saved and updated like a scrape, but not marked as seen
+        REPLAY,
+        // Jobs are classified without writing anything
+        PREVIEW
+    }
+    
+    /**
+     * Outcome of reconciling one batch: IDs of saved new jobs, counts per class and the IDs of the
+     * existing rows the batch matched
+     */
+    record Reconciliation(List<Long> newJobIds, int added, int updated, int unchanged, Set<Long> matchedIds) {}
+    
+    /**
+     * Persist one batch of extracted jobs, returning the IDs of new jobs
+     */
+    private List<Long> persistJobs(List<ScrapedJob> jobs, CompanySource source, ScrapeRun run) {
+        return reconcile(jobs, source, run, ReconcileMode.SCRAPE).newJobIds();
+    }
+    
+    /**
+     * Match a batch of extracted jobs to the source's rows and apply the differences.
+     * Jobs are matched by their {@link #identityKey identity}; matched jobs whose field fingerprints
+     * differ are updated in place, along with their imported job, and get a change record.
+     * Live scrapes and re-extraction of archived pages both go through here.
+     */
+    Reconciliation reconcile(List<ScrapedJob> jobs, CompanySource source, ScrapeRun run, ReconcileMode mode) {
+        Map<String, ScrapedJob> pageJobs = new LinkedHashMap<>();
+        for (ScrapedJob job : jobs) {
+            job.setContentHash(generateContentHash(job));
+            job.setFieldFingerprints(fieldFingerprints(job));
+            pageJobs.putIfAbsent(identityKey(job), job);
+        }
+        
+        if (pageJobs.isEmpty()) {
+            return new Reconciliation(new ArrayList<>(), 0, 0, 0, new HashSet<>());
+        }
+        
+        // One lookup per identity kind for the whole page instead of one per element
+        Set<String> externalIds = new HashSet<>();
+        Set<String> externalUrls = new HashSet<>();
+        Set<String> contentHashes = new HashSet<>();
+        for (ScrapedJob job : pageJobs.values()) {
+            if (hasPostingId(job)) {
+                externalIds.add(job.getExternalId());
+            } else if (job.getExternalUrl() != null) {
+                externalUrls.add(job.getExternalUrl());
+            } else {
+                contentHashes.add(job.getContentHash());
             }
         }
         
-        // Extract URL
-        if (source.getJobUrlSelector() != null) {
-            Element urlElement = jobElement.selectFirst(source.getJobUrlSelector());
-            if (urlElement != null) {
-                String url = urlElement.attr("href");
-                if (!url.startsWith("http")) {
-                    // Relative URL - make it absolute
-                    try {
-                        java.net.URL baseUrl = new java.net.URL(source.getCareerPageUrl());
-                        java.net.URL absoluteUrl = new java.net.URL(baseUrl, url);
-                        url = absoluteUrl.toString();
-                    } catch (Exception e) {
-                        log.error("Error creating absolute URL: ", e);
-                    }
+        Map<String, ScrapedJob> byExternalId = new HashMap<>();
+        Map<String, ScrapedJob> byUrl = new HashMap<>();
+        Map<String, ScrapedJob> byHash = new HashMap<>();
+        if (!externalIds.isEmpty()) {
+            scrapedJobRepository.findWithImportedJobBySourceAndExternalIdIn(source, externalIds)
+                    .forEach(existing -> byExternalId.putIfAbsent(existing.getExternalId(), existing));
+        }
+        if (!externalUrls.isEmpty()) {
+            scrapedJobRepository.findWithImportedJobBySourceAndExternalUrlIn(source, externalUrls)
+                    .forEach(existing -> byUrl.putIfAbsent(existing.getExternalUrl(), existing));
+        }
+        if (!contentHashes.isEmpty()) {
+            scrapedJobRepository.findBySourceAndContentHashIn(source, contentHashes)
+                    .forEach(existing -> byHash.putIfAbsent(existing.getContentHash(), existing));
+        }
+        
+        LocalDateTime now = LocalDateTime.now();
+        Set<Long> matchedIds = new HashSet<>();
+        List<ScrapedJob> newJobs = new ArrayList<>();
+        List<ScrapedJob> updatedJobs = new ArrayList<>();
+        List<Job> updatedImports = new ArrayList<>();
+        List<ScrapedJobChange> changes = new ArrayList<>();
+        int changed = 0;
+        int unchanged = 0;
+        
+        for (ScrapedJob job : pageJobs.values()) {
+            ScrapedJob existing = hasPostingId(job) ? byExternalId.get(job.getExternalId())
+                    : job.getExternalUrl() != null ? byUrl.get(job.getExternalUrl())
+                    : byHash.get(job.getContentHash());
+            
+            if (existing == null) {
+                job.setSource(source);
+                newJobs.add(job);
+                continue;
+            }
+            if (!matchedIds.add(existing.getId())) {
+                continue;
+            }
+            
+            String previousFingerprints = existing.getFieldFingerprints() != null
+                    ? existing.getFieldFingerprints()
+                    : fieldFingerprints(existing);
+            Set<ScrapedJobField> changedFields = changedFields(previousFingerprints, job.getFieldFingerprints());
+            if (changedFields.isEmpty()) {
+                unchanged++;
+                continue;
+            }
+            
+            changed++;
+            // Leave entities untouched on a preview so nothing can be flushed by accident
+            if (mode != ReconcileMode.PREVIEW) {
+                changes.add(applyChanges(existing, job, changedFields, source, updatedImports));
+                if (mode == ReconcileMode.SCRAPE) {
+                    existing.setLastSeenAt(now);
                 }
-                job.setExternalUrl(url);
-                
-                // Try to extract external ID from URL
-                job.setExternalId(extractIdFromUrl(url));
+                updatedJobs.add(existing);
             }
         }
         
-        // Extract description (might need to visit detail page)
-        if (source.getJobDescriptionSelector() != null) {
-            Element descElement = jobElement.selectFirst(source.getJobDescriptionSelector());
-            if (descElement != null) {
-                job.setDescription(descElement.text().trim());
-            } else if (job.getExternalUrl() != null) {
-                // Try to get description from detail page
-                try {
-                    Document detailDoc = Jsoup.connect(job.getExternalUrl())
-                            .userAgent(USER_AGENT)
-                            .timeout(TIMEOUT)
-                            .get();
-                    Element detailDesc = detailDoc.selectFirst(source.getJobDescriptionSelector());
-                    if (detailDesc != null) {
-                        job.setDescription(detailDesc.text().trim());
-                    }
-                } catch (IOException e) {
-                    log.warn("Could not fetch job details from: {}", job.getExternalUrl());
-                }
+        if (mode == ReconcileMode.PREVIEW) {
+            return new Reconciliation(new ArrayList<>(), newJobs.size(), changed, unchanged, matchedIds);
+        }
+        
+        // Updated rows get lastSeenAt with their save
+        if (mode == ReconcileMode.SCRAPE) {
+            Set<Long> seenIds = new HashSet<>(matchedIds);
+            updatedJobs.forEach(job -> seenIds.remove(job.getId()));
+            if (!seenIds.isEmpty()) {
+                scrapedJobRepository.touchJobs(seenIds, now);
+            }
+        }
+        
+        if (!updatedJobs.isEmpty()) {
+            scrapedJobRepository.saveAll(updatedJobs);
+            jobRepository.saveAll(updatedImports);
+            scrapedJobChangeRepository.saveAll(changes);
+            if (run != null) {
+                run.setUpdatedJobs(run.getUpdatedJobs() + updatedJobs.size());
+            }
+            log.info("Updated {} changed jobs ({} imported) for {}",
+                    updatedJobs.size(), updatedImports.size(), source.getCompanyName());
+        }
+        
+        List<Long> newJobIds = new ArrayList<>();
+        for (ScrapedJob saved : scrapedJobRepository.saveAll(newJobs)) {
+            newJobIds.add(saved.getId());
+        }
+        return new Reconciliation(newJobIds, newJobs.size(), changed, unchanged, matchedIds);
+    }
+    
+    /**
+     * Copy the changed fields onto the existing row and its imported job, returning the change record
+     */
+    private ScrapedJobChange applyChanges(ScrapedJob existing, ScrapedJob job, Set<ScrapedJobField> changedFields,
+                                          CompanySource source, List<Job> updatedImports) {
+        Map<String, String> previousValues = new LinkedHashMap<>();
+        for (ScrapedJobField field : changedFields) {
+            previousValues.put(field.name(), field.get(existing));
+            field.copy(job, existing);
+        }
+        if (existing.getExternalId() == null) {
+            existing.setExternalId(job.getExternalId());
+        }
+        existing.setContentHash(job.getContentHash());
+        existing.setFieldFingerprints(job.getFieldFingerprints());
+        existing.setHasChanges(true);
+        
+        boolean importedJobUpdated = false;
+        if (existing.isImported() && existing.getImportedJob() != null) {
+            Job importedJob = existing.getImportedJob();
+            for (ScrapedJobField field : changedFields) {
+                applyToImportedJob(importedJob, field, field.get(existing));
             }
+            updatedImports.add(importedJob);
+            importedJobUpdated = true;
+        }
+        
+        ScrapedJobChange change = new ScrapedJobChange();
+        change.setScrapedJob(existing);
+        change.setSource(source);
+        change.setChangedFields(changedFields.stream().map(Enum::name).collect(Collectors.joining(",")));
+        try {
+            change.setPreviousValues(objectMapper.writeValueAsString(previousValues));
+        } catch (JsonProcessingException e) {
+            log.warn("Could not serialize previous values of scraped job {}", existing.getId());
+        }
+        change.setImportedJobUpdated(importedJobUpdated);
+        return change;
+    }
+    
+    /**
+     * Apply one changed field to an imported job, with the same defaults as the initial import
+     */
+    private void applyToImportedJob(Job job, ScrapedJobField field, String value) {
+        switch (field) {
+            case TITLE -> job.setTitle(value);
+            case LOCATION -> job.setLocation(value != null ? value : "Not specified");
+            case JOB_TYPE -> job.setJobType(value != null ? value : "Full-time");
+            case SALARY -> job.setSalary(value);
+            case DESCRIPTION -> job.setDescription(value != null ? value : "");
+            case REQUIREMENTS -> job.setRequirements(value != null ? value : "");
+            case EXTERNAL_URL -> { }
+        }
+    }
+    
+    /**
+     * Stable identity of an extracted job within a source: the posting ID from structured data,
+     * else the posting URL, else the content hash. IDs guessed from selector-scraped URLs are not
+     * used, since different slugs can yield the same guess.
+     */
+    private String identityKey(ScrapedJob job) {
+        if (hasPostingId(job)) {
+            return "id:" + job.getExternalId();
+        }
+        if (job.getExternalUrl() != null) {
+            return "url:" + job.getExternalUrl();
         }
+        return "hash:" + job.getContentHash();
+    }
+    
+    private boolean hasPostingId(ScrapedJob job) {
+        return job.isStructured() && job.getExternalId() != null;
+    }
+    
+    /**
+     * Store the validators of a fetched page for the next conditional request
+     */
+    private void rememberValidators(CompanySource source, String url, Connection.Response response, String contentDigest) {
+        source.setLastValidatorUrl(url);
+        source.setLastEtag(response.header("ETag"));
+        source.setLastModifiedHeader(response.header("Last-Modified"));
+        source.setLastContentDigest(contentDigest);
+    }
+    
+    /**
+     * Finish a scrape whose career page has not changed since the last fetch
+     */
+    private Map<String, Object> markSourceUnchanged(CompanySource source, ScrapeRun run, Map<String, Object> result) {
+        LocalDateTime now = LocalDateTime.now();
+        int touched = scrapedJobRepository.touchActiveJobs(source, now);
+        
+        source.setLastScrapeJobCount(0);
+        source.recordScrapeSuccess(0);
+        companySourceRepository.save(source);
         
-        // Validate minimum required fields
-        if (job.getTitle() == null || job.getTitle().isEmpty()) {
+        run.setSuccess(true);
+        run.setNotModified(true);
+        finishRun(run);
+        
+        result.put("success", true);
+        result.put("runId", run.getId());
+        result.put("notModified", true);
+        result.put("jobsScraped", 0);
+        result.put("newJobIds", new ArrayList<Long>());
+        result.put("jobsUpdated", 0);
+        result.put("jobsSeen", touched);
+        
+        return result;
+    }
+    
+    /**
+     * Fetch a job detail page and archive it with the run
+     */
+    private Document fetchDetailPage(String url, CompanySource source, ScrapeRun run) {
+        try {
+            Connection.Response detailResponse = Jsoup.connect(url)
+                    .userAgent(USER_AGENT)
+                    .timeout(TIMEOUT)
+                    .execute();
+            byte[] detailBody = detailResponse.bodyAsBytes();
+            run.recordPage(detailBody.length);
+            snapshotArchiveService.archive(run, source, url, SnapshotPageType.DETAIL, detailBody);
+            
+            return detailResponse.parse();
+        } catch (IOException e) {
+            log.warn("Could not fetch job details from: {}", url);
+            if (ScrapeTaskQueue.isRetryable(e)) {
+                scrapeTaskQueue.enqueueDetailFetch(source, url, e.getMessage());
+            }
             return null;
         }
+    }
+    
+    /**
+     * Re-fetch one job's detail page and update its description through the normal change detection.
+     * Used by queued retries of detail pages that failed during a scrape.
+     */
+    public void refreshJobDetail(CompanySource source, String url) throws IOException {
+        List<ScrapedJob> matches = scrapedJobRepository.findWithImportedJobBySourceAndExternalUrlIn(source, Set.of(url));
+        if (matches.isEmpty()) {
+            log.info("Job for {} no longer exists, dropping detail refresh", url);
+            return;
+        }
+        
+        Document detailDoc = Jsoup.connect(url)
+                .userAgent(USER_AGENT)
+                .timeout(TIMEOUT)
+                .get();
+        String description = compiledExtractor(source).detailDescription(detailDoc);
+        if (description == null) {
+            return;
+        }
         
-        return job;
+        ScrapedJob existing = matches.get(0);
+        ScrapedJob refreshed = new ScrapedJob();
+        for (ScrapedJobField field : ScrapedJobField.values()) {
+            field.copy(existing, refreshed);
+        }
+        refreshed.setExternalId(existing.getExternalId());
+        refreshed.setDescription(description);
+        persistJobs(List.of(refreshed), source, null);
     }
     
+    
     /**
      * Generate content hash for duplicate detection
      */
-    private String generateContentHash(ScrapedJob job) {
+    String generateContentHash(ScrapedJob job) {
         try {
             String content = String.join("|",
                     job.getTitle() != null ? job.getTitle() : "",
@@ -242,91 +739,210 @@ public class WebScraperService {
     }
     
     /**
-     * Extract ID from URL
+     * Per-field CRC32 fingerprints, encoded as FIELD=hex pairs
      */
-    private String extractIdFromUrl(String url) {
-        // Common patterns for job IDs in URLs
-        List<Pattern> patterns = Arrays.asList(
-                Pattern.compile("job[/-]?id[=/-]([a-zA-Z0-9]+)"),
-                Pattern.compile("job[s]?/([a-zA-Z0-9]+)"),
-                Pattern.compile("posting[s]?/([a-zA-Z0-9]+)"),
-                Pattern.compile("id=([a-zA-Z0-9]+)")
-        );
-        
-        for (Pattern pattern : patterns) {
-            java.util.regex.Matcher matcher = pattern.matcher(url);
-            if (matcher.find()) {
-                return matcher.group(1);
+    String fieldFingerprints(ScrapedJob job) {
+        StringJoiner fingerprints = new StringJoiner(";");
+        for (ScrapedJobField field : ScrapedJobField.values()) {
+            CRC32 crc = new CRC32();
+            String value = field.get(job);
+            if (value != null) {
+                crc.update(value.getBytes(StandardCharsets.UTF_8));
             }
+            fingerprints.add(field.name() + "=" + Long.toHexString(crc.getValue()));
         }
-        
-        // Use last part of URL as ID
-        String[] parts = url.split("/");
-        if (parts.length > 0) {
-            return parts[parts.length - 1].replaceAll("[^a-zA-Z0-9]", "");
+        return fingerprints.toString();
+    }
+    
+    /**
+     * Fields whose fingerprints differ between two encoded fingerprint sets
+     */
+    private Set<ScrapedJobField> changedFields(String before, String after) {
+        Map<String, String> previous = decodeFingerprints(before);
+        Map<String, String> current = decodeFingerprints(after);
+        Set<ScrapedJobField> changed = EnumSet.noneOf(ScrapedJobField.class);
+        for (ScrapedJobField field : ScrapedJobField.values()) {
+            if (!Objects.equals(previous.get(field.name()), current.get(field.name()))) {
+                changed.add(field);
+            }
+        }
+        return changed;
+    }
+    
+    private Map<String, String> decodeFingerprints(String encoded) {
+        Map<String, String> fingerprints = new HashMap<>();
+        for (String pair : encoded.split(";")) {
+            int separator = pair.indexOf('=');
+            if (separator > 0) {
+                fingerprints.put(pair.substring(0, separator), pair.substring(separator + 1));
+            }
+        }
+        return fingerprints;
+    }
+    
+    /**
+     * SHA-256 digest of a fetched page body
+     */
+    private String sha256(byte[] body) {
+        try {
+            MessageDigest md = MessageDigest.getInstance("SHA-256");
+            return Base64.getEncoder().encodeToString(md.digest(body));
+        } catch (NoSuchAlgorithmException e) {
+            // Every JVM ships SHA-256; an unmatched digest just disables the short-circuit
+            return UUID.randomUUID().toString();
         }
-        
-        return UUID.randomUUID().toString();
     }
     
+    
     /**
      * Import scraped jobs to main job board
      */
     public Map<String, Object> importScrapedJobs(List<Long> scrapedJobIds, Long adminUserId) {
-        Map<String, Object> result = new HashMap<>();
-        List<Job> importedJobs = new ArrayList<>();
-        int skipped = 0;
-        
         User admin = userRepository.findById(adminUserId)
                 .orElseThrow(() -> new RuntimeException("Admin user not found"));
         
-        for (Long scrapedJobId : scrapedJobIds) {
+        return importJobs(scrapedJobIds, admin);
+    }
+    
+    /**
+     * Import scraped jobs in chunks, one transaction per chunk.
+     * A failed chunk is rolled back and counted without stopping the remaining chunks.
+     */
+    private Map<String, Object> importJobs(Collection<Long> scrapedJobIds, User admin) {
+        List<Long> ids = new ArrayList<>(new LinkedHashSet<>(scrapedJobIds));
+        List<Long> importedIds = new ArrayList<>();
+        int failed = 0;
+        
+        for (int from = 0; from < ids.size(); from += importChunkSize) {
+            List<Long> chunk = ids.subList(from, Math.min(from + importChunkSize, ids.size()));
             try {
-                ScrapedJob scrapedJob = scrapedJobRepository.findById(scrapedJobId)
-                        .orElseThrow(() -> new RuntimeException("Scraped job not found"));
-                
-                if (scrapedJob.isImported()) {
-                    skipped++;
-                    continue;
-                }
-                
-                // Create new job
-                Job job = new Job();
-                job.setTitle(scrapedJob.getTitle());
-                job.setCompany(scrapedJob.getSource().getCompanyName());
-                job.setLocation(scrapedJob.getLocation() != null ? scrapedJob.getLocation() : "Not specified");
-                job.setDescription(scrapedJob.getDescription() != null ? scrapedJob.getDescription() : "");
-                job.setJobType(scrapedJob.getJobType() != null ? scrapedJob.getJobType() : "Full-time");
-                job.setSalary(scrapedJob.getSalary());
-                job.setRequirements(scrapedJob.getRequirements() != null ? scrapedJob.getRequirements() : "");
-                job.setPostedBy(admin);
-                job.setActive(true);
-                job.setApprovalStatus(ApprovalStatus.APPROVED);
-                job.setApprovedBy(admin.getUsername());
-                job.setApprovedDate(LocalDateTime.now());
-                
-                job = jobRepository.save(job);
-                
-                // Mark scraped job as imported
-                scrapedJob.setImported(true);
-                scrapedJob.setImportedAt(LocalDateTime.now());
-                scrapedJob.setImportedJob(job);
-                scrapedJobRepository.save(scrapedJob);
-                
-                importedJobs.add(job);
-                
+                importedIds.addAll(transactionTemplate.execute(status -> importChunk(chunk, admin)));
             } catch (Exception e) {
-                log.error("Error importing scraped job {}: {}", scrapedJobId, e.getMessage());
+                log.error("Error importing chunk of {} scraped jobs: {}", chunk.size(), e.getMessage());
+                failed += chunk.size();
             }
         }
         
-        result.put("imported", importedJobs.size());
-        result.put("skipped", skipped);
-        result.put("jobs", importedJobs);
+        Map<String, Object> result = new HashMap<>();
+        result.put("imported", importedIds.size());
+        result.put("skipped", ids.size() - importedIds.size() - failed);
+        result.put("failed", failed);
+        result.put("jobIds", importedIds);
         
         return result;
     }
     
+    /**
+     * Import one chunk; scraped jobs and their sources load in one query and their
+     * imported flags flush as batched updates on commit
+     */
+    private List<Long> importChunk(List<Long> scrapedJobIds, User admin) {
+        List<ScrapedJob> scrapedJobs = scrapedJobRepository.findWithSourceByIdIn(scrapedJobIds).stream()
+                .filter(scrapedJob -> !scrapedJob.isImported())
+                .toList();
+        
+        LocalDateTime now = LocalDateTime.now();
+        List<Job> jobs = new ArrayList<>();
+        for (ScrapedJob scrapedJob : scrapedJobs) {
+            Job job = new Job();
+            job.setTitle(scrapedJob.getTitle());
+            job.setCompany(scrapedJob.getSource().getCompanyName());
+            job.setLocation(scrapedJob.getLocation() != null ? scrapedJob.getLocation() : "Not specified");
+            job.setDescription(scrapedJob.getDescription() != null ? scrapedJob.getDescription() : "");
+            job.setJobType(scrapedJob.getJobType() != null ? scrapedJob.getJobType() : "Full-time");
+            job.setSalary(scrapedJob.getSalary());
+            job.setRequirements(scrapedJob.getRequirements() != null ? scrapedJob.getRequirements() : "");
+            job.setPostedBy(admin);
+            job.setActive(true);
+            job.setApprovalStatus(ApprovalStatus.APPROVED);
+            job.setApprovedBy(admin.getUsername());
+            job.setApprovedDate(now);
+            jobs.add(job);
+        }
+        jobRepository.saveAll(jobs);
+        
+        List<Long> importedIds = new ArrayList<>();
+        for (int i = 0; i < scrapedJobs.size(); i++) {
+            ScrapedJob scrapedJob = scrapedJobs.get(i);
+            scrapedJob.setImported(true);
+            scrapedJob.setImportedAt(now);
+            scrapedJob.setImportedJob(jobs.get(i));
+            importedIds.add(jobs.get(i).getId());
+        }
+        return importedIds;
+    }
+    
+    /**
+     * Import a scrape's new jobs when the source opts in.
+     * Jobs must populate at least the source's minimum number of fields and must not
+     * repeat the title and location of another active job of the source.
+     */
+    private int autoImport(CompanySource source, List<Long> newJobIds) {
+        if (!Boolean.TRUE.equals(source.getAutoImport()) || newJobIds.isEmpty()) {
+            return 0;
+        }
+        
+        User importer = source.getCreatedBy();
+        if (importer == null) {
+            importer = userRepository.findByRoleAndActive(UserRole.ADMIN, true).stream().findFirst().orElse(null);
+        }
+        if (importer == null) {
+            log.warn("Skipping auto-import for {}: no active admin to import as", source.getCompanyName());
+            return 0;
+        }
+        
+        int minQuality = source.getAutoImportMinQuality() != null
+                ? source.getAutoImportMinQuality()
+                : autoImportMinQuality;
+        
+        Set<Long> newIds = new HashSet<>(newJobIds);
+        Map<String, ScrapedJob> knownJobs = new HashMap<>();
+        for (ScrapedJob existing : scrapedJobRepository.findBySourceAndActiveTrue(source)) {
+            if (!newIds.contains(existing.getId())) {
+                knownJobs.putIfAbsent(similarityKey(existing), existing);
+            }
+        }
+        
+        List<Long> candidateIds = new ArrayList<>();
+        List<ScrapedJob> duplicates = new ArrayList<>();
+        for (ScrapedJob job : scrapedJobRepository.findAllById(newJobIds)) {
+            if (job.isDuplicate() || fieldQuality(job) < minQuality) {
+                continue;
+            }
+            ScrapedJob original = knownJobs.putIfAbsent(similarityKey(job), job);
+            if (original != null) {
+                job.setDuplicate(true);
+                job.setDuplicateOf(original);
+                duplicates.add(job);
+            } else {
+                candidateIds.add(job.getId());
+            }
+        }
+        scrapedJobRepository.saveAll(duplicates);
+        
+        Map<String, Object> imported = importJobs(candidateIds, importer);
+        log.info("Auto-imported {} of {} new jobs for {}", imported.get("imported"), newJobIds.size(), source.getCompanyName());
+        return (int) imported.get("imported");
+    }
+    
+    // Number of populated content fields, used as the auto-import quality bar
+    private int fieldQuality(ScrapedJob job) {
+        int populated = 0;
+        for (ScrapedJobField field : ScrapedJobField.values()) {
+            String value = field.get(job);
+            if (field != ScrapedJobField.EXTERNAL_URL && value != null && !value.isBlank()) {
+                populated++;
+            }
+        }
+        return populated;
+    }
+    
+    // Same title and location rule as areSimilar
+    private String similarityKey(ScrapedJob job) {
+        return (job.getTitle() != null ? job.getTitle().toLowerCase() : "") + "|"
+                + (job.getLocation() != null ? job.getLocation().toLowerCase() : "");
+    }
+    
     /**
      * Detect duplicate scraped jobs
      */
@@ -0,0 +1,256 @@
+package com.example.jobportal.config;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.io.InputStreamResource;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.util.LinkedMultiValueMap;
+import org.springframework.util.MultiValueMap;
+import org.springframework.web.client.ResourceAccessException;
+import org.springframework.web.client.RestTemplate;
+
+import com.example.jobportal.service.MLCircuitBreaker;
+import com.example.jobportal.service.MLClientMetrics;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+class MLClientHttpRequestFactoryTest {
+
+	private final MLClientMetrics metrics = new MLClientMetrics();
+	private final Set<Integer> clientPorts = ConcurrentHashMap.newKeySet();
+	private final CountDownLatch release = new CountDownLatch(1);
+	private final Map<String, String> uploads = new ConcurrentHashMap<>();
+	private HttpServer server;
+	private String baseUrl;
+
+	@BeforeEach
+	void setUp() throws IOException {
+		server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+		server.setExecutor(Executors.newCachedThreadPool());
+		server.createContext("/health", exchange -> {
+			clientPorts.add(exchange.getRemoteAddress().getPort());
+			respond(exchange, 200, "{\"status\":\"healthy\"}");
+		});
+		server.createContext("/match_jobs", exchange -> {
+			try {
+				release.await(10, TimeUnit.SECONDS);
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+			}
+			respond(exchange, 200, "{}");
+		});
+		server.createContext("/stalled_body", exchange -> {
+			exchange.getResponseHeaders().set("Content-Type", "application/json");
+			exchange.sendResponseHeaders(200, 100);
+			OutputStream out = exchange.getResponseBody();
+			out.write("{\"matches\":".getBytes(StandardCharsets.UTF_8));
+			out.flush();
+			try {
+				release.await(10, TimeUnit.SECONDS);
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+			}
+			exchange.close();
+		});
+		server.createContext("/upload_cv", exchange -> {
+			String length = String.valueOf(exchange.getRequestHeaders().getFirst("Content-Length"));
+			String encoding = String.valueOf(exchange.getRequestHeaders().getFirst("Transfer-Encoding"));
+			try {
+				long bytes = exchange.getRequestBody().transferTo(OutputStream.nullOutputStream());
+				uploads.put("bytes", String.valueOf(bytes));
+			} catch (IOException e) {
+				uploads.put("error", e.toString());
+				throw e;
+			}
+			uploads.put("content-length", length);
+			uploads.put("transfer-encoding", encoding);
+			respond(exchange, 200, "{\"status\":\"uploaded\"}");
+		});
+		server.start();
+		baseUrl = "http://127.0.0.1:" + server.getAddress().getPort();
+	}
+
+	@AfterEach
+	void tearDown() {
+		release.countDown();
+		server.stop(0);
+	}
+
+	@Test
+	void reusesConnectionsAndRecordsCalls() {
+		RestTemplate restTemplate = restTemplate(Duration.ofSeconds(5), 4, Duration.ofSeconds(1));
+
+		for (int i = 0; i < 5; i++) {
+			assertThat(restTemplate.getForObject(baseUrl + "/health", Map.class)).containsEntry("status", "healthy");
+		}
+
+		// Sequential calls go over one kept-alive connection
+		assertThat(clientPorts).hasSize(1);
+		assertThat(endpoint("/health")).containsEntry("count", 5L).containsEntry("success", 5L);
+		assertThat(metrics.snapshot()).containsEntry("inFlight", 0L);
+	}
+
+	@Test
+	void timesOutWhenTheServiceHangs() {
+		RestTemplate restTemplate = restTemplate(Duration.ofMillis(200), 4, Duration.ofSeconds(1));
+
+		assertThatThrownBy(() -> restTemplate.postForObject(baseUrl + "/match_jobs", Map.of(), String.class))
+				.isInstanceOf(ResourceAccessException.class);
+
+		assertThat(endpoint("/match_jobs")).containsEntry("timeout", 1L);
+	}
+
+	@Test
+	void timesOutWhenTheResponseBodyStalls() {
+		MLClientHttpRequestFactory factory = new MLClientHttpRequestFactory(Duration.ofSeconds(1), Duration.ofMillis(300), 1,
+				Duration.ofMillis(100), metrics, new MLCircuitBreaker());
+		RestTemplate restTemplate = new RestTemplate(factory);
+
+		long start = System.nanoTime();
+		assertThatThrownBy(() -> restTemplate.getForObject(baseUrl + "/stalled_body", Map.class))
+				.isInstanceOf(ResourceAccessException.class);
+
+		assertThat(Duration.ofNanos(System.nanoTime() - start)).isLessThan(Duration.ofSeconds(5));
+		assertThat(endpoint("/stalled_body")).containsEntry("timeout", 1L);
+		// The permit is back, so the single connection slot can be used again
+		assertThat(restTemplate.getForObject(baseUrl + "/health", Map.class)).containsEntry("status", "healthy");
+	}
+
+	@Test
+	void rejectsCallersBeyondTheRouteLimit() throws Exception {
+		MLClientHttpRequestFactory factory = new MLClientHttpRequestFactory(Duration.ofSeconds(1), Duration.ofSeconds(10), 1,
+				Duration.ofMillis(100), metrics, new MLCircuitBreaker());
+		RestTemplate restTemplate = new RestTemplate(factory);
+
+		Thread holder = new Thread(() -> restTemplate.postForObject(baseUrl + "/match_jobs", Map.of(), String.class));
+		holder.start();
+		while (metrics.snapshot().get("inFlight").equals(0L)) {
+			Thread.sleep(5);
+		}
+
+		assertThatThrownBy(() -> restTemplate.getForObject(baseUrl + "/health", Map.class))
+				.isInstanceOf(ResourceAccessException.class)
+				.hasMessageContaining("No free connection");
+		assertThat(factory.routeStats()).hasSize(1);
+
+		release.countDown();
+		holder.join(5000);
+		assertThat(restTemplate.getForObject(baseUrl + "/health", Map.class)).containsEntry("status", "healthy");
+	}
+
+	@Test
+	@SuppressWarnings("unchecked")
+	void streamsMultipartBodiesChunked() {
+		RestTemplate restTemplate = restTemplate(Duration.ofSeconds(5), 4, Duration.ofSeconds(1));
+		int size = 3 * 1024 * 1024;
+
+		Map<String, Object> response = restTemplate.postForObject(baseUrl + "/upload_cv", upload(new GeneratedStream(size, false), size), Map.class);
+
+		assertThat(response).containsEntry("status", "uploaded");
+		assertThat(uploads).containsEntry("transfer-encoding", "chunked").containsEntry("content-length", "null");
+		// The file plus the multipart boundaries and part headers
+		assertThat(Long.parseLong(uploads.get("bytes"))).isGreaterThan(size).isLessThan(size + 1024);
+		assertThat(endpoint("/upload_cv")).containsEntry("success", 1L);
+	}
+
+	@Test
+	void abortsTheUploadWhenTheSourceFails() {
+		RestTemplate restTemplate = restTemplate(Duration.ofSeconds(5), 4, Duration.ofSeconds(1));
+
+		assertThatThrownBy(() -> restTemplate.postForObject(baseUrl + "/upload_cv", upload(new GeneratedStream(1024 * 1024, true), 1024 * 1024), Map.class))
+				.isInstanceOf(ResourceAccessException.class);
+
+		// The server never sees a complete body
+		assertThat(uploads).doesNotContainKey("bytes");
+	}
+
+	@Test
+	void keepsAContentLengthForJsonBodies() {
+		RestTemplate restTemplate = restTemplate(Duration.ofSeconds(5), 4, Duration.ofSeconds(1));
+
+		restTemplate.postForObject(baseUrl + "/upload_cv", Map.of("session_id", "s1"), Map.class);
+
+		assertThat(uploads).containsEntry("content-length", "19").containsEntry("transfer-encoding", "null");
+	}
+
+	// Like MultipartFile.getResource(): a one-shot stream with a known name and length
+	private static HttpEntity<MultiValueMap<String, Object>> upload(InputStream content, long length) {
+		MultiValueMap<String, Object> body = new LinkedMultiValueMap<>();
+		body.add("file", new InputStreamResource(content) {
+			@Override
+			public String getFilename() {
+				return "resume.txt";
+			}
+
+			@Override
+			public long contentLength() {
+				return length;
+			}
+		});
+		body.add("session_id", "s1");
+		HttpHeaders headers = new HttpHeaders();
+		headers.setContentType(MediaType.MULTIPART_FORM_DATA);
+		return new HttpEntity<>(body, headers);
+	}
+
+	@SuppressWarnings("unchecked")
+	private Map<String, Object> endpoint(String path) {
+		return (Map<String, Object>) ((Map<String, Object>) metrics.snapshot().get("endpoints")).get(path);
+	}
+
+	private RestTemplate restTemplate(Duration readTimeout, int maxConnections, Duration acquireTimeout) {
+		return new RestTemplate(new MLClientHttpRequestFactory(Duration.ofSeconds(1), readTimeout, maxConnections,
+				acquireTimeout, metrics, new MLCircuitBreaker()));
+	}
+
+	private static void respond(HttpExchange exchange, int status, String body) throws IOException {
+		byte[] bytes = body.getBytes(StandardCharsets.UTF_8);
+		exchange.getResponseHeaders().set("Content-Type", "application/json");
+		exchange.sendResponseHeaders(status, bytes.length);
+		try (OutputStream out = exchange.getResponseBody()) {
+			out.write(bytes);
+		}
+	}
+
+	// Produces its content on demand, so nothing is held in memory on the client
+	private static final class GeneratedStream extends InputStream {
+		private final int size;
+		private final boolean failAtEnd;
+		private int position;
+
+		GeneratedStream(int size, boolean failAtEnd) {
+			this.size = size;
+			this.failAtEnd = failAtEnd;
+		}
+
+		@Override
+		public int read() throws IOException {
+			if (position == size) {
+				if (failAtEnd) {
+					throw new IOException("Upload source failed");
+				}
+				return -1;
+			}
+			return 'a' + position++ % 26;
+		}
+	}
+}
@@ -0,0 +1,251 @@
+package com.example.jobportal.scraper;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyIterable;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.time.LocalDateTime;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Deque;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.mockito.invocation.InvocationOnMock;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import com.example.jobportal.config.ScraperConfig;
+import com.example.jobportal.model.CompanySource;
+import com.example.jobportal.model.ScrapeRun;
+import com.example.jobportal.model.ScrapedJob;
+import com.example.jobportal.model.ScrapedJobChange;
+import com.example.jobportal.repository.CompanySourceRepository;
+import com.example.jobportal.repository.JobRepository;
+import com.example.jobportal.repository.ScrapeRunRepository;
+import com.example.jobportal.repository.ScrapedJobChangeRepository;
+import com.example.jobportal.repository.ScrapedJobRepository;
+import com.example.jobportal.repository.UserRepository;
+import com.example.jobportal.scheduler.JobScraperScheduler;
+import com.example.jobportal.service.ScrapeLeaseService;
+import com.example.jobportal.service.ScrapeTaskQueue;
+import com.example.jobportal.service.SnapshotArchiveService;
+import com.example.jobportal.service.StructuredJobExtractor;
+import com.example.jobportal.service.WebScraperService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/**
+ * Wires a real {@link WebScraperService} and {@link JobScraperScheduler} to in-memory repositories.
+ * Repository calls are counted, one per call. They are calls on the stubs, not SQL statements;
+ * a real database may issue several statements for one saveAll.
+ */
+public class ScraperHarness implements AutoCloseable {
+
+	private final Map<Long, ScrapedJob> scrapedJobs = new ConcurrentHashMap<>();
+	private final List<ScrapedJobChange> changes = new CopyOnWriteArrayList<>();
+	private final AtomicLong ids = new AtomicLong();
+	private final LongAdder repositoryCalls = new LongAdder();
+	private final Deque<CompanySource> dueSources = new ArrayDeque<>();
+
+	private final ScrapedJobRepository scrapedJobRepository = mock(ScrapedJobRepository.class);
+	private final CompanySourceRepository companySourceRepository = mock(CompanySourceRepository.class);
+	private final ScrapeRunRepository scrapeRunRepository = mock(ScrapeRunRepository.class);
+	private final ScrapedJobChangeRepository scrapedJobChangeRepository = mock(ScrapedJobChangeRepository.class);
+	private final JobRepository jobRepository = mock(JobRepository.class);
+	private final ScrapeLeaseService scrapeLeaseService = mock(ScrapeLeaseService.class);
+
+	private final ThreadPoolTaskExecutor fetchExecutor;
+	private final WebScraperService webScraperService = new WebScraperService();
+	private final JobScraperScheduler scheduler = new JobScraperScheduler();
+
+	public ScraperHarness() {
+		this(2, 1000);
+	}
+
+	public ScraperHarness(int fetchThreads, int maxPages) {
+		stubRepositories();
+
+		fetchExecutor = new ScraperConfig().scraperFetchExecutor(fetchThreads);
+
+		ReflectionTestUtils.setField(webScraperService, "companySourceRepository", companySourceRepository);
+		ReflectionTestUtils.setField(webScraperService, "scrapedJobRepository", scrapedJobRepository);
+		ReflectionTestUtils.setField(webScraperService, "jobRepository", jobRepository);
+		ReflectionTestUtils.setField(webScraperService, "userRepository", mock(UserRepository.class));
+		ReflectionTestUtils.setField(webScraperService, "scrapeRunRepository", scrapeRunRepository);
+		ReflectionTestUtils.setField(webScraperService, "scrapedJobChangeRepository", scrapedJobChangeRepository);
+		ReflectionTestUtils.setField(webScraperService, "snapshotArchiveService", mock(SnapshotArchiveService.class));
+		StructuredJobExtractor structuredJobExtractor = new StructuredJobExtractor();
+		ReflectionTestUtils.setField(structuredJobExtractor, "objectMapper", new ObjectMapper());
+		ReflectionTestUtils.setField(webScraperService, "structuredJobExtractor", structuredJobExtractor);
+		ReflectionTestUtils.setField(webScraperService, "objectMapper", new ObjectMapper());
+		ReflectionTestUtils.setField(webScraperService, "scrapeTaskQueue", mock(ScrapeTaskQueue.class));
+		ReflectionTestUtils.setField(webScraperService, "scraperFetchExecutor", fetchExecutor);
+		ReflectionTestUtils.setField(webScraperService, "maxPages", maxPages);
+
+		ReflectionTestUtils.setField(scheduler, "companySourceRepository", companySourceRepository);
+		ReflectionTestUtils.setField(scheduler, "webScraperService", webScraperService);
+		ReflectionTestUtils.setField(scheduler, "scrapeLeaseService", scrapeLeaseService);
+		ReflectionTestUtils.setField(scheduler, "delayBetweenSources", 0L);
+	}
+
+	public WebScraperService webScraperService() {
+		return webScraperService;
+	}
+
+	/**
+	 * Give an unsaved source an id so it can be scraped
+	 */
+	public CompanySource register(CompanySource source) {
+		source.setId(ids.incrementAndGet());
+		return source;
+	}
+
+	public Map<String, Object> scrape(CompanySource source) {
+		return webScraperService.scrapeCompanyJobs(source);
+	}
+
+	/**
+	 * Run one scheduler pass over the given sources as if they were all due
+	 */
+	public void runScheduler(Collection<CompanySource> sources) {
+		synchronized (dueSources) {
+			dueSources.clear();
+			dueSources.addAll(sources);
+		}
+		scheduler.scrapeJobs();
+	}
+
+	public List<ScrapedJob> jobsOf(CompanySource source) {
+		return scrapedJobs.values().stream().filter(job -> job.getSource() == source).toList();
+	}
+
+	public ScrapedJobRepository scrapedJobRepository() {
+		return scrapedJobRepository;
+	}
+
+	public List<ScrapedJobChange> changes() {
+		return changes;
+	}
+
+	public long repositoryCalls() {
+		return repositoryCalls.sum();
+	}
+
+	public void resetRepositoryCalls() {
+		repositoryCalls.reset();
+	}
+
+	@Override
+	public void close() {
+		fetchExecutor.shutdown();
+	}
+
+	private void stubRepositories() {
+		when(scrapedJobRepository.findWithImportedJobBySourceAndExternalIdIn(any(), anyCollection()))
+				.thenAnswer(invocation -> {
+					repositoryCalls.increment();
+					CompanySource source = invocation.getArgument(0);
+					Collection<String> externalIds = invocation.getArgument(1);
+					return jobsOf(source).stream().filter(job -> externalIds.contains(job.getExternalId())).toList();
+				});
+		when(scrapedJobRepository.findWithImportedJobBySourceAndExternalUrlIn(any(), anyCollection()))
+				.thenAnswer(invocation -> {
+					repositoryCalls.increment();
+					CompanySource source = invocation.getArgument(0);
+					Collection<String> urls = invocation.getArgument(1);
+					return jobsOf(source).stream().filter(job -> urls.contains(job.getExternalUrl())).toList();
+				});
+		when(scrapedJobRepository.findBySourceAndContentHashIn(any(), anyCollection()))
+				.thenAnswer(invocation -> {
+					repositoryCalls.increment();
+					CompanySource source = invocation.getArgument(0);
+					Collection<String> hashes = invocation.getArgument(1);
+					return jobsOf(source).stream().filter(job -> hashes.contains(job.getContentHash())).toList();
+				});
+		when(scrapedJobRepository.findBySourceAndActiveTrue(any()))
+				.thenAnswer(invocation -> {
+					repositoryCalls.increment();
+					CompanySource source = invocation.getArgument(0);
+					return jobsOf(source).stream().filter(ScrapedJob::isActive).toList();
+				});
+		when(scrapedJobRepository.touchJobs(anyCollection(), any()))
+				.thenAnswer(invocation -> {
+					repositoryCalls.increment();
+					Collection<Long> jobIds = invocation.getArgument(0);
+					LocalDateTime seenAt = invocation.getArgument(1);
+					jobIds.forEach(id -> scrapedJobs.get(id).setLastSeenAt(seenAt));
+					return jobIds.size();
+				});
+		when(scrapedJobRepository.touchActiveJobs(any(), any()))
+				.thenAnswer(invocation -> {
+					repositoryCalls.increment();
+					CompanySource source = invocation.getArgument(0);
+					LocalDateTime seenAt = invocation.getArgument(1);
+					List<ScrapedJob> active = jobsOf(source).stream().filter(ScrapedJob::isActive).toList();
+					active.forEach(job -> job.setLastSeenAt(seenAt));
+					return active.size();
+				});
+		when(scrapedJobRepository.saveAll(anyIterable()))
+				.thenAnswer(invocation -> {
+					repositoryCalls.increment();
+					List<ScrapedJob> saved = new ArrayList<>();
+					for (ScrapedJob job : (Iterable<ScrapedJob>) invocation.getArgument(0)) {
+						if (job.getId() == null) {
+							job.setId(ids.incrementAndGet());
+							job.prePersist();
+						}
+						scrapedJobs.put(job.getId(), job);
+						saved.add(job);
+					}
+					return saved;
+				});
+		when(scrapedJobChangeRepository.saveAll(anyIterable()))
+				.thenAnswer(invocation -> {
+					List<Object> saved = countSaveAll(invocation);
+					saved.forEach(change -> changes.add((ScrapedJobChange) change));
+					return saved;
+				});
+		when(jobRepository.saveAll(anyIterable())).thenAnswer(this::countSaveAll);
+
+		when(scrapeRunRepository.save(any(ScrapeRun.class)))
+				.thenAnswer(invocation -> {
+					repositoryCalls.increment();
+					ScrapeRun run = invocation.getArgument(0);
+					if (run.getId() == null) {
+						run.setId(ids.incrementAndGet());
+					}
+					return run;
+				});
+		when(companySourceRepository.save(any(CompanySource.class)))
+				.thenAnswer(invocation -> {
+					repositoryCalls.increment();
+					return invocation.getArgument(0);
+				});
+
+		when(scrapeLeaseService.getNodeId()).thenReturn("harness");
+		when(scrapeLeaseService.claimNextDueSource())
+				.thenAnswer(invocation -> {
+					repositoryCalls.increment();
+					synchronized (dueSources) {
+						return Optional.ofNullable(dueSources.poll());
+					}
+				});
+	}
+
+	private List<Object> countSaveAll(InvocationOnMock invocation) {
+		repositoryCalls.increment();
+		List<Object> saved = new ArrayList<>();
+		for (Object entity : (Iterable<?>) invocation.getArgument(0)) {
+			saved.add(entity);
+		}
+		return saved;
+	}
+}
@@ -0,0 +1,131 @@
+package com.example.jobportal.scraper;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.Test;
+
+import com.example.jobportal.model.CompanySource;
+import com.example.jobportal.model.ScrapedJob;
+
+class ScraperHarnessTest {
+
+	@Test
+	void scrapesPaginatedBoardWithDetailPages() throws Exception {
+		try (SyntheticCareerSite site = SyntheticCareerSite.builder()
+				.jobCount(60).pageSize(25).detailPages(true).build().start();
+				ScraperHarness harness = new ScraperHarness()) {
+			CompanySource source = harness.register(site.source("Acme"));
+
+			Map<String, Object> result = harness.scrape(source);
+
+			assertThat(result.get("success")).isEqualTo(true);
+			assertThat(result.get("jobsScraped")).isEqualTo(60);
+			assertThat(result.get("pagesScraped")).isEqualTo(3);
+			assertThat(site.requests()).isEqualTo(3 + 60);
+
+			List<ScrapedJob> jobs = harness.jobsOf(source);
+			assertThat(jobs).hasSize(60);
+			assertThat(jobs).allSatisfy(job -> {
+				assertThat(job.getExternalId()).isNotNull();
+				assertThat(job.getDescription()).startsWith("Role ");
+			});
+		}
+	}
+
+	@Test
+	void revisitsUnchangedBoardWithConditionalRequest() throws Exception {
+		try (SyntheticCareerSite site = SyntheticCareerSite.builder().jobCount(40).pageSize(40).build().start();
+				ScraperHarness harness = new ScraperHarness()) {
+			CompanySource source = harness.register(site.source("Acme"));
+			harness.scrape(source);
+			site.resetCounters();
+
+			Map<String, Object> result = harness.scrape(source);
+
+			assertThat(result.get("notModified")).isEqualTo(true);
+			assertThat(site.requests()).isEqualTo(1);
+			assertThat(site.notModifiedResponses()).isEqualTo(1);
+			assertThat(harness.jobsOf(source)).hasSize(40);
+		}
+	}
+
+	@Test
+	void detectsChangesBeyondTheFirstPage() throws Exception {
+		try (SyntheticCareerSite site = SyntheticCareerSite.builder().jobCount(40).pageSize(20).build().start();
+				ScraperHarness harness = new ScraperHarness()) {
+			CompanySource source = harness.register(site.source("Acme"));
+			harness.scrape(source);
+			site.resetCounters();
+
+			// Page 1 is unchanged, so it must not stand in for the whole board
+			site.reviseJob(30);
+			Map<String, Object> result = harness.scrape(source);
+
+			assertThat(result.get("notModified")).isNull();
+			assertThat(result.get("jobsUpdated")).isEqualTo(1);
+			assertThat(site.notModifiedResponses()).isZero();
+			assertThat(site.requests()).isEqualTo(2);
+		}
+	}
+
+	@Test
+	void updatesEditedJobsInPlace() throws Exception {
+		try (SyntheticCareerSite site = SyntheticCareerSite.builder().jobCount(40).pageSize(20).build().start();
+				ScraperHarness harness = new ScraperHarness()) {
+			CompanySource source = harness.register(site.source("Acme"));
+			harness.scrape(source);
+
+			site.reviseJobs(3);
+			Map<String, Object> result = harness.scrape(source);
+
+			assertThat(result.get("jobsScraped")).isEqualTo(0);
+			assertThat(result.get("jobsUpdated")).isEqualTo(3);
+			assertThat(harness.jobsOf(source)).hasSize(40)
+					.filteredOn(ScrapedJob::isHasChanges).hasSize(3);
+		}
+	}
+
+	@Test
+	void identifiesJobsWithSlugUrlsByUrl() throws Exception {
+		try (SyntheticCareerSite site = SyntheticCareerSite.builder()
+				.jobCount(40).pageSize(20).slugUrls(true).build().start();
+				ScraperHarness harness = new ScraperHarness()) {
+			CompanySource source = harness.register(site.source("Acme"));
+
+			// Every slug starts with "senior-", which must not make the postings one job
+			assertThat(harness.scrape(source).get("jobsScraped")).isEqualTo(40);
+
+			site.reviseJob(30);
+			Map<String, Object> result = harness.scrape(source);
+
+			assertThat(result.get("jobsScraped")).isEqualTo(0);
+			assertThat(result.get("jobsUpdated")).isEqualTo(1);
+			assertThat(harness.jobsOf(source)).hasSize(40)
+					.filteredOn(ScrapedJob::isHasChanges)
+					.singleElement()
+					.satisfies(job -> {
+						assertThat(job.getExternalUrl()).endsWith("/jobs/senior-engineer-30");
+						assertThat(job.getTitle()).isEqualTo("Software Engineer 30");
+					});
+		}
+	}
+
+	@Test
+	void schedulerScrapesEveryDueSource() throws Exception {
+		try (SyntheticCareerSite site = SyntheticCareerSite.builder().jobCount(30).pageSize(10).build().start();
+				ScraperHarness harness = new ScraperHarness()) {
+			List<CompanySource> sources = List.of(
+					harness.register(site.source("Acme")),
+					harness.register(site.source("Globex")),
+					harness.register(site.source("Initech")));
+
+			harness.runScheduler(sources);
+
+			assertThat(sources).allSatisfy(source -> assertThat(harness.jobsOf(source)).hasSize(30));
+		}
+	}
+
+}
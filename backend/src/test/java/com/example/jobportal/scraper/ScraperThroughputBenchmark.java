@@ -0,0 +1,133 @@
+package com.example.jobportal.scraper;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.Test;
+
+import com.example.jobportal.model.CompanySource;
+
+/**
+ * Scraper throughput against {@link SyntheticCareerSite}. Not part of the default test run;
+ * start it explicitly and compare the printed numbers between commits:
+ *
+ * <pre>
+ * mvn test -Dtest=ScraperThroughputBenchmark -Dbench.jobs=5000 -Dbench.latency-ms=5
+ * </pre>
+ */
+class ScraperThroughputBenchmark {
+
+	private static final int JOBS = Integer.getInteger("bench.jobs", 2000);
+	private static final int PAGE_SIZE = Integer.getInteger("bench.page-size", 50);
+	private static final long LATENCY_MS = Long.getLong("bench.latency-ms", 2);
+	private static final int FETCH_THREADS = Integer.getInteger("bench.fetch-threads", 2);
+	private static final int SOURCES = Integer.getInteger("bench.sources", 5);
+	private static final int ITERATIONS = Integer.getInteger("bench.iterations", 3);
+	private static final double ERROR_RATE = Double.parseDouble(System.getProperty("bench.error-rate", "0.05"));
+
+	@Test
+	void listingPagesOnly() throws Exception {
+		try (SyntheticCareerSite site = SyntheticCareerSite.builder()
+				.jobCount(JOBS).pageSize(PAGE_SIZE).latencyMillis(LATENCY_MS).build().start()) {
+			measureFirstScrape("listing pages", site);
+		}
+	}
+
+	@Test
+	void listingAndDetailPages() throws Exception {
+		int jobs = Math.max(1, JOBS / 10);
+		try (SyntheticCareerSite site = SyntheticCareerSite.builder()
+				.jobCount(jobs).pageSize(PAGE_SIZE).detailPages(true).latencyMillis(LATENCY_MS).build().start()) {
+			measureFirstScrape("detail pages", site);
+		}
+	}
+
+	@Test
+	void rescrapeWithEditsAndErrors() throws Exception {
+		try (SyntheticCareerSite site = SyntheticCareerSite.builder()
+				.jobCount(JOBS).pageSize(PAGE_SIZE).latencyMillis(LATENCY_MS).build().start();
+				ScraperHarness harness = new ScraperHarness(FETCH_THREADS, 1000)) {
+			CompanySource source = harness.register(site.source("Bench"));
+			harness.scrape(source);
+
+			site.reviseJobs(JOBS / 20);
+			Measurement edited = measure(site, harness, () -> harness.scrape(source), JOBS);
+			report("rescrape, 5% edited", edited);
+
+			Measurement unchanged = measure(site, harness, () -> harness.scrape(source), JOBS);
+			report("rescrape, unchanged", unchanged);
+			// Paginated boards are always fetched in full; page 1 cannot vouch for the rest
+			assertThat(site.notModifiedResponses()).isZero();
+		}
+
+		try (SyntheticCareerSite flaky = SyntheticCareerSite.builder()
+				.jobCount(JOBS).pageSize(PAGE_SIZE).latencyMillis(LATENCY_MS).errorRate(ERROR_RATE).build().start();
+				ScraperHarness harness = new ScraperHarness(FETCH_THREADS, 1000)) {
+			CompanySource source = harness.register(flaky.source("Flaky"));
+			Measurement measurement = measure(flaky, harness, () -> harness.scrape(source), JOBS);
+			report("server errors " + ERROR_RATE, measurement);
+			System.out.printf("  jobs kept: %d, errors served: %d%n", harness.jobsOf(source).size(), flaky.errorResponses());
+		}
+	}
+
+	@Test
+	void schedulerPass() throws Exception {
+		int jobsPerSource = Math.max(1, JOBS / SOURCES);
+		try (SyntheticCareerSite site = SyntheticCareerSite.builder()
+				.jobCount(jobsPerSource).pageSize(PAGE_SIZE).latencyMillis(LATENCY_MS).build().start();
+				ScraperHarness harness = new ScraperHarness(FETCH_THREADS, 1000)) {
+			List<CompanySource> sources = new ArrayList<>();
+			for (int i = 0; i < SOURCES; i++) {
+				sources.add(harness.register(site.source("Source " + i)));
+			}
+
+			Measurement measurement = measure(site, harness, () -> harness.runScheduler(sources), jobsPerSource * SOURCES);
+			report("scheduler, " + SOURCES + " sources", measurement);
+			assertThat(sources).allSatisfy(source -> assertThat(harness.jobsOf(source)).hasSize(jobsPerSource));
+		}
+	}
+
+	private void measureFirstScrape(String label, SyntheticCareerSite site) throws Exception {
+		// Warm up parsing and HTTP paths before measuring
+		try (ScraperHarness warmup = new ScraperHarness(FETCH_THREADS, 1000)) {
+			warmup.scrape(warmup.register(site.source("Warmup")));
+		}
+
+		for (int i = 0; i < ITERATIONS; i++) {
+			try (ScraperHarness harness = new ScraperHarness(FETCH_THREADS, 1000)) {
+				CompanySource source = harness.register(site.source("Bench"));
+				Measurement measurement = measure(site, harness, () -> {
+					Map<String, Object> result = harness.scrape(source);
+					assertThat(result.get("jobsScraped")).isEqualTo(site.jobCount());
+				}, site.jobCount());
+				report(label + " #" + (i + 1), measurement);
+			}
+		}
+	}
+
+	private Measurement measure(SyntheticCareerSite site, ScraperHarness harness, Runnable scrape, int jobs) {
+		site.resetCounters();
+		harness.resetRepositoryCalls();
+
+		long start = System.nanoTime();
+		scrape.run();
+		long elapsedNanos = System.nanoTime() - start;
+
+		return new Measurement(jobs, elapsedNanos, site.requests(), site.bytesServed(), harness.repositoryCalls());
+	}
+
+	private void report(String label, Measurement m) {
+		System.out.printf("%-28s %8.0f jobs/s  %6d ms  %6d requests  %10d bytes  %7d repository calls%n",
+				label, m.jobsPerSecond(), m.elapsedNanos() / 1_000_000, m.requests(), m.bytes(), m.repositoryCalls());
+	}
+
+	private record Measurement(int jobs, long elapsedNanos, long requests, long bytes, long repositoryCalls) {
+		double jobsPerSecond() {
+			return jobs / (elapsedNanos / 1e9);
+		}
+	}
+
+}
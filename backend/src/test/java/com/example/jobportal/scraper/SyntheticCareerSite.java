@@ -0,0 +1,320 @@
+package com.example.jobportal.scraper;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicLong;
+
+import com.example.jobportal.model.CompanySource;
+import com.example.jobportal.model.ScrapingFrequency;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+/**
+ * Generated career board served from an embedded JDK HttpServer, so the scraper
+ * can be exercised and benchmarked without touching real employer sites.
+ *
+ * Listing pages live at {@code /careers?page=N} and link to detail pages at
+ * {@code /jobs/{id}}, or {@code /jobs/senior-engineer-{id}} with slug URLs.
+ * Pages carry a strong ETag and honour If-None-Match.
+ */
+public class SyntheticCareerSite implements AutoCloseable {
+
+	static {
+		// Without TCP_NODELAY the JDK server adds ~40ms of delayed-ACK stall to every keep-alive response
+		System.setProperty("sun.net.httpserver.nodelay", "true");
+	}
+
+	private final int jobCount;
+	private final int pageSize;
+	private final boolean detailPages;
+	private final long latencyMillis;
+	private final double errorRate;
+	private final boolean conditionalRequests;
+	private final boolean slugUrls;
+
+	private final Random random = new Random(42);
+	private final Map<Integer, Integer> jobRevisions = new HashMap<>();
+
+	private final AtomicLong requests = new AtomicLong();
+	private final AtomicLong bytesServed = new AtomicLong();
+	private final AtomicLong notModifiedResponses = new AtomicLong();
+	private final AtomicLong errorResponses = new AtomicLong();
+
+	private HttpServer server;
+	private ExecutorService serverExecutor;
+
+	private SyntheticCareerSite(Builder builder) {
+		this.jobCount = builder.jobCount;
+		this.pageSize = builder.pageSize;
+		this.detailPages = builder.detailPages;
+		this.latencyMillis = builder.latencyMillis;
+		this.errorRate = builder.errorRate;
+		this.conditionalRequests = builder.conditionalRequests;
+		this.slugUrls = builder.slugUrls;
+	}
+
+	public static Builder builder() {
+		return new Builder();
+	}
+
+	public SyntheticCareerSite start() throws IOException {
+		server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+		serverExecutor = Executors.newFixedThreadPool(8);
+		server.setExecutor(serverExecutor);
+		server.createContext("/careers", exchange -> handle(exchange, this::listingPage));
+		server.createContext("/jobs/", exchange -> handle(exchange, this::detailPage));
+		server.start();
+		return this;
+	}
+
+	@Override
+	public void close() {
+		if (server != null) {
+			server.stop(0);
+			serverExecutor.shutdownNow();
+		}
+	}
+
+	public String baseUrl() {
+		return "http://127.0.0.1:" + server.getAddress().getPort();
+	}
+
+	/**
+	 * Unsaved source with selectors matching the generated markup
+	 */
+	public CompanySource source(String companyName) {
+		CompanySource source = new CompanySource();
+		source.setCompanyName(companyName);
+		source.setCareerPageUrl(baseUrl() + "/careers");
+		source.setFrequency(ScrapingFrequency.DAILY);
+		source.setJobListSelector("li.job");
+		source.setJobTitleSelector(".title");
+		source.setJobLocationSelector(".location");
+		source.setJobTypeSelector(".type");
+		source.setJobSalarySelector(".salary");
+		source.setJobUrlSelector("a.link");
+		source.setJobDescriptionSelector(".description");
+		source.setNextPageSelector("a.next");
+		source.setMaxPages(pageCount());
+		return source;
+	}
+
+	/**
+	 * Edit the salary of the first {@code count} jobs, changing the listing pages they appear on
+	 */
+	public synchronized void reviseJobs(int count) {
+		for (int id = 1; id <= Math.min(count, jobCount); id++) {
+			jobRevisions.merge(id, 1, Integer::sum);
+		}
+	}
+
+	/**
+	 * Edit the salary of one job, changing only the listing page it appears on
+	 */
+	public synchronized void reviseJob(int id) {
+		jobRevisions.merge(id, 1, Integer::sum);
+	}
+
+	public int pageCount() {
+		return (jobCount + pageSize - 1) / pageSize;
+	}
+
+	public int jobCount() {
+		return jobCount;
+	}
+
+	public long requests() {
+		return requests.get();
+	}
+
+	public long bytesServed() {
+		return bytesServed.get();
+	}
+
+	public long notModifiedResponses() {
+		return notModifiedResponses.get();
+	}
+
+	public long errorResponses() {
+		return errorResponses.get();
+	}
+
+	public void resetCounters() {
+		requests.set(0);
+		bytesServed.set(0);
+		notModifiedResponses.set(0);
+		errorResponses.set(0);
+	}
+
+	private void handle(HttpExchange exchange, PageRenderer renderer) throws IOException {
+		try (exchange) {
+			requests.incrementAndGet();
+			if (latencyMillis > 0) {
+				Thread.sleep(latencyMillis);
+			}
+			if (failNextRequest()) {
+				errorResponses.incrementAndGet();
+				exchange.sendResponseHeaders(503, -1);
+				return;
+			}
+
+			String body = renderer.render(exchange);
+			if (body == null) {
+				exchange.sendResponseHeaders(404, -1);
+				return;
+			}
+
+			String etag = "\"" + Integer.toHexString(body.hashCode()) + "\"";
+			if (conditionalRequests && etag.equals(exchange.getRequestHeaders().getFirst("If-None-Match"))) {
+				notModifiedResponses.incrementAndGet();
+				exchange.getResponseHeaders().set("ETag", etag);
+				exchange.sendResponseHeaders(304, -1);
+				return;
+			}
+
+			byte[] bytes = body.getBytes(StandardCharsets.UTF_8);
+			exchange.getResponseHeaders().set("Content-Type", "text/html; charset=utf-8");
+			if (conditionalRequests) {
+				exchange.getResponseHeaders().set("ETag", etag);
+			}
+			exchange.sendResponseHeaders(200, bytes.length);
+			try (OutputStream out = exchange.getResponseBody()) {
+				out.write(bytes);
+			}
+			bytesServed.addAndGet(bytes.length);
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		}
+	}
+
+	private synchronized boolean failNextRequest() {
+		return errorRate > 0 && random.nextDouble() < errorRate;
+	}
+
+	private String listingPage(HttpExchange exchange) {
+		int page = 1;
+		String query = exchange.getRequestURI().getQuery();
+		if (query != null && query.startsWith("page=")) {
+			page = Integer.parseInt(query.substring(5));
+		}
+		if (page < 1 || page > pageCount()) {
+			return null;
+		}
+
+		StringBuilder html = new StringBuilder(pageSize * 300);
+		html.append("<!DOCTYPE html><html><head><title>Careers</title></head><body><ul class=\"jobs\">");
+		int first = (page - 1) * pageSize + 1;
+		int last = Math.min(page * pageSize, jobCount);
+		for (int id = first; id <= last; id++) {
+			html.append("<li class=\"job\">")
+					.append("<h3 class=\"title\">").append(title(id)).append("</h3>")
+					.append("<span class=\"location\">City ").append(id % 17).append("</span>")
+					.append("<span class=\"type\">").append(id % 3 == 0 ? "Contract" : "Full-time").append("</span>")
+					.append("<span class=\"salary\">").append(salary(id)).append("</span>")
+					.append("<a class=\"link\" href=\"/jobs/").append(jobPath(id)).append("\">View role</a>");
+			if (!detailPages) {
+				html.append("<p class=\"description\">").append(description(id)).append("</p>");
+			}
+			html.append("</li>");
+		}
+		html.append("</ul>");
+		if (page < pageCount()) {
+			html.append("<a class=\"next\" href=\"/careers?page=").append(page + 1).append("\">Next</a>");
+		}
+		html.append("</body></html>");
+		return html.toString();
+	}
+
+	private String detailPage(HttpExchange exchange) {
+		String path = exchange.getRequestURI().getPath().substring("/jobs/".length());
+		int id;
+		try {
+			id = Integer.parseInt(path.substring(path.lastIndexOf('-') + 1));
+		} catch (NumberFormatException e) {
+			return null;
+		}
+		if (id < 1 || id > jobCount) {
+			return null;
+		}
+		return "<!DOCTYPE html><html><head><title>" + title(id) + "</title></head><body>"
+				+ "<h1>" + title(id) + "</h1><div class=\"description\">" + description(id) + "</div></body></html>";
+	}
+
+	private String jobPath(int id) {
+		return slugUrls ? "senior-engineer-" + id : String.valueOf(id);
+	}
+
+	private String title(int id) {
+		return "Software Engineer " + id;
+	}
+
+	private synchronized String salary(int id) {
+		return "$" + (80000 + (id % 50) * 1000 + jobRevisions.getOrDefault(id, 0) * 500);
+	}
+
+	private String description(int id) {
+		return "Role " + id + " builds and operates services for our customers. "
+				+ "You will work with Java, Spring and PostgreSQL in a small team. ".repeat(4);
+	}
+
+	@FunctionalInterface
+	private interface PageRenderer {
+		String render(HttpExchange exchange);
+	}
+
+	public static class Builder {
+		private int jobCount = 100;
+		private int pageSize = 25;
+		private boolean detailPages = false;
+		private long latencyMillis = 0;
+		private double errorRate = 0;
+		private boolean conditionalRequests = true;
+		private boolean slugUrls = false;
+
+		public Builder jobCount(int jobCount) {
+			this.jobCount = jobCount;
+			return this;
+		}
+
+		public Builder pageSize(int pageSize) {
+			this.pageSize = pageSize;
+			return this;
+		}
+
+		public Builder detailPages(boolean detailPages) {
+			this.detailPages = detailPages;
+			return this;
+		}
+
+		public Builder latencyMillis(long latencyMillis) {
+			this.latencyMillis = latencyMillis;
+			return this;
+		}
+
+		public Builder errorRate(double errorRate) {
+			this.errorRate = errorRate;
+			return this;
+		}
+
+		public Builder conditionalRequests(boolean conditionalRequests) {
+			this.conditionalRequests = conditionalRequests;
+			return this;
+		}
+
+		public Builder slugUrls(boolean slugUrls) {
+			this.slugUrls = slugUrls;
+			return this;
+		}
+
+		public SyntheticCareerSite build() {
+			return new SyntheticCareerSite(this);
+		}
+	}
+}
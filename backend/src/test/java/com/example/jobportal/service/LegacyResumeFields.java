@@ -0,0 +1,156 @@
+package com.example.jobportal.service;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Calendar;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * The field extraction {@link ResumeFieldExtractor} replaced: one regex or indexOf search per
+ * field, compiling its patterns on every call. Kept as the reference the single pass is
+ * checked and benchmarked against.
+ */
+final class LegacyResumeFields {
+
+	private static final List<String> EDUCATION_LEVELS = Arrays.asList(
+			"ph.d", "phd", "doctorate",
+			"master", "m.s.", "ms", "mba", "m.a.",
+			"bachelor", "b.s.", "bs", "b.a.", "ba", "b.tech", "b.e.",
+			"associate",
+			"diploma",
+			"high school", "secondary");
+
+	private LegacyResumeFields() {
+	}
+
+	static ResumeFieldExtractor.Fields extract(String text) {
+		return new ResumeFieldExtractor.Fields(extractEmail(text), extractPhone(text),
+				extractSection(text, new String[] {"experience", "work history", "employment", "professional experience"}),
+				extractSection(text, new String[] {"education", "academic", "qualification", "degree"}),
+				detectEducationLevel(text), estimateExperienceYears(text), extractSections(text));
+	}
+
+	private static String extractEmail(String text) {
+		Pattern pattern = Pattern.compile("[a-zA-Z0-9._%+-]+@[a-zA-Z0-9.-]+\\.[a-zA-Z]{2,}");
+		Matcher matcher = pattern.matcher(text);
+		return matcher.find() ? matcher.group() : "";
+	}
+
+	private static String extractPhone(String text) {
+		List<Pattern> patterns = Arrays.asList(
+				Pattern.compile("\\(\\d{3}\\)\\s*\\d{3}-\\d{4}"),
+				Pattern.compile("\\d{3}-\\d{3}-\\d{4}"),
+				Pattern.compile("\\d{3}\\.\\d{3}\\.\\d{4}"),
+				Pattern.compile("\\+\\d{1,3}\\s*\\d{10}"),
+				Pattern.compile("\\d{10}"));
+
+		for (Pattern pattern : patterns) {
+			Matcher matcher = pattern.matcher(text);
+			if (matcher.find()) {
+				return matcher.group();
+			}
+		}
+		return "";
+	}
+
+	private static String detectEducationLevel(String text) {
+		String lowerText = text.toLowerCase();
+
+		for (String level : EDUCATION_LEVELS) {
+			if (lowerText.contains(level)) {
+				if (level.startsWith("ph") || level.equals("doctorate")) {
+					return "PhD";
+				} else if (level.startsWith("master") || level.equals("mba") || level.equals("m.s.") || level.equals("ms")) {
+					return "Master's";
+				} else if (level.startsWith("bachelor") || level.startsWith("b.")) {
+					return "Bachelor's";
+				} else if (level.equals("associate")) {
+					return "Associate";
+				} else if (level.equals("diploma")) {
+					return "Diploma";
+				} else if (level.contains("high school") || level.equals("secondary")) {
+					return "High School";
+				}
+			}
+		}
+		return "Not Specified";
+	}
+
+	private static Double estimateExperienceYears(String text) {
+		List<Pattern> patterns = Arrays.asList(
+				Pattern.compile("(\\d+)\\+?\\s*years?\\s*(?:of\\s*)?experience", Pattern.CASE_INSENSITIVE),
+				Pattern.compile("experience\\s*:?\\s*(\\d+)\\s*years?", Pattern.CASE_INSENSITIVE),
+				Pattern.compile("(\\d+)\\s*years?\\s*(?:of\\s*)?professional", Pattern.CASE_INSENSITIVE));
+
+		for (Pattern pattern : patterns) {
+			Matcher matcher = pattern.matcher(text);
+			if (matcher.find()) {
+				return Double.parseDouble(matcher.group(1));
+			}
+		}
+
+		Matcher matcher = Pattern.compile("(19|20)\\d{2}").matcher(text);
+		List<Integer> years = new ArrayList<>();
+		while (matcher.find()) {
+			years.add(Integer.parseInt(matcher.group()));
+		}
+		if (years.size() >= 2) {
+			Collections.sort(years);
+			int currentYear = Calendar.getInstance().get(Calendar.YEAR);
+			int earliestYear = years.get(0);
+			int latestYear = years.get(years.size() - 1);
+			return latestYear >= currentYear - 2 ? (double) (currentYear - earliestYear) : (double) (latestYear - earliestYear);
+		}
+		return 0.0;
+	}
+
+	private static String extractSection(String text, String[] keywords) {
+		String lowerText = text.toLowerCase();
+		int startIndex = -1;
+		for (String keyword : keywords) {
+			int index = lowerText.indexOf(keyword);
+			if (index != -1 && (startIndex == -1 || index < startIndex)) {
+				startIndex = index;
+			}
+		}
+		if (startIndex == -1) {
+			return "";
+		}
+
+		String[] allSectionKeywords = {
+				"experience", "education", "skills", "projects", "certifications",
+				"references", "interests", "hobbies", "achievements", "awards"};
+		int endIndex = text.length();
+		for (String keyword : allSectionKeywords) {
+			int index = lowerText.indexOf(keyword, startIndex + 50);
+			if (index != -1 && index < endIndex) {
+				endIndex = index;
+			}
+		}
+		return text.substring(startIndex, endIndex).trim();
+	}
+
+	private static Map<String, String> extractSections(String text) {
+		Map<String, String> sections = new HashMap<>();
+		String[][] sectionKeywords = {
+				{"summary", "profile", "objective"},
+				{"experience", "work history", "employment"},
+				{"education", "academic"},
+				{"skills", "technical skills", "competencies"},
+				{"projects", "project experience"},
+				{"certifications", "certificates"},
+				{"achievements", "accomplishments", "awards"}};
+		for (String[] keywords : sectionKeywords) {
+			String section = extractSection(text, keywords);
+			if (!section.isEmpty()) {
+				sections.put(keywords[0], section);
+			}
+		}
+		return sections;
+	}
+}
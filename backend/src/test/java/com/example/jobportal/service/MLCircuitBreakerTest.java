@@ -0,0 +1,99 @@
+package com.example.jobportal.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+class MLCircuitBreakerTest {
+
+	private final AtomicLong now = new AtomicLong();
+	private final MLCircuitBreaker breaker = new MLCircuitBreaker();
+
+	@BeforeEach
+	void setUp() {
+		ReflectionTestUtils.setField(breaker, "windowSize", 10);
+		ReflectionTestUtils.setField(breaker, "minimumCalls", 4);
+		ReflectionTestUtils.setField(breaker, "failureRatePercent", 50);
+		ReflectionTestUtils.setField(breaker, "openSeconds", 30L);
+		ReflectionTestUtils.setField(breaker, "halfOpenCalls", 2);
+		ReflectionTestUtils.setField(breaker, "clock", (LongSupplier) now::get);
+	}
+
+	@Test
+	void opensOnceTheFailureRateIsReached() {
+		call(true);
+		call(false);
+		call(true);
+		assertThat(breaker.state()).isEqualTo(MLCircuitBreaker.State.CLOSED);
+
+		call(false);
+
+		assertThat(breaker.state()).isEqualTo(MLCircuitBreaker.State.OPEN);
+		assertThat(breaker.tryAcquirePermission()).isFalse();
+		assertThat(breaker.snapshot()).containsEntry("notPermittedCalls", 1L).containsEntry("retryInSeconds", 30L);
+	}
+
+	@Test
+	void closesAfterSuccessfulTrialCalls() {
+		open();
+		now.addAndGet(TimeUnit.SECONDS.toNanos(31));
+
+		assertThat(breaker.tryAcquirePermission()).isTrue();
+		assertThat(breaker.tryAcquirePermission()).isTrue();
+		// Only the configured number of trial calls get through
+		assertThat(breaker.tryAcquirePermission()).isFalse();
+		assertThat(breaker.state()).isEqualTo(MLCircuitBreaker.State.HALF_OPEN);
+
+		breaker.onSuccess();
+		breaker.onSuccess();
+
+		assertThat(breaker.state()).isEqualTo(MLCircuitBreaker.State.CLOSED);
+		assertThat(breaker.snapshot()).containsEntry("callsInWindow", 0);
+	}
+
+	@Test
+	void reopensWhenATrialCallFails() {
+		open();
+		now.addAndGet(TimeUnit.SECONDS.toNanos(31));
+
+		assertThat(breaker.tryAcquirePermission()).isTrue();
+		breaker.onFailure();
+
+		assertThat(breaker.state()).isEqualTo(MLCircuitBreaker.State.OPEN);
+		assertThat(breaker.tryAcquirePermission()).isFalse();
+	}
+
+	@Test
+	void releasedTrialPermissionsCanBeReused() {
+		open();
+		now.addAndGet(TimeUnit.SECONDS.toNanos(31));
+
+		assertThat(breaker.tryAcquirePermission()).isTrue();
+		assertThat(breaker.tryAcquirePermission()).isTrue();
+		breaker.releasePermission();
+
+		assertThat(breaker.tryAcquirePermission()).isTrue();
+	}
+
+	private void open() {
+		for (int i = 0; i < 4; i++) {
+			call(false);
+		}
+		assertThat(breaker.state()).isEqualTo(MLCircuitBreaker.State.OPEN);
+	}
+
+	private void call(boolean success) {
+		assertThat(breaker.tryAcquirePermission()).isTrue();
+		if (success) {
+			breaker.onSuccess();
+		} else {
+			breaker.onFailure();
+		}
+	}
+}
@@ -0,0 +1,76 @@
+package com.example.jobportal.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import com.example.jobportal.model.ApprovalStatus;
+import com.example.jobportal.model.Job;
+
+class MatchResultCacheTest {
+
+	private final JobCatalogVersion catalogVersion = new JobCatalogVersion();
+	private final MatchResultCache cache = new MatchResultCache();
+	private final Map<String, Object> response = Map.of("matches", List.of(Map.of("job_id", "1")), "total_matches", 1);
+
+	@BeforeEach
+	void setUp() {
+		ReflectionTestUtils.setField(catalogVersion, "versionCheckMillis", 0L);
+		ReflectionTestUtils.setField(cache, "jobCatalogVersion", catalogVersion);
+		ReflectionTestUtils.setField(cache, "localMaxEntries", 10);
+		ReflectionTestUtils.setField(cache, "ttlMinutes", 5);
+		cache.init();
+	}
+
+	@Test
+	void cachesByMemberModeAndLimit() {
+		String version = cache.catalogVersion();
+		cache.put("m_1", "strict", 10, version, response);
+
+		assertThat(cache.get("m_1", "strict", 10, cache.catalogVersion())).isEqualTo(response);
+		assertThat(cache.get("m_1", "strict", 5, cache.catalogVersion())).isNull();
+		assertThat(cache.get("m_1", "flexible", 10, cache.catalogVersion())).isNull();
+		assertThat(cache.get("m_2", "strict", 10, cache.catalogVersion())).isNull();
+	}
+
+	@Test
+	void approvedJobsInvalidateCachedMatches() {
+		cache.put("m_1", "strict", 10, cache.catalogVersion(), response);
+
+		// Jobs still waiting for approval are not matched yet
+		catalogVersion.afterPersist(job(ApprovalStatus.PENDING));
+		assertThat(cache.get("m_1", "strict", 10, cache.catalogVersion())).isEqualTo(response);
+
+		catalogVersion.afterChange(job(ApprovalStatus.APPROVED));
+		assertThat(cache.get("m_1", "strict", 10, cache.catalogVersion())).isNull();
+	}
+
+	@Test
+	void bumpsOnlyOnceTheTransactionCommits() {
+		String before = cache.catalogVersion();
+		TransactionSynchronizationManager.initSynchronization();
+		try {
+			catalogVersion.afterPersist(job(ApprovalStatus.APPROVED));
+			assertThat(cache.catalogVersion()).isEqualTo(before);
+
+			TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+		} finally {
+			TransactionSynchronizationManager.clearSynchronization();
+		}
+
+		assertThat(cache.catalogVersion()).isNotEqualTo(before);
+	}
+
+	private static Job job(ApprovalStatus status) {
+		Job job = new Job();
+		job.setApprovalStatus(status);
+		return job;
+	}
+}
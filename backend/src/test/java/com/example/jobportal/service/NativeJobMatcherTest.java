@@ -0,0 +1,107 @@
+package com.example.jobportal.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+class NativeJobMatcherTest {
+
+	private final SkillTaxonomy taxonomy = SkillTaxonomyTest.standardTaxonomy();
+	private final NativeJobMatcher matcher = new NativeJobMatcher();
+
+	@BeforeEach
+	void setUp() {
+		ReflectionTestUtils.setField(matcher, "skillTaxonomy", taxonomy);
+		ReflectionTestUtils.setField(matcher, "refreshSeconds", 3600L);
+		matcher.load(List.of(
+				job(1L, "Data Scientist", "Build machine learning models and statistical analyses of customer data",
+						"Python, Pandas", "AWS", 2, "junior"),
+				job(2L, "Backend Engineer", "Design REST APIs and microservices for our payments platform",
+						"Java, Spring Boot, PostgreSQL", "Docker", 2, "junior"),
+				job(3L, "Platform Engineer", "Run Kubernetes clusters and infrastructure as code",
+						"Java, Kubernetes", "Docker, Terraform", 5, "senior"),
+				job(4L, "Principal Architect", "Own the architecture of payments microservices",
+						"Java, Spring Boot, PostgreSQL", "Docker", 12, "principal")));
+	}
+
+	@Test
+	void ranksBySkillsFitAndText() {
+		Map<String, Object> response = matcher.match(candidate(
+				List.of("Java", "Spring Boot", "PostgreSQL", "Docker"), 2, "junior",
+				"Built REST APIs and microservices for a payments startup"), "native", 3);
+
+		List<Map<String, Object>> matches = matches(response);
+		assertThat(matches).extracting(match -> match.get("job_id")).containsExactly("2", "4", "3");
+		assertThat(response).containsEntry("total_matches", 4).containsEntry("engine", "native");
+
+		Map<String, Object> details = details(matches.get(0));
+		assertThat(details).containsEntry("skill_match", 4).containsEntry("seniority_match", true);
+		assertThat(details.get("matched_skills")).isEqualTo(List.of("java", "spring", "spring boot", "postgresql"));
+		assertThat((Double) details.get("text_similarity")).isPositive();
+	}
+
+	@Test
+	void strictModePenalisesSeniorityGaps() {
+		NativeJobMatcher.Candidate candidate = candidate(List.of("Java", "Spring Boot", "PostgreSQL"), 2, "junior", "");
+
+		double graduateFriendly = score(matcher.match(candidate, "native", 4), "4");
+		double strict = score(matcher.match(candidate, "native_strict", 4), "4");
+
+		assertThat(strict).isLessThan(graduateFriendly);
+	}
+
+	@Test
+	void keepsOnlyTheTopK() {
+		Map<String, Object> response = matcher.match(candidate(List.of("Python"), 0, null, "machine learning"), "native", 1);
+
+		assertThat(matches(response)).extracting(match -> match.get("job_id")).containsExactly("1");
+		assertThat(matcher.match(candidate(List.of("Python"), 0, null, ""), "native", 0).get("matches")).isEqualTo(List.of());
+	}
+
+	@Test
+	void parsesNativeModes() {
+		assertThat(NativeJobMatcher.isNativeMode("native_flexible")).isTrue();
+		assertThat(NativeJobMatcher.isNativeMode("graduate_friendly")).isFalse();
+		assertThat(NativeJobMatcher.fitMode("native")).isEqualTo("graduate_friendly");
+		assertThat(NativeJobMatcher.fitMode("native_strict")).isEqualTo("strict");
+		assertThat(NativeJobMatcher.fitMode("flexible")).isEqualTo("flexible");
+	}
+
+	private NativeJobMatcher.Candidate candidate(List<String> skills, int years, String level, String text) {
+		Map<String, Object> profile = new HashMap<>();
+		profile.put("skills", skills);
+		profile.put("experienceYears", years);
+		profile.put("seniorityLevel", level);
+		profile.put("text", text);
+		return matcher.candidate(profile);
+	}
+
+	private NativeJobMatcher.CatalogJob job(long id, String title, String description, String required, String preferred,
+			int years, String level) {
+		return new NativeJobMatcher.CatalogJob(id, title, "Acme", "Remote", title + "\n" + description,
+				SkillTaxonomy.encode(taxonomy.skillIds(required)), SkillTaxonomy.encode(taxonomy.skillIds(preferred)), years, level);
+	}
+
+	private static double score(Map<String, Object> response, String jobId) {
+		return matches(response).stream()
+				.filter(match -> jobId.equals(match.get("job_id")))
+				.mapToDouble(match -> (Double) match.get("score"))
+				.findFirst().orElseThrow();
+	}
+
+	@SuppressWarnings("unchecked")
+	private static List<Map<String, Object>> matches(Map<String, Object> response) {
+		return (List<Map<String, Object>>) response.get("matches");
+	}
+
+	@SuppressWarnings("unchecked")
+	private static Map<String, Object> details(Map<String, Object> match) {
+		return (Map<String, Object>) match.get("match_details");
+	}
+}
@@ -0,0 +1,46 @@
+package com.example.jobportal.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+class ResumeFieldExtractorTest {
+
+	@Test
+	void extractsContactDetailsAndExperience() {
+		ResumeFieldExtractor.Fields fields = ResumeFieldExtractor.extract(
+				"Jane Doe\nCall 4155550199 or (415) 555-0199\nMail: jane.doe@example.com\n6+ years of experience with Java\n");
+
+		assertThat(fields.email()).isEqualTo("jane.doe@example.com");
+		// The preferred format wins even when another one appears first
+		assertThat(fields.phone()).isEqualTo("(415) 555-0199");
+		assertThat(fields.experienceYears()).isEqualTo(6.0);
+	}
+
+	@Test
+	void splitsSectionsAtNextHeader() {
+		String text = "SUMMARY\nBackend engineer focused on reliability and clear interfaces.\n"
+				+ "EDUCATION\nB.S. Computer Science, State University 2014\n"
+				+ "SKILLS\nJava, SQL";
+
+		ResumeFieldExtractor.Fields fields = ResumeFieldExtractor.extract(text);
+
+		assertThat(fields.educationLevel()).isEqualTo("Bachelor's");
+		assertThat(fields.sections()).containsKeys("summary", "education", "skills");
+		assertThat(fields.education()).startsWith("EDUCATION").doesNotContain("SKILLS");
+	}
+
+	@Test
+	void matchesPerFieldExtractionOnCorpus() {
+		List<String> corpus = SyntheticResumes.corpus(500, 1_500, 42L);
+		corpus.add("");
+		corpus.add("a@b@c.com 123-456-78901 x1234-567-8901 20192020 experience : 4 year");
+
+		for (String text : corpus) {
+			assertThat(ResumeFieldExtractor.extract(text)).as(text).isEqualTo(LegacyResumeFields.extract(text));
+		}
+	}
+
+}
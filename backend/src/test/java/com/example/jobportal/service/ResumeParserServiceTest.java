@@ -0,0 +1,102 @@
+package com.example.jobportal.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Map;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import com.example.jobportal.config.ResumeParserConfig;
+
+class ResumeParserServiceTest {
+
+	private final ResumeParserService parser = new ResumeParserService();
+	private final ResumeParseMetrics metrics = new ResumeParseMetrics();
+	private ThreadPoolTaskExecutor executor;
+
+	@BeforeEach
+	void setUp() {
+		executor = new ResumeParserConfig().resumeParseExecutor(1, 2);
+		ReflectionTestUtils.setField(parser, "resumeParseExecutor", executor);
+		ReflectionTestUtils.setField(parser, "parseMetrics", metrics);
+		ReflectionTestUtils.setField(parser, "parseTimeoutSeconds", 10L);
+		ReflectionTestUtils.setField(parser, "maxChars", 10_000);
+		ReflectionTestUtils.setField(parser, "skillTaxonomy", SkillTaxonomyTest.standardTaxonomy());
+
+		ResumeParseCache cache = new ResumeParseCache();
+		ReflectionTestUtils.setField(cache, "skillTaxonomy", SkillTaxonomyTest.standardTaxonomy());
+		ReflectionTestUtils.setField(cache, "localMaxEntries", 10);
+		ReflectionTestUtils.setField(cache, "ttlHours", 1);
+		ReflectionTestUtils.setField(cache, "mlTtlMinutes", 1);
+		cache.init();
+		ReflectionTestUtils.setField(parser, "parseCache", cache);
+	}
+
+	@AfterEach
+	void tearDown() {
+		executor.shutdown();
+	}
+
+	@Test
+	@SuppressWarnings("unchecked")
+	void parsesTextResumeAndRecordsMetrics() {
+		String resume = "Jane Doe\njane@example.com\nSkills: Java, Spring Boot, Postgres, k8s\n5 years of experience\n";
+
+		Map<String, Object> result = parse(resume, "jane.txt");
+
+		assertThat(result.get("success")).isEqualTo(true);
+		assertThat(result.get("email")).isEqualTo("jane@example.com");
+		assertThat(result.get("truncated")).isEqualTo(false);
+		assertThat((Iterable<String>) result.get("skills")).contains("java", "spring boot", "postgresql", "kubernetes");
+		assertThat(result.get("taxonomyVersion")).isEqualTo(SkillTaxonomyTest.standardTaxonomy().version());
+
+		Map<String, Object> textStats = (Map<String, Object>) ((Map<String, Object>) metrics.snapshot().get("mimeTypes"))
+				.get("text/plain");
+		assertThat(textStats.get("count")).isEqualTo(1L);
+		assertThat(textStats.get("success")).isEqualTo(1L);
+	}
+
+	@Test
+	void truncatesTextBeyondCharacterLimit() {
+		String resume = "Java developer. ".repeat(2_000);
+
+		Map<String, Object> result = parse(resume, "long.txt");
+
+		assertThat(result.get("success")).isEqualTo(true);
+		assertThat(result.get("truncated")).isEqualTo(true);
+		assertThat((String) result.get("rawText")).hasSizeLessThanOrEqualTo(10_000);
+	}
+
+	@Test
+	@SuppressWarnings("unchecked")
+	void reusesParseOfIdenticalFile(@TempDir Path uploads) throws Exception {
+		Path first = Files.writeString(uploads.resolve("first.txt"), "Kotlin and Docker engineer", StandardCharsets.UTF_8);
+		Path copy = Files.copy(first, uploads.resolve("copy.txt"));
+
+		Map<String, Object> parsed = parser.parseResume(first, "first.txt");
+		Map<String, Object> reparsed = parser.parseResume(copy, "copy.txt");
+
+		assertThat(parsed.get("cached")).isNull();
+		assertThat(reparsed.get("cached")).isEqualTo(true);
+		assertThat(reparsed.get("contentHash")).isEqualTo(parsed.get("contentHash"));
+		assertThat((Iterable<String>) reparsed.get("skills")).contains("kotlin", "docker");
+
+		Map<String, Object> textStats = (Map<String, Object>) ((Map<String, Object>) metrics.snapshot().get("mimeTypes"))
+				.get("text/plain");
+		assertThat(textStats.get("count")).isEqualTo(1L);
+	}
+
+	private Map<String, Object> parse(String text, String fileName) {
+		return parser.parseResume(new ByteArrayInputStream(text.getBytes(StandardCharsets.UTF_8)), fileName);
+	}
+
+}
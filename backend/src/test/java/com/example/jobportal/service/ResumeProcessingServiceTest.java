@@ -0,0 +1,102 @@
+package com.example.jobportal.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import com.example.jobportal.model.ProcessingStatus;
+import com.example.jobportal.model.Resume;
+import com.example.jobportal.repository.ResumeRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+class ResumeProcessingServiceTest {
+
+	@TempDir
+	Path uploads;
+
+	private final ResumeRepository resumeRepository = mock(ResumeRepository.class);
+	private final ResumeParserService resumeParserService = mock(ResumeParserService.class);
+	private final ResumeProcessingService service = new ResumeProcessingService();
+
+	@BeforeEach
+	void setUp() {
+		ReflectionTestUtils.setField(service, "resumeRepository", resumeRepository);
+		ReflectionTestUtils.setField(service, "resumeParserService", resumeParserService);
+		ReflectionTestUtils.setField(service, "objectMapper", new ObjectMapper());
+		when(resumeRepository.save(any(Resume.class))).thenAnswer(invocation -> invocation.getArgument(0));
+	}
+
+	@Test
+	void completesClaimedResumeWithExtractedFields() throws Exception {
+		Resume resume = storedResume(1L);
+		when(resumeRepository.claimForProcessing(eq(1L), any(), any(), any())).thenReturn(1);
+		when(resumeRepository.findById(1L)).thenReturn(Optional.of(resume));
+		when(resumeParserService.parseResume(any(Path.class), anyString())).thenReturn(Map.of(
+				"success", true,
+				"rawText", "Jane Doe jane@example.com Java",
+				"email", "jane@example.com",
+				"phone", "",
+				"skills", List.of("java", "spring boot"),
+				"experienceYears", 5.0,
+				"educationLevel", "Bachelor's"));
+
+		service.process(1L);
+
+		assertThat(resume.getProcessingStatus()).isEqualTo(ProcessingStatus.COMPLETED);
+		assertThat(resume.getProcessedAt()).isNotNull();
+		assertThat(resume.getExtractedSkills()).isEqualTo("java, spring boot");
+		assertThat(resume.getParsedData()).contains("\"email\":\"jane@example.com\"");
+		assertThat(service.statusView(resume).get("skills")).isEqualTo(List.of("java", "spring boot"));
+	}
+
+	@Test
+	void recordsParseFailure() throws Exception {
+		Resume resume = storedResume(2L);
+		when(resumeRepository.claimForProcessing(eq(2L), any(), any(), any())).thenReturn(1);
+		when(resumeRepository.findById(2L)).thenReturn(Optional.of(resume));
+		when(resumeParserService.parseResume(any(Path.class), anyString()))
+				.thenReturn(Map.of("success", false, "error", "Resume parsing timed out after 30 seconds"));
+
+		service.process(2L);
+
+		assertThat(resume.getProcessingStatus()).isEqualTo(ProcessingStatus.FAILED);
+		assertThat(resume.getProcessingError()).contains("timed out");
+	}
+
+	@Test
+	void skipsResumeClaimedByAnotherWorker() {
+		when(resumeRepository.claimForProcessing(eq(3L), any(), any(), any())).thenReturn(0);
+
+		service.process(3L);
+
+		verify(resumeRepository, never()).findById(3L);
+	}
+
+	private Resume storedResume(Long id) throws Exception {
+		Path file = Files.writeString(uploads.resolve("cv-" + id + ".txt"), "Jane Doe", StandardCharsets.UTF_8);
+		Resume resume = new Resume();
+		resume.setId(id);
+		resume.setFileName("cv.txt");
+		resume.setFilePath(file.toString());
+		resume.setProcessingStatus(ProcessingStatus.PROCESSING);
+		return resume;
+	}
+
+}
@@ -0,0 +1,181 @@
+package com.example.jobportal.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.Pageable;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.example.jobportal.model.ProcessingStatus;
+import com.example.jobportal.model.Resume;
+import com.example.jobportal.repository.ResumeRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+class ResumeReparseServiceTest {
+
+	private final ResumeRepository resumeRepository = mock(ResumeRepository.class);
+	private final FileStorageService fileStorageService = mock(FileStorageService.class);
+	private final ResumeParserService resumeParserService = mock(ResumeParserService.class);
+	private final TransactionTemplate transactionTemplate = mock(TransactionTemplate.class);
+	private final ResumeReparseService service = new ResumeReparseService();
+	private final SkillTaxonomy taxonomy = SkillTaxonomyTest.standardTaxonomy();
+	private final Map<Long, Resume> rows = new HashMap<>();
+
+	@BeforeEach
+	@SuppressWarnings("unchecked")
+	void setUp() {
+		ResumeProcessingService processingService = new ResumeProcessingService();
+		ReflectionTestUtils.setField(processingService, "objectMapper", new ObjectMapper());
+
+		ReflectionTestUtils.setField(service, "resumeRepository", resumeRepository);
+		ReflectionTestUtils.setField(service, "fileStorageService", fileStorageService);
+		ReflectionTestUtils.setField(service, "resumeParserService", resumeParserService);
+		ReflectionTestUtils.setField(service, "resumeProcessingService", processingService);
+		ReflectionTestUtils.setField(service, "transactionTemplate", transactionTemplate);
+		ReflectionTestUtils.setField(service, "skillTaxonomy", taxonomy);
+		ReflectionTestUtils.setField(service, "parallelism", 2);
+		ReflectionTestUtils.setField(service, "parserThreads", 2);
+		ReflectionTestUtils.setField(service, "batchSize", 10);
+		service.init();
+
+		when(transactionTemplate.execute(any()))
+				.thenAnswer(invocation -> ((TransactionCallback<?>) invocation.getArgument(0)).doInTransaction(null));
+		when(resumeRepository.findAllById(any())).thenAnswer(invocation -> {
+			List<Resume> found = new ArrayList<>();
+			((Iterable<Long>) invocation.getArgument(0)).forEach(id -> found.add(rows.get(id)));
+			return found;
+		});
+		when(fileStorageService.fileExists(anyString())).thenReturn(true);
+	}
+
+	@AfterEach
+	void tearDown() {
+		service.shutdown();
+	}
+
+	@Test
+	void reparsesStaleResumesAndCountsFailures() throws Exception {
+		Resume parsed = storedResume(1L);
+		storedResume(2L);
+		storedResume(3L);
+		when(resumeRepository.countWithStaleParse(ProcessingStatus.COMPLETED, ResumeParserService.PARSER_VERSION,
+				taxonomy.version()))
+				.thenReturn(3L);
+		when(resumeRepository.findIdsWithStaleParse(eq(ProcessingStatus.COMPLETED), eq(ResumeParserService.PARSER_VERSION),
+				eq(taxonomy.version()), anyLong(), any(Pageable.class)))
+				.thenReturn(List.of(1L, 2L, 3L), List.of());
+		when(fileStorageService.fileExists("/uploads/3.pdf")).thenReturn(false);
+		when(resumeParserService.parseResume(Paths.get("/uploads/1.pdf"), "1.pdf")).thenReturn(Map.of(
+				"success", true,
+				"rawText", "Jane Doe Kubernetes",
+				"skills", List.of("kubernetes"),
+				"taxonomyVersion", taxonomy.version(),
+				"experienceYears", 4.0,
+				"educationLevel", "Master's"));
+		when(resumeParserService.parseResume(Paths.get("/uploads/2.pdf"), "2.pdf"))
+				.thenReturn(Map.of("success", false, "error", "Resume parsing timed out after 30 seconds"));
+
+		assertThat(service.start()).containsEntry("started", true).containsEntry("total", 3L)
+				.containsEntry("taxonomyVersion", taxonomy.version());
+		Map<String, Object> progress = awaitFinished();
+
+		assertThat(progress).containsEntry("status", "COMPLETED")
+				.containsEntry("processed", 3)
+				.containsEntry("updated", 1)
+				.containsEntry("failed", 1)
+				.containsEntry("missingFiles", 1)
+				.containsEntry("percentComplete", 100L);
+		assertThat(parsed.getExtractedSkills()).isEqualTo("kubernetes");
+		assertThat(parsed.getEducationLevel()).isEqualTo("Master's");
+		assertThat(parsed.getParserVersion()).isEqualTo(ResumeParserService.PARSER_VERSION);
+		assertThat(parsed.getParserTaxonomyVersion()).isEqualTo(taxonomy.version());
+		assertThat(rows.get(2L).getParserVersion()).isNull();
+		// The next page starts after the last id of the previous one
+		verify(resumeRepository).findIdsWithStaleParse(eq(ProcessingStatus.COMPLETED), anyInt(), anyInt(), eq(3L),
+				any(Pageable.class));
+	}
+
+	@Test
+	void stopsAfterTheCurrentBatchWhenCancelled() throws Exception {
+		storedResume(1L);
+		ReflectionTestUtils.setField(service, "batchSize", 1);
+		when(resumeRepository.findIdsWithStaleParse(any(), anyInt(), anyInt(), anyLong(), any(Pageable.class)))
+				.thenReturn(List.of(1L), List.of(2L), List.of());
+		when(resumeParserService.parseResume(any(Path.class), anyString())).thenAnswer(invocation -> {
+			service.cancel();
+			return Map.of("success", true, "rawText", "Java", "skills", List.of("java"));
+		});
+
+		service.start();
+		Map<String, Object> progress = awaitFinished();
+
+		assertThat(progress).containsEntry("status", "CANCELLED").containsEntry("processed", 1).containsEntry("updated", 1);
+		verify(resumeRepository, times(1)).findIdsWithStaleParse(any(), anyInt(), anyInt(), anyLong(), any(Pageable.class));
+	}
+
+	@Test
+	void leavesAParseThreadForUploads() throws Exception {
+		for (long id = 1; id <= 6; id++) {
+			storedResume(id);
+		}
+		when(resumeRepository.findIdsWithStaleParse(any(), anyInt(), anyInt(), anyLong(), any(Pageable.class)))
+				.thenReturn(List.of(1L, 2L, 3L, 4L, 5L, 6L), List.of());
+		AtomicInteger inFlight = new AtomicInteger();
+		AtomicInteger maxInFlight = new AtomicInteger();
+		when(resumeParserService.parseResume(any(Path.class), anyString())).thenAnswer(invocation -> {
+			maxInFlight.accumulateAndGet(inFlight.incrementAndGet(), Math::max);
+			Thread.sleep(20);
+			inFlight.decrementAndGet();
+			return Map.of("success", true, "rawText", "Java", "skills", List.of("java"));
+		});
+
+		service.start();
+		Map<String, Object> progress = awaitFinished();
+
+		assertThat(progress).containsEntry("updated", 6);
+		// Two parse threads, so the re-parse holds at most one of them
+		assertThat(maxInFlight.get()).isEqualTo(1);
+	}
+
+	private Map<String, Object> awaitFinished() throws InterruptedException {
+		for (int i = 0; i < 500; i++) {
+			Map<String, Object> status = service.status();
+			if (status.get("finishedAt") != null) {
+				return status;
+			}
+			Thread.sleep(10);
+		}
+		throw new AssertionError("Re-parse did not finish: " + service.status());
+	}
+
+	private Resume storedResume(Long id) {
+		Resume resume = new Resume();
+		resume.setId(id);
+		resume.setFileName(id + ".pdf");
+		resume.setFilePath("/uploads/" + id + ".pdf");
+		resume.setProcessingStatus(ProcessingStatus.COMPLETED);
+		rows.put(id, resume);
+		return resume;
+	}
+}
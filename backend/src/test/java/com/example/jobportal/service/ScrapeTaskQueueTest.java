@@ -0,0 +1,96 @@
+package com.example.jobportal.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.io.IOException;
+import java.net.SocketTimeoutException;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import org.jsoup.HttpStatusException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import com.example.jobportal.model.CompanySource;
+import com.example.jobportal.model.ScrapeTask;
+import com.example.jobportal.model.ScrapeTaskStatus;
+import com.example.jobportal.model.ScrapeTaskType;
+import com.example.jobportal.repository.ScrapeTaskRepository;
+
+class ScrapeTaskQueueTest {
+
+	private final ScrapeTaskRepository repository = mock(ScrapeTaskRepository.class);
+	private final ScrapeLeaseService leaseService = mock(ScrapeLeaseService.class);
+	private final ScrapeTaskQueue queue = new ScrapeTaskQueue();
+
+	@BeforeEach
+	void setUp() {
+		ReflectionTestUtils.setField(queue, "scrapeTaskRepository", repository);
+		ReflectionTestUtils.setField(queue, "maxAttempts", 3);
+		ReflectionTestUtils.setField(queue, "backoffBaseSeconds", 60L);
+		ReflectionTestUtils.setField(queue, "leaseMinutes", 15);
+		ReflectionTestUtils.setField(queue, "scrapeLeaseService", leaseService);
+		when(repository.save(any(ScrapeTask.class))).thenAnswer(invocation -> invocation.getArgument(0));
+	}
+
+	@Test
+	void treatsClientErrorsAsPermanent() {
+		assertThat(ScrapeTaskQueue.isRetryable(new HttpStatusException("gone", 404, "u"))).isFalse();
+		assertThat(ScrapeTaskQueue.isRetryable(new HttpStatusException("forbidden", 403, "u"))).isFalse();
+		assertThat(ScrapeTaskQueue.isRetryable(new HttpStatusException("slow down", 429, "u"))).isTrue();
+		assertThat(ScrapeTaskQueue.isRetryable(new HttpStatusException("unavailable", 503, "u"))).isTrue();
+		assertThat(ScrapeTaskQueue.isRetryable(new SocketTimeoutException())).isTrue();
+		assertThat(ScrapeTaskQueue.isRetryable(new IOException("reset"))).isTrue();
+	}
+
+	@Test
+	void backsOffExponentiallyThenDeadLetters() {
+		ScrapeTask task = new ScrapeTask(ScrapeTaskType.SOURCE_FETCH, new CompanySource(), null, 3);
+
+		task.setAttempts(1);
+		queue.fail(task, "503", true);
+		assertThat(task.getStatus()).isEqualTo(ScrapeTaskStatus.PENDING);
+		assertThat(task.getNextAttemptAt()).isAfter(LocalDateTime.now().plusSeconds(100));
+
+		task.setAttempts(2);
+		queue.fail(task, "503", true);
+		assertThat(task.getNextAttemptAt()).isAfter(LocalDateTime.now().plusSeconds(200));
+
+		task.setAttempts(3);
+		queue.fail(task, "503", true);
+		assertThat(task.getStatus()).isEqualTo(ScrapeTaskStatus.DEAD);
+		assertThat(task.getFinishedAt()).isNotNull();
+	}
+
+	@Test
+	void deadLettersPermanentFailuresImmediately() {
+		ScrapeTask task = new ScrapeTask(ScrapeTaskType.DETAIL_FETCH, new CompanySource(), "https://acme.example/jobs/1", 3);
+		task.setAttempts(1);
+
+		queue.fail(task, "HTTP error fetching URL. Status=404", false);
+
+		assertThat(task.getStatus()).isEqualTo(ScrapeTaskStatus.DEAD);
+		assertThat(task.getLastError()).contains("404");
+	}
+
+	@Test
+	void leasesTasksForAtLeastTheSourceLease() {
+		when(leaseService.getNodeId()).thenReturn("node-1");
+		when(leaseService.getLeaseMinutes()).thenReturn(60);
+		when(repository.lockDueTaskIds(any(LocalDateTime.class), anyInt())).thenReturn(List.of(7L));
+
+		queue.claimDue(10);
+
+		ArgumentCaptor<LocalDateTime> lockedUntil = ArgumentCaptor.forClass(LocalDateTime.class);
+		verify(repository).assignWorker(eq(List.of(7L)), eq(ScrapeTaskStatus.RUNNING), eq("node-1"), lockedUntil.capture());
+		assertThat(lockedUntil.getValue()).isAfter(LocalDateTime.now().plusMinutes(59));
+	}
+}
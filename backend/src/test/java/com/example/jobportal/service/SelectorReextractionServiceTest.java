@@ -0,0 +1,143 @@
+package com.example.jobportal.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import org.jsoup.Jsoup;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import com.example.jobportal.model.CompanySource;
+import com.example.jobportal.model.PageSnapshot;
+import com.example.jobportal.model.ScrapeRun;
+import com.example.jobportal.model.ScrapedJob;
+import com.example.jobportal.model.SnapshotPageType;
+import com.example.jobportal.repository.PageSnapshotRepository;
+import com.example.jobportal.scraper.ScraperHarness;
+import com.example.jobportal.scraper.SyntheticCareerSite;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+class SelectorReextractionServiceTest {
+
+	private final PageSnapshotRepository pageSnapshotRepository = mock(PageSnapshotRepository.class);
+	private final SnapshotArchiveService snapshotArchiveService = mock(SnapshotArchiveService.class);
+
+	@Test
+	void appliesReextractedChangesLikeALiveScrape() throws Exception {
+		try (SyntheticCareerSite site = SyntheticCareerSite.builder().jobCount(20).pageSize(20).build().start();
+				ScraperHarness harness = new ScraperHarness()) {
+			CompanySource source = harness.register(site.source("Acme"));
+			harness.scrape(source);
+			site.reviseJob(5);
+			archiveListing(source, site.baseUrl() + "/careers");
+			SelectorReextractionService service = service(harness);
+
+			Map<String, Object> preview = service.reextract(source, source, true);
+
+			assertThat(preview).containsEntry("success", true)
+					.containsEntry("updated", 1)
+					.containsEntry("unchanged", 19)
+					.containsEntry("added", 0)
+					.containsEntry("missing", 0L);
+			assertThat(harness.changes()).isEmpty();
+			assertThat(harness.jobsOf(source)).noneMatch(ScrapedJob::isHasChanges);
+
+			Map<String, Object> applied = service.reextract(source, source, false);
+
+			assertThat(applied).containsEntry("updated", 1).containsEntry("added", 0);
+			assertThat(harness.changes()).singleElement()
+					.satisfies(change -> assertThat(change.getChangedFields()).isEqualTo("SALARY"));
+			assertThat(harness.jobsOf(source)).hasSize(20)
+					.filteredOn(ScrapedJob::isHasChanges)
+					.singleElement()
+					.satisfies(job -> assertThat(job.getExternalUrl()).endsWith("/jobs/5"));
+		}
+	}
+
+	@Test
+	void replaysJsonLdPagesThroughTheStructuredExtractor() throws Exception {
+		try (ScraperHarness harness = new ScraperHarness()) {
+			CompanySource source = harness.register(selectorSource("https://acme.example/careers"));
+			archive(source, source.getCareerPageUrl(), SnapshotPageType.LISTING, fixture("jsonld-careers.html"));
+
+			Map<String, Object> result = service(harness).reextract(source, source, false);
+
+			assertThat(result).containsEntry("structuredJobs", 2L).containsEntry("jobElements", 0L)
+					.containsEntry("added", 2);
+			assertThat(harness.jobsOf(source)).extracting(ScrapedJob::getTitle)
+					.containsExactlyInAnyOrder("Backend Engineer", "Data Analyst");
+		}
+	}
+
+	@Test
+	void replaysArchivedAtsFeeds() throws Exception {
+		try (ScraperHarness harness = new ScraperHarness()) {
+			CompanySource source = harness.register(selectorSource("https://boards.greenhouse.io/acme"));
+			archive(source, "https://boards-api.greenhouse.io/v1/boards/acme/jobs?content=true", SnapshotPageType.FEED,
+					fixture("greenhouse-jobs.json"));
+
+			Map<String, Object> preview = service(harness).reextract(source, source, true);
+
+			assertThat(preview).containsEntry("success", true).containsEntry("structuredJobs", 1L)
+					.containsEntry("added", 1);
+			assertThat(harness.jobsOf(source)).isEmpty();
+		}
+	}
+
+	private SelectorReextractionService service(ScraperHarness harness) {
+		SelectorReextractionService service = new SelectorReextractionService();
+		ReflectionTestUtils.setField(service, "pageSnapshotRepository", pageSnapshotRepository);
+		ReflectionTestUtils.setField(service, "scrapedJobRepository", harness.scrapedJobRepository());
+		ReflectionTestUtils.setField(service, "snapshotArchiveService", snapshotArchiveService);
+		ReflectionTestUtils.setField(service, "webScraperService", harness.webScraperService());
+		StructuredJobExtractor structuredJobExtractor = new StructuredJobExtractor();
+		ReflectionTestUtils.setField(structuredJobExtractor, "objectMapper", new ObjectMapper());
+		ReflectionTestUtils.setField(service, "structuredJobExtractor", structuredJobExtractor);
+		return service;
+	}
+
+	private void archiveListing(CompanySource source, String url) throws Exception {
+		archive(source, url, SnapshotPageType.LISTING, Jsoup.connect(url).execute().bodyAsBytes());
+	}
+
+	// Make the page the only snapshot of the source's latest run
+	private void archive(CompanySource source, String url, SnapshotPageType pageType, byte[] body) throws Exception {
+		ScrapeRun run = new ScrapeRun(source);
+		PageSnapshot snapshot = new PageSnapshot();
+		snapshot.setRun(run);
+		snapshot.setSource(source);
+		snapshot.setUrl(url);
+		snapshot.setPageType(pageType);
+		snapshot.setDigest("snapshot");
+
+		when(pageSnapshotRepository.findFirstBySourceAndPageTypeInOrderByFetchedAtDesc(eq(source), anyCollection()))
+				.thenReturn(Optional.of(snapshot));
+		when(pageSnapshotRepository.findByRunAndPageTypeIn(eq(run), anyCollection())).thenReturn(List.of(snapshot));
+		when(snapshotArchiveService.load("snapshot")).thenReturn(body);
+	}
+
+	// A source whose selectors match nothing on the fixtures
+	private CompanySource selectorSource(String careerPageUrl) {
+		CompanySource source = new CompanySource();
+		source.setCompanyName("Acme");
+		source.setCareerPageUrl(careerPageUrl);
+		source.setJobListSelector("li.job");
+		source.setJobTitleSelector(".title");
+		return source;
+	}
+
+	private byte[] fixture(String name) throws IOException {
+		try (InputStream in = getClass().getResourceAsStream("/fixtures/scraper/" + name)) {
+			return in.readAllBytes();
+		}
+	}
+}
@@ -0,0 +1,56 @@
+package com.example.jobportal.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.regex.Pattern;
+
+import org.junit.jupiter.api.Test;
+
+class SkillMatcherTest {
+
+	private final SkillMatcher matcher = SkillMatcher.of(List.of(
+			"java", "javascript", "spring", "spring boot", "go", "r", "c++", "c#", "node.js", "ci/cd", "machine learning"));
+
+	@Test
+	void matchesWholeWordsCaseInsensitively() {
+		assertThat(matcher.findAll("Senior JAVA developer with Spring Boot and Go"))
+				.containsExactly("java", "spring", "spring boot", "go");
+	}
+
+	@Test
+	void ignoresKeywordsInsideLargerWords() {
+		assertThat(matcher.findAll("JavaScript, Google, Rust, springs")).containsExactly("javascript");
+		assertThat(matcher.findAll("R and Go")).containsExactly("go", "r");
+	}
+
+	@Test
+	void matchesKeywordsEndingInPunctuation() {
+		assertThat(matcher.findAll("Worked in C++, C# and Node.js; set up CI/CD."))
+				.containsExactly("c++", "c#", "node.js", "ci/cd");
+	}
+
+	@Test
+	void findsOverlappingKeywords() {
+		assertThat(matcher.findAll("machine learning with javascript"))
+				.containsExactly("javascript", "machine learning");
+	}
+
+	@Test
+	void agreesWithWordBoundaryRegexOnAlphanumericKeywords() {
+		List<String> keywords = List.of("java", "sql", "mysql", "postgresql", "aws", "ai", "git", "github", "go", "r");
+		SkillMatcher dictionary = SkillMatcher.of(keywords);
+		String text = "Built AI pipelines on AWS with MySQL/PostgreSQL; code on GitHub (git). Java, R; no golang.";
+
+		List<String> expected = new ArrayList<>();
+		for (String keyword : keywords) {
+			if (Pattern.compile("\\b" + Pattern.quote(keyword) + "\\b", Pattern.CASE_INSENSITIVE).matcher(text).find()) {
+				expected.add(keyword);
+			}
+		}
+
+		assertThat(dictionary.findAll(text)).containsExactlyElementsOf(expected);
+	}
+
+}
@@ -0,0 +1,66 @@
+package com.example.jobportal.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import com.example.jobportal.model.Job;
+import com.example.jobportal.repository.JobRepository;
+
+class SkillSetServiceTest {
+
+	private final SkillTaxonomy taxonomy = SkillTaxonomyTest.standardTaxonomy();
+	private final JobRepository jobRepository = mock(JobRepository.class);
+	private final SkillSetService service = new SkillSetService();
+
+	@Test
+	void ranksJobsByRequiredThenPreferredOverlap() {
+		ReflectionTestUtils.setField(service, "jobRepository", jobRepository);
+		ReflectionTestUtils.setField(service, "skillTaxonomy", taxonomy);
+		ReflectionTestUtils.setField(service, "refreshSeconds", 60L);
+		when(jobRepository.findActiveJobSkillSets()).thenReturn(List.of(
+				row(1L, "Python, Django", "AWS"),
+				row(2L, "Java, Spring Boot, PostgreSQL", "Docker"),
+				row(3L, "Java, Kubernetes", "Docker, Terraform"),
+				row(4L, "Java, Spring", "")));
+
+		List<Map<String, Object>> top = service.topJobsBySkillOverlap(
+				taxonomy.skillIds("java, springboot, postgres, docker, k8s"), 3);
+
+		assertThat(top).extracting(result -> result.get("jobId")).containsExactly(2L, 3L, 4L);
+		assertThat(top.get(0).get("requiredMatched")).isEqualTo(3);
+		assertThat(top.get(0).get("matchedSkills")).isEqualTo(List.of("java", "spring boot", "postgresql"));
+		assertThat(top.get(1).get("preferredMatched")).isEqualTo(1);
+	}
+
+	// Stored the way SkillSetListener writes it
+	private JobRepository.JobSkillSet row(Long id, String requiredSkills, String preferredSkills) {
+		Job job = new Job();
+		job.setRequiredSkills(requiredSkills);
+		job.setPreferredSkills(preferredSkills);
+		SkillSetListener listener = new SkillSetListener();
+		ReflectionTestUtils.setField(listener, "skillTaxonomy", taxonomy);
+		listener.index(job);
+
+		return new JobRepository.JobSkillSet() {
+			public Long getId() {
+				return id;
+			}
+
+			public byte[] getRequiredSkillSet() {
+				return job.getRequiredSkillSet();
+			}
+
+			public byte[] getPreferredSkillSet() {
+				return job.getPreferredSkillSet();
+			}
+		};
+	}
+
+}
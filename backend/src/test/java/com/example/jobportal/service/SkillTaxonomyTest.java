@@ -0,0 +1,59 @@
+package com.example.jobportal.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.BitSet;
+
+import org.junit.jupiter.api.Test;
+
+class SkillTaxonomyTest {
+
+	private final SkillTaxonomy taxonomy = standardTaxonomy();
+
+	static SkillTaxonomy standardTaxonomy() {
+		try (InputStream inputStream = SkillTaxonomyTest.class.getResourceAsStream("/skills/taxonomy.json")) {
+			return SkillTaxonomy.load(inputStream);
+		} catch (IOException e) {
+			throw new UncheckedIOException(e);
+		}
+	}
+
+	@Test
+	void mapsSynonymsToCanonicalSkills() {
+		assertThat(taxonomy.normalize("Deployed Node services on K8s with Postgres, golang tooling"))
+				.containsExactly("go", "node.js", "postgresql", "kubernetes");
+		assertThat(taxonomy.skillIds("kubernetes")).isEqualTo(taxonomy.skillIds("k8s"));
+	}
+
+	@Test
+	void countsOverlapOfStoredSkillSets() {
+		byte[] job = SkillTaxonomy.encode(taxonomy.skillIds("Java, Spring Boot, Kubernetes, AWS"));
+		byte[] resume = SkillTaxonomy.encode(taxonomy.skillIds("java, springboot, docker, k8s"));
+
+		long[] jobWords = SkillTaxonomy.words(job);
+		long[] resumeWords = SkillTaxonomy.words(resume);
+
+		assertThat(SkillTaxonomy.overlap(jobWords, resumeWords)).isEqualTo(3);
+		// "Spring Boot" also names spring
+		assertThat(SkillTaxonomy.count(jobWords)).isEqualTo(5);
+		assertThat(SkillTaxonomy.decode(null)).isEqualTo(new BitSet());
+	}
+
+	@Test
+	void rejectsTermMappedToTwoSkills() {
+		String definition = "{\"version\": 1, \"skills\": ["
+				+ "{\"id\": 1, \"name\": \"go\", \"synonyms\": [\"golang\"]},"
+				+ "{\"id\": 2, \"name\": \"golang\"}]}";
+
+		assertThatThrownBy(() -> SkillTaxonomy.load(new ByteArrayInputStream(definition.getBytes(StandardCharsets.UTF_8))))
+				.isInstanceOf(IllegalArgumentException.class)
+				.hasMessageContaining("golang");
+	}
+
+}
@@ -0,0 +1,117 @@
+package com.example.jobportal.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import org.jsoup.Jsoup;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import com.example.jobportal.model.ScrapedJob;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+class StructuredJobExtractorTest {
+
+	private final StructuredJobExtractor extractor = new StructuredJobExtractor();
+
+	StructuredJobExtractorTest() {
+		ReflectionTestUtils.setField(extractor, "objectMapper", new ObjectMapper());
+	}
+
+	@Test
+	void derivesAtsFeedUrls() {
+		assertThat(extractor.atsFeedUrl("https://boards.greenhouse.io/acme"))
+				.contains("https://boards-api.greenhouse.io/v1/boards/acme/jobs?content=true");
+		assertThat(extractor.atsFeedUrl("https://job-boards.greenhouse.io/acme/"))
+				.contains("https://boards-api.greenhouse.io/v1/boards/acme/jobs?content=true");
+		assertThat(extractor.atsFeedUrl("https://jobs.lever.co/acme"))
+				.contains("https://api.lever.co/v0/postings/acme?mode=json");
+		assertThat(extractor.atsFeedUrl("https://jobs.lever.co/acme/5f1c2a7e")).isEmpty();
+		assertThat(extractor.atsFeedUrl("https://acme.example/careers")).isEmpty();
+		assertThat(extractor.atsFeedUrl(null)).isEmpty();
+	}
+
+	@Test
+	void extractsJsonLdJobPostings() throws IOException {
+		List<ScrapedJob> jobs = extractor.extractJsonLd(
+				Jsoup.parse(fixture("jsonld-careers.html"), "https://acme.example/careers"));
+
+		assertThat(jobs).hasSize(2);
+
+		ScrapedJob backend = jobs.get(0);
+		assertThat(backend.getTitle()).isEqualTo("Backend Engineer");
+		assertThat(backend.getDescription()).isEqualTo("Build Java services.");
+		assertThat(backend.getExternalUrl()).isEqualTo("https://acme.example/careers/101");
+		assertThat(backend.getExternalId()).isEqualTo("101");
+		assertThat(backend.getCompany()).isEqualTo("Acme");
+		assertThat(backend.getJobType()).isEqualTo("FULL_TIME, CONTRACTOR");
+		assertThat(backend.getLocation()).isEqualTo("Sydney, NSW, AU");
+		assertThat(backend.getSalary()).isEqualTo("AUD 120000 - 150000 per year");
+		assertThat(backend.getPostedDate()).isEqualTo(LocalDateTime.of(2024, 3, 1, 0, 0));
+
+		ScrapedJob analyst = jobs.get(1);
+		assertThat(analyst.getTitle()).isEqualTo("Data Analyst");
+		assertThat(analyst.getLocation()).isEqualTo("Remote");
+		assertThat(analyst.getPostedDate()).isEqualTo(LocalDateTime.of(2024, 3, 1, 23, 30));
+	}
+
+	@Test
+	void parsesGreenhouseFeed() throws IOException {
+		List<ScrapedJob> jobs = extractor.parseAtsFeed(
+				"https://boards-api.greenhouse.io/v1/boards/acme/jobs?content=true", fixture("greenhouse-jobs.json"));
+
+		assertThat(jobs).hasSize(1);
+		ScrapedJob job = jobs.get(0);
+		assertThat(job.getTitle()).isEqualTo("Site Reliability Engineer");
+		assertThat(job.getExternalId()).isEqualTo("4012345");
+		assertThat(job.getExternalUrl()).isEqualTo("https://boards.greenhouse.io/acme/jobs/4012345");
+		assertThat(job.getLocation()).isEqualTo("Melbourne, VIC");
+		assertThat(job.getDescription()).isEqualTo("Keep production healthy.");
+		assertThat(job.getPostedDate()).isEqualTo(LocalDateTime.of(2024, 2, 20, 15, 15));
+	}
+
+	@Test
+	void parsesLeverFeed() throws IOException {
+		List<ScrapedJob> jobs = extractor.parseAtsFeed(
+				"https://api.lever.co/v0/postings/acme?mode=json", fixture("lever-postings.json"));
+
+		assertThat(jobs).hasSize(1);
+		ScrapedJob job = jobs.get(0);
+		assertThat(job.getTitle()).isEqualTo("Product Designer");
+		assertThat(job.getExternalId()).isEqualTo("5f1c2a7e-0b3d-4c4e-9a57-1d2e3f4a5b6c");
+		assertThat(job.getLocation()).isEqualTo("Brisbane");
+		assertThat(job.getJobType()).isEqualTo("Part-time");
+		assertThat(job.getDescription()).isEqualTo("Design delightful products.");
+		assertThat(job.getSalary()).isEqualTo("AUD 90000 - 110000");
+		assertThat(job.getPostedDate()).isEqualTo(LocalDateTime.of(2024, 3, 1, 0, 0));
+	}
+
+	@Test
+	void capsLocationsOfPostingsWithManyOffices() {
+		StringBuilder offices = new StringBuilder();
+		for (int i = 0; i < 40; i++) {
+			offices.append(i > 0 ? "," : "")
+					.append("{\"address\":{\"addressLocality\":\"Office ").append(i)
+					.append("\",\"addressCountry\":\"AU\"}}");
+		}
+		String html = "<script type=\"application/ld+json\">{\"@type\":\"JobPosting\",\"title\":\"Engineer\","
+				+ "\"jobLocation\":[" + offices + "]}</script>";
+
+		List<ScrapedJob> jobs = extractor.extractJsonLd(Jsoup.parse(html, "https://acme.example/careers"));
+
+		assertThat(jobs).hasSize(1);
+		assertThat(jobs.get(0).getLocation()).hasSize(255).startsWith("Office 0, AU; Office 1, AU");
+	}
+
+	private String fixture(String name) throws IOException {
+		try (InputStream in = getClass().getResourceAsStream("/fixtures/scraper/" + name)) {
+			return new String(in.readAllBytes(), StandardCharsets.UTF_8);
+		}
+	}
+
+}
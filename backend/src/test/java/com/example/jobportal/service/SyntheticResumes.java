@@ -0,0 +1,66 @@
+package com.example.jobportal.service;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Deterministic resume-like texts for extraction tests and benchmarks. Mixes the section
+ * headers, contact formats, dates and experience phrases the extractor looks for with filler,
+ * in varying order and case.
+ */
+final class SyntheticResumes {
+
+	private static final String[] HEADERS = {
+			"SUMMARY", "Profile", "Objective", "EXPERIENCE", "Work History", "Employment", "Professional Experience",
+			"Education", "ACADEMIC BACKGROUND", "Qualifications", "Skills", "Technical Skills", "Core Competencies",
+			"Projects", "Project Experience", "Certifications", "Certificates", "Achievements", "Accomplishments",
+			"Awards", "References", "Interests", "Hobbies"};
+
+	private static final String[] CONTACTS = {
+			"jane.doe@example.com", "j_smith+jobs@mail.co.uk", "(415) 555-0199", "415-555-0199", "415.555.0199",
+			"+44 7700900123", "4155550199", "contact: not@valid", "phone 555-01", "@handle"};
+
+	private static final String[] PHRASES = {
+			"5+ years of experience in backend development", "Experience: 7 years", "12 years professional",
+			"3 yrs in retail", "Senior engineer since 2015", "2009 - 2014 Analyst", "Jan 2019 - Present",
+			"B.S. Computer Science", "Master of Science", "MBA, 2012", "PhD in Physics", "High School Diploma",
+			"Associate degree", "Bachelor of Arts", "secondary school", "worked on programs and systems",
+			"Java, Spring Boot, PostgreSQL, Docker, Kubernetes", "inexperienced teams mentored", "1999 to 2003"};
+
+	private static final String[] FILLER = {
+			"Led a team of engineers delivering customer facing features.",
+			"Designed and operated services handling millions of requests per day.",
+			"Improved build times and reduced deployment failures.",
+			"Collaborated with product and design on quarterly roadmaps.",
+			"Mentored junior developers and ran internal workshops."};
+
+	private SyntheticResumes() {
+	}
+
+	static List<String> corpus(int count, int approximateLength, long seed) {
+		Random random = new Random(seed);
+		List<String> resumes = new ArrayList<>(count);
+		for (int i = 0; i < count; i++) {
+			resumes.add(resume(random, approximateLength));
+		}
+		return resumes;
+	}
+
+	private static String resume(Random random, int approximateLength) {
+		StringBuilder text = new StringBuilder("Candidate " + random.nextInt(10_000) + "\n");
+		while (text.length() < approximateLength) {
+			switch (random.nextInt(6)) {
+				case 0 -> text.append('\n').append(pick(random, HEADERS)).append('\n');
+				case 1 -> text.append(pick(random, CONTACTS)).append(' ');
+				case 2, 3 -> text.append(pick(random, PHRASES)).append(". ");
+				default -> text.append(pick(random, FILLER)).append(' ');
+			}
+		}
+		return text.toString();
+	}
+
+	private static String pick(Random random, String[] values) {
+		return values[random.nextInt(values.length)];
+	}
+}
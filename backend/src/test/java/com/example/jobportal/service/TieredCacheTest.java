@@ -0,0 +1,72 @@
+package com.example.jobportal.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.time.Duration;
+import java.util.Map;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.data.redis.RedisConnectionFailureException;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.ValueOperations;
+
+class TieredCacheTest {
+
+	@Test
+	void evictsLeastRecentlyUsedLocalEntries() {
+		TieredCache cache = new TieredCache(null, "test:", 2, Duration.ofMinutes(5));
+		cache.put("a", Map.of("v", 1));
+		cache.put("b", Map.of("v", 2));
+		cache.get("a");
+		cache.put("c", Map.of("v", 3));
+
+		assertThat((Object) cache.get("a")).isNotNull();
+		assertThat((Object) cache.get("b")).isNull();
+		assertThat((Object) cache.get("c")).isNotNull();
+	}
+
+	@Test
+	void readsThroughToRedisAndKeepsLocalCopy() {
+		RedisTemplate<String, Object> redis = redisTemplate();
+		ValueOperations<String, Object> values = redis.opsForValue();
+		when(values.get("test:k")).thenReturn(Map.of("member_id", "m_1"));
+
+		TieredCache cache = new TieredCache(redis, "test:", 10, Duration.ofMinutes(5));
+
+		assertThat((Object) cache.get("k")).isEqualTo(Map.of("member_id", "m_1"));
+		assertThat((Object) cache.get("k")).isEqualTo(Map.of("member_id", "m_1"));
+		verify(values, times(1)).get("test:k");
+		assertThat(cache.stats()).containsEntry("redisHits", 1L).containsEntry("localHits", 1L);
+	}
+
+	@Test
+	void keepsWorkingLocallyWhenRedisIsDown() {
+		RedisTemplate<String, Object> redis = redisTemplate();
+		ValueOperations<String, Object> values = redis.opsForValue();
+		when(values.get(anyString())).thenThrow(new RedisConnectionFailureException("refused"));
+
+		TieredCache cache = new TieredCache(redis, "test:", 10, Duration.ofMinutes(5));
+
+		assertThat((Object) cache.get("missing")).isNull();
+		cache.put("k", Map.of("v", 1));
+		assertThat((Object) cache.get("k")).isEqualTo(Map.of("v", 1));
+		assertThat((Object) cache.get("other")).isNull();
+
+		// Redis is skipped for a while after the first failure
+		verify(values, times(1)).get(anyString());
+	}
+
+	@SuppressWarnings("unchecked")
+	private RedisTemplate<String, Object> redisTemplate() {
+		RedisTemplate<String, Object> redis = mock(RedisTemplate.class);
+		ValueOperations<String, Object> values = mock(ValueOperations.class);
+		when(redis.opsForValue()).thenReturn(values);
+		return redis;
+	}
+
+}
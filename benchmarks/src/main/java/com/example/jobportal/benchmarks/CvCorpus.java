@@ -0,0 +1,137 @@
+package com.example.jobportal.benchmarks;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import org.apache.pdfbox.pdmodel.PDDocument;
+import org.apache.pdfbox.pdmodel.PDPage;
+import org.apache.pdfbox.pdmodel.PDPageContentStream;
+import org.apache.pdfbox.pdmodel.font.PDType1Font;
+import org.apache.poi.xwpf.usermodel.XWPFDocument;
+
+/**
+ * Deterministic synthetic CVs in the formats users upload. Each CV has the sections, contact
+ * details, dates and skills the parser looks for, so every extraction step does real work.
+ */
+public final class CvCorpus {
+
+    private static final String[] FIRST_NAMES = {"Jane", "Ahmed", "Li", "Maria", "Tom", "Priya", "Kofi", "Anna"};
+    private static final String[] LAST_NAMES = {"Doe", "Khan", "Wei", "Garcia", "Smith", "Patel", "Mensah", "Novak"};
+    private static final String[] ROLES = {"Software Engineer", "Data Analyst", "Backend Developer", "DevOps Engineer",
+        "Frontend Developer", "Machine Learning Engineer"};
+    private static final String[] SKILLS = {"Java", "Spring Boot", "Python", "Django", "React", "TypeScript", "Node",
+        "PostgreSQL", "MongoDB", "Redis", "Docker", "k8s", "AWS", "Terraform", "pandas", "scikit-learn", "Git", "CI/CD"};
+    private static final String[] ACHIEVEMENTS = {
+        "Cut p99 latency of the checkout API by 40% by reworking the caching layer.",
+        "Migrated 30 services from VMs to Kubernetes with zero downtime.",
+        "Built the data pipeline behind the weekly revenue dashboards.",
+        "Led a team of four engineers delivering the mobile onboarding flow.",
+        "Introduced contract tests that halved integration incidents.",
+        "Mentored graduate developers and ran internal workshops."};
+    private static final String[] DEGREES = {"B.Sc. Computer Science", "Master of Science in Data Science",
+        "Bachelor of Engineering", "PhD in Physics", "High School Diploma"};
+
+    private static final int PDF_LINES_PER_PAGE = 48;
+
+    private CvCorpus() {
+    }
+
+    public static List<String> texts(int count, long seed) {
+        Random random = new Random(seed);
+        List<String> texts = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            texts.add(cv(random));
+        }
+        return texts;
+    }
+
+    /**
+     * The CV texts encoded as files of the given format: txt, docx or pdf
+     */
+    public static List<byte[]> documents(String format, int count, long seed) throws IOException {
+        List<byte[]> documents = new ArrayList<>(count);
+        for (String text : texts(count, seed)) {
+            documents.add(switch (format) {
+                case "txt" -> text.getBytes(StandardCharsets.UTF_8);
+                case "docx" -> docx(text);
+                case "pdf" -> pdf(text);
+                default -> throw new IllegalArgumentException("Unknown CV format: " + format);
+            });
+        }
+        return documents;
+    }
+
+    private static String cv(Random random) {
+        String first = pick(random, FIRST_NAMES);
+        String last = pick(random, LAST_NAMES);
+        StringBuilder cv = new StringBuilder();
+        cv.append(first).append(' ').append(last).append('\n')
+            .append(first.toLowerCase()).append('.').append(last.toLowerCase()).append("@example.com | ")
+            .append("(415) 555-").append(1000 + random.nextInt(9000)).append('\n').append('\n');
+
+        cv.append("SUMMARY\n").append(pick(random, ROLES)).append(" with ").append(2 + random.nextInt(12))
+            .append("+ years of experience building production systems.\n\n");
+
+        cv.append("EXPERIENCE\n");
+        int year = 2024;
+        for (int job = 0; job < 2 + random.nextInt(3); job++) {
+            int start = year - 1 - random.nextInt(4);
+            cv.append(pick(random, ROLES)).append(", Company ").append((char) ('A' + random.nextInt(26)))
+                .append(" (").append(start).append(" - ").append(year).append(")\n");
+            for (int line = 0; line < 3; line++) {
+                cv.append("- ").append(pick(random, ACHIEVEMENTS)).append('\n');
+            }
+            year = start;
+        }
+
+        cv.append("\nEDUCATION\n").append(pick(random, DEGREES)).append(", State University, ").append(year - 1).append("\n\n");
+
+        cv.append("SKILLS\n");
+        for (int i = 0; i < 6 + random.nextInt(6); i++) {
+            cv.append(i > 0 ? ", " : "").append(pick(random, SKILLS));
+        }
+        cv.append("\n\nCERTIFICATIONS\nAWS Certified Developer\n");
+        return cv.toString();
+    }
+
+    private static byte[] docx(String text) throws IOException {
+        try (XWPFDocument document = new XWPFDocument(); ByteArrayOutputStream out = new ByteArrayOutputStream()) {
+            for (String line : text.split("\n")) {
+                document.createParagraph().createRun().setText(line);
+            }
+            document.write(out);
+            return out.toByteArray();
+        }
+    }
+
+    private static byte[] pdf(String text) throws IOException {
+        try (PDDocument document = new PDDocument(); ByteArrayOutputStream out = new ByteArrayOutputStream()) {
+            String[] lines = text.split("\n");
+            for (int first = 0; first < lines.length; first += PDF_LINES_PER_PAGE) {
+                PDPage page = new PDPage();
+                document.addPage(page);
+                try (PDPageContentStream content = new PDPageContentStream(document, page)) {
+                    content.beginText();
+                    content.setFont(PDType1Font.HELVETICA, 10);
+                    content.setLeading(14);
+                    content.newLineAtOffset(50, 740);
+                    for (int i = first; i < Math.min(first + PDF_LINES_PER_PAGE, lines.length); i++) {
+                        content.showText(lines[i]);
+                        content.newLine();
+                    }
+                    content.endText();
+                }
+            }
+            document.save(out);
+            return out.toByteArray();
+        }
+    }
+
+    private static String pick(Random random, String[] values) {
+        return values[random.nextInt(values.length)];
+    }
+}
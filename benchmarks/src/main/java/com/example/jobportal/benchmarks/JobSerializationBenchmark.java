@@ -0,0 +1,75 @@
+package com.example.jobportal.benchmarks;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import com.example.jobportal.model.ApprovalStatus;
+import com.example.jobportal.model.Job;
+import com.example.jobportal.model.JobStatus;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/**
+ * JSON serialisation of job lists as returned by the job listing endpoints
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class JobSerializationBenchmark {
+
+    @Param({"20", "500"})
+    public int jobCount;
+
+    private ObjectMapper objectMapper;
+    private List<Job> jobs;
+
+    @Setup
+    public void setUp() {
+        // Configured like the mapper Spring MVC uses for responses
+        objectMapper = Jackson2ObjectMapperBuilder.json().build();
+
+        jobs = new ArrayList<>(jobCount);
+        LocalDateTime posted = LocalDateTime.of(2024, 1, 1, 9, 0);
+        for (int i = 0; i < jobCount; i++) {
+            Job job = new Job();
+            job.setId((long) i);
+            job.setTitle("Software Engineer " + i);
+            job.setCompany("Company " + (i % 40));
+            job.setLocation(i % 3 == 0 ? "Remote" : "London");
+            job.setJobType(i % 4 == 0 ? "Contract" : "Full-time");
+            job.setSalary("£" + (40 + i % 50) + ",000");
+            job.setDescription(("We are hiring an engineer to build and run our platform services. " + i + " ").repeat(20));
+            job.setRequirements("3+ years of experience with Java or Python; comfortable with SQL and cloud platforms.");
+            job.setRequiredSkills("Java, Spring Boot, PostgreSQL, Docker");
+            job.setPreferredSkills("Kubernetes, AWS, Terraform");
+            job.setExperienceRequired(i % 6);
+            job.setPostedDate(posted.plusHours(i));
+            job.setStatus(JobStatus.APPROVED);
+            job.setApprovalStatus(ApprovalStatus.APPROVED);
+            jobs.add(job);
+        }
+    }
+
+    @Benchmark
+    public byte[] serializeJobs() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(jobs);
+    }
+}
@@ -0,0 +1,87 @@
+package com.example.jobportal.benchmarks;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import com.example.jobportal.config.ResumeParserConfig;
+import com.example.jobportal.service.ResumeParseMetrics;
+import com.example.jobportal.service.ResumeParserService;
+import com.example.jobportal.service.SkillTaxonomy;
+
+/**
+ * Resume parsing end to end - Tika text extraction plus field and skill extraction - per CV format
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ResumeParserBenchmark {
+
+    @Param({"txt", "docx", "pdf"})
+    public String format;
+
+    @Param("50")
+    public int corpusSize;
+
+    private ResumeParserService parser;
+    private ThreadPoolTaskExecutor executor;
+    private List<byte[]> documents;
+    private int next;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        executor = new ResumeParserConfig().resumeParseExecutor(1, 4);
+
+        parser = new ResumeParserService();
+        ReflectionTestUtils.setField(parser, "resumeParseExecutor", executor);
+        ReflectionTestUtils.setField(parser, "parseMetrics", new ResumeParseMetrics());
+        ReflectionTestUtils.setField(parser, "skillTaxonomy", loadTaxonomy());
+        ReflectionTestUtils.setField(parser, "parseTimeoutSeconds", 30L);
+        ReflectionTestUtils.setField(parser, "maxChars", 200_000);
+
+        documents = CvCorpus.documents(format, corpusSize, 42L);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        executor.shutdown();
+    }
+
+    @Benchmark
+    public Map<String, Object> parseResume() {
+        byte[] document = documents.get(next++ % documents.size());
+        Map<String, Object> parsed = parser.parseResume(new ByteArrayInputStream(document), "cv." + format);
+        if (!(boolean) parsed.get("success")) {
+            throw new IllegalStateException("Parse failed: " + parsed.get("error"));
+        }
+        return parsed;
+    }
+
+    private static SkillTaxonomy loadTaxonomy() throws IOException {
+        try (InputStream inputStream = ResumeParserBenchmark.class.getResourceAsStream("/skills/taxonomy.json")) {
+            return SkillTaxonomy.load(inputStream);
+        }
+    }
+}
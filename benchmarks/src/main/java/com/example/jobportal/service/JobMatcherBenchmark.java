@@ -0,0 +1,199 @@
+package com.example.jobportal.service;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.StringJoiner;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.core.io.ByteArrayResource;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.util.LinkedMultiValueMap;
+import org.springframework.util.MultiValueMap;
+import org.springframework.web.client.RestTemplate;
+
+import com.example.jobportal.benchmarks.CvCorpus;
+import com.example.jobportal.config.MLClientHttpRequestFactory;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sun.net.httpserver.HttpServer;
+
+/**
+ * The in-process matcher against the ML service round trip for the same CV. With an empty mlUrl
+ * the round trip goes to a local stub returning a canned response of the same size, which
+ * measures the HTTP hop and JSON handling only: a lower bound for the ML service.
+ * Lives in the service package because the matcher's catalog loading is package-private.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+// Otherwise the stub's separate header and body writes wait out the client's delayed ACK
+@Fork(value = 1, jvmArgsAppend = "-Dsun.net.httpserver.nodelay=true")
+@State(Scope.Benchmark)
+public class JobMatcherBenchmark {
+
+    private static final String[] WORDS = {
+        "design", "build", "scalable", "services", "customers", "platform", "data", "pipelines", "cloud",
+        "payments", "analytics", "mobile", "reliability", "security", "observability", "api", "frontend",
+        "backend", "distributed", "systems", "models", "testing", "automation", "infrastructure", "product"
+    };
+    private static final String[] LEVELS = {"entry", "junior", "mid", "senior", "lead"};
+
+    @Param("2000")
+    public int jobs;
+
+    @Param("10")
+    public int topK;
+
+    // Base URL of a running ML service, e.g. http://localhost:8000; empty for the local stub
+    @Param("")
+    public String mlUrl;
+
+    private SkillTaxonomy taxonomy;
+    private NativeJobMatcher matcher;
+    private NativeJobMatcher.Candidate candidate;
+    private RestTemplate restTemplate;
+    private HttpServer stub;
+    private ExecutorService stubExecutor;
+    private String matchUrl;
+    private HttpEntity<Map<String, Object>> matchRequest;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        try (InputStream inputStream = getClass().getResourceAsStream("/skills/taxonomy.json")) {
+            taxonomy = SkillTaxonomy.load(inputStream);
+        }
+        matcher = new NativeJobMatcher();
+        ReflectionTestUtils.setField(matcher, "skillTaxonomy", taxonomy);
+        ReflectionTestUtils.setField(matcher, "refreshSeconds", 3600L);
+        matcher.load(catalog(new Random(11L)));
+
+        String cvText = CvCorpus.texts(1, 7L).get(0);
+        Map<String, Object> profile = new HashMap<>();
+        profile.put("skills", taxonomy.normalize(cvText));
+        profile.put("experienceYears", 3);
+        profile.put("text", cvText);
+        candidate = matcher.candidate(profile);
+
+        restTemplate = new RestTemplate(new MLClientHttpRequestFactory(Duration.ofSeconds(2), Duration.ofSeconds(30),
+                4, Duration.ofSeconds(2), new MLClientMetrics(), new MLCircuitBreaker()));
+        Map<String, Object> request = new HashMap<>();
+        request.put("mode", "graduate_friendly");
+        request.put("top_k", topK);
+        String url = mlUrl;
+        if (url.isEmpty()) {
+            url = startStub(new ObjectMapper().writeValueAsBytes(nativeMatch()));
+            request.put("session_id", "bench");
+            request.put("member_id", "bench");
+        } else {
+            request.putAll(uploadCv(url, cvText));
+        }
+
+        matchUrl = url + "/match_jobs";
+        HttpHeaders headers = new HttpHeaders();
+        headers.setContentType(MediaType.APPLICATION_JSON);
+        matchRequest = new HttpEntity<>(request, headers);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        if (stub != null) {
+            stub.stop(0);
+            stubExecutor.shutdown();
+        }
+    }
+
+    @Benchmark
+    public Map<String, Object> nativeMatch() {
+        return matcher.match(candidate, "native", topK);
+    }
+
+    @Benchmark
+    public Map<?, ?> mlRoundTrip() {
+        return restTemplate.postForObject(matchUrl, matchRequest, Map.class);
+    }
+
+    private String startStub(byte[] canned) throws IOException {
+        stubExecutor = Executors.newFixedThreadPool(2);
+        stub = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        stub.setExecutor(stubExecutor);
+        stub.createContext("/match_jobs", exchange -> {
+            exchange.getRequestBody().readAllBytes();
+            exchange.getResponseHeaders().set("Content-Type", "application/json");
+            exchange.sendResponseHeaders(200, canned.length);
+            try (OutputStream out = exchange.getResponseBody()) {
+                out.write(canned);
+            }
+        });
+        stub.start();
+        return "http://127.0.0.1:" + stub.getAddress().getPort();
+    }
+
+    private List<NativeJobMatcher.CatalogJob> catalog(Random random) {
+        List<NativeJobMatcher.CatalogJob> catalog = new ArrayList<>(jobs);
+        for (int i = 0; i < jobs; i++) {
+            StringJoiner description = new StringJoiner(" ");
+            for (int w = 0; w < 120; w++) {
+                description.add(WORDS[random.nextInt(WORDS.length)] + (random.nextInt(4) == 0 ? random.nextInt(500) : ""));
+            }
+            catalog.add(new NativeJobMatcher.CatalogJob(i + 1, "Engineer " + i, "Company " + (i % 50), "Remote",
+                    description.toString(), skills(random, 6), skills(random, 3), random.nextInt(10),
+                    LEVELS[random.nextInt(LEVELS.length)]));
+        }
+        return catalog;
+    }
+
+    private byte[] skills(Random random, int count) {
+        BitSet ids = new BitSet();
+        while (ids.cardinality() < count) {
+            int id = random.nextInt(taxonomy.size() + 1);
+            if (taxonomy.skill(id) != null) {
+                ids.set(id);
+            }
+        }
+        return SkillTaxonomy.encode(ids);
+    }
+
+    // The ML service only matches CVs uploaded in the same session
+    private Map<String, Object> uploadCv(String url, String cvText) {
+        MultiValueMap<String, Object> body = new LinkedMultiValueMap<>();
+        body.add("file", new ByteArrayResource(cvText.getBytes(StandardCharsets.UTF_8)) {
+            @Override
+            public String getFilename() {
+                return "benchmark.txt";
+            }
+        });
+        body.add("session_id", "benchmark-session");
+        HttpHeaders headers = new HttpHeaders();
+        headers.setContentType(MediaType.MULTIPART_FORM_DATA);
+        Map<?, ?> response = restTemplate.postForObject(url + "/upload_cv", new HttpEntity<>(body, headers), Map.class);
+        return Map.of("session_id", "benchmark-session", "member_id", response.get("member_id"));
+    }
+}
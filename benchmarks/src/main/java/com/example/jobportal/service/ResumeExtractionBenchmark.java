@@ -0,0 +1,58 @@
+package com.example.jobportal.service;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Resume field extraction, the single pass against the per-field searches it replaced.
+ * Lives in the service package because the synthetic resumes and the legacy extraction are
+ * package-private helpers from the backend test jar.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ResumeExtractionBenchmark {
+
+    @Param("6000")
+    public int resumeChars;
+
+    @Param("200")
+    public int corpusSize;
+
+    private List<String> corpus;
+    private int next;
+
+    @Setup
+    public void setUp() {
+        corpus = SyntheticResumes.corpus(corpusSize, resumeChars, 7L);
+    }
+
+    @Benchmark
+    public ResumeFieldExtractor.Fields singlePass() {
+        return ResumeFieldExtractor.extract(nextResume());
+    }
+
+    @Benchmark
+    public ResumeFieldExtractor.Fields perFieldSearches() {
+        return LegacyResumeFields.extract(nextResume());
+    }
+
+    private String nextResume() {
+        return corpus.get(next++ % corpus.size());
+    }
+}
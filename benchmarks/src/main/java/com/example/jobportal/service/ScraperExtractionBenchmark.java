@@ -0,0 +1,100 @@
+package com.example.jobportal.service;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.jsoup.Jsoup;
+import org.jsoup.nodes.Document;
+import org.jsoup.nodes.Element;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.example.jobportal.model.CompanySource;
+import com.example.jobportal.model.ScrapedJob;
+
+/**
+ * Scraper extraction on a saved career page: HTML parsing, per-job field extraction with
+ * compiled selectors, and the content hash used for change and duplicate detection.
+ * Lives in the service package because generateContentHash is package-private.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ScraperExtractionBenchmark {
+
+    private static final String PAGE_URL = "https://careers.example.com/careers";
+
+    private String html;
+    private Document page;
+    private CompiledSourceExtractor extractor;
+    private WebScraperService webScraperService;
+    private List<ScrapedJob> jobs;
+
+    @Setup
+    public void setUp() throws IOException {
+        try (InputStream inputStream = getClass().getResourceAsStream("/fixtures/careers.html")) {
+            html = new String(inputStream.readAllBytes(), StandardCharsets.UTF_8);
+        }
+        page = Jsoup.parse(html, PAGE_URL);
+
+        CompanySource source = new CompanySource();
+        source.setCompanyName("Example Ltd");
+        source.setCareerPageUrl(PAGE_URL);
+        source.setJobListSelector("li.job");
+        source.setJobTitleSelector(".title");
+        source.setJobLocationSelector(".location");
+        source.setJobTypeSelector(".type");
+        source.setJobSalarySelector(".salary");
+        source.setJobUrlSelector("a.link");
+        source.setJobDescriptionSelector(".description");
+        source.setNextPageSelector("a.next");
+        extractor = CompiledSourceExtractor.compile(source);
+
+        webScraperService = new WebScraperService();
+        jobs = extractJobs();
+        if (jobs.isEmpty()) {
+            throw new IllegalStateException("Fixture selectors matched no jobs");
+        }
+    }
+
+    @Benchmark
+    public Document parsePage() {
+        return Jsoup.parse(html, PAGE_URL);
+    }
+
+    @Benchmark
+    public List<ScrapedJob> extractJobs() {
+        List<ScrapedJob> extracted = new ArrayList<>();
+        for (Element element : extractor.jobElements(page)) {
+            ScrapedJob job = extractor.extract(element, url -> null);
+            if (job != null) {
+                extracted.add(job);
+            }
+        }
+        return extracted;
+    }
+
+    @Benchmark
+    public List<String> contentHashes() {
+        List<String> hashes = new ArrayList<>(jobs.size());
+        for (ScrapedJob job : jobs) {
+            hashes.add(webScraperService.generateContentHash(job));
+        }
+        return hashes;
+    }
+}
@@ -388,6 +388,7 @@ const ScraperManagement = () => {
                                     <option value="DAILY">Daily</option>
                                     <option value="WEEKLY">Weekly</option>
                                     <option value="MONTHLY">Monthly</option>
+                                    <option value="ADAPTIVE">Adaptive (based on change rate)</option>
                                 </select>
                             </div>
 